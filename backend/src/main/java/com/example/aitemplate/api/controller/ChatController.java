@@ -1,15 +1,34 @@
 package com.example.aitemplate.api.controller;
 
+import com.example.aitemplate.api.dto.ChatBatchItem;
+import com.example.aitemplate.api.dto.ChatBatchResult;
 import com.example.aitemplate.api.dto.ChatRequest;
 import com.example.aitemplate.api.dto.ChatResponse;
+import com.example.aitemplate.app.ChatBatchProperties;
+import com.example.aitemplate.app.ChatBatchService;
 import com.example.aitemplate.app.ChatService;
+import com.example.aitemplate.app.ChatStreamMetrics;
+import com.example.aitemplate.app.ChatStreamProperties;
+import com.example.aitemplate.app.TokenCoalescer;
 import com.example.aitemplate.core.chat.ChatCommand;
 import com.example.aitemplate.core.chat.ChatResult;
+import com.example.aitemplate.core.chat.TokenUsage;
 import com.example.aitemplate.infra.http.RequestIdFilter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -18,7 +37,10 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
 
 @RestController
 @RequestMapping("/api/chat")
@@ -29,9 +51,25 @@ public class ChatController {
     }
 
     private final ChatService chatService;
+    private final ChatBatchService chatBatchService;
+    private final ChatBatchProperties batchProperties;
+    private final ChatStreamProperties streamProperties;
+    private final ChatStreamMetrics streamMetrics;
+    private final ObjectMapper objectMapper;
 
-    public ChatController(ChatService chatService) {
+    public ChatController(
+            ChatService chatService,
+            ChatBatchService chatBatchService,
+            ChatBatchProperties batchProperties,
+            ChatStreamProperties streamProperties,
+            ChatStreamMetrics streamMetrics,
+            ObjectMapper objectMapper) {
         this.chatService = chatService;
+        this.chatBatchService = chatBatchService;
+        this.batchProperties = batchProperties;
+        this.streamProperties = streamProperties;
+        this.streamMetrics = streamMetrics;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -41,7 +79,8 @@ public class ChatController {
                 request.modelId(),
                 request.message(),
                 request.tools(),
-                request.skills()
+                request.skills(),
+                Boolean.TRUE.equals(request.jsonMode())
         );
         String requestId = servletRequest.getHeader(RequestIdFilter.REQUEST_ID_HEADER);
         ChatResult result = chatService.chat(command);
@@ -50,7 +89,8 @@ public class ChatController {
                 request.conversationId(),
                 request.modelId(),
                 result.content(),
-                result.toolCalls()
+                result.toolCalls(),
+                result.usage()
         );
     }
 
@@ -60,11 +100,20 @@ public class ChatController {
             @RequestParam String model,
             @RequestParam String message,
             @RequestParam(required = false) List<String> tools,
-            @RequestParam(required = false) List<String> skills
+            @RequestParam(required = false) List<String> skills,
+            @RequestParam(required = false, defaultValue = "false") boolean jsonMode
     ) {
-        ChatCommand command = new ChatCommand(conversationId, model, message, tools, skills);
+        ChatCommand command = new ChatCommand(conversationId, model, message, tools, skills, jsonMode);
 
-        Flux<ServerSentEvent<Object>> events = chatService.streamWithToolTrace(command)
+        StreamCounters counters = new StreamCounters();
+        AtomicReference<TokenUsage> usage = new AtomicReference<>();
+        Flux<String> items = chatService.streamWithToolTrace(command, usage::set)
+                .doOnNext(item -> counters.chunks.incrementAndGet());
+        if (streamProperties.coalesce()) {
+            items = TokenCoalescer.coalesce(items, item -> !ChatService.isTaggedItem(item),
+                    streamProperties.maxFrameChars(), streamProperties.flushInterval());
+        }
+        Flux<ServerSentEvent<Object>> events = items
                 .map(item -> {
                     if (item.startsWith("TOOL_CALL:")) {
                         String json = item.substring("TOOL_CALL:".length());
@@ -78,8 +127,15 @@ public class ChatController {
                         String json = item.substring("SKILL_APPLY:".length());
                         return ServerSentEvent.builder((Object) json).event("skill_apply").build();
                     }
-                    return ServerSentEvent.builder((Object) new TokenPayload(item)).event("token").build();
-                });
+                    if (item.startsWith(ChatService.PARTIAL_OBJECT_TAG)) {
+                        String json = item.substring(ChatService.PARTIAL_OBJECT_TAG.length());
+                        return ServerSentEvent.builder((Object) json).event("partial_object").build();
+                    }
+                    return ServerSentEvent.builder((Object) toJson(new TokenPayload(item))).event("token").build();
+                })
+                .concatWith(Flux.defer(() -> usage.get() == null
+                        ? Flux.empty()
+                        : Flux.just(ServerSentEvent.builder((Object) toJson(usage.get())).event("usage").build())));
 
         Flux<ServerSentEvent<Object>> safeEvents = events.onErrorResume(ex -> Flux.just(
                 ServerSentEvent.builder((Object) (ex.getMessage() == null ? "stream error" : ex.getMessage()))
@@ -88,6 +144,135 @@ public class ChatController {
         ));
 
         Flux<ServerSentEvent<Object>> done = Flux.just(ServerSentEvent.builder((Object) "done").event("done").build());
-        return safeEvents.concatWith(done);
+        return measured(safeEvents.concatWith(done), counters);
+    }
+
+    @GetMapping("/stream/metrics")
+    public ChatStreamMetrics.StreamStats streamMetrics() {
+        return streamMetrics.snapshot();
+    }
+
+    /** Batch of chat requests as a JSON array; results stream back as NDJSON in completion order. */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> batch(@RequestBody List<ChatBatchItem> items) {
+        AtomicLong index = new AtomicLong();
+        Flux<ChatBatchService.BatchTask> tasks = Flux.fromIterable(items)
+                .map(item -> toBatchTask(index.getAndIncrement(), item));
+        return emitBatch(tasks);
+    }
+
+    /** Same as {@link #batch}, but items are read one NDJSON line at a time while the upload is still in flight. */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> batchNdjson(HttpServletRequest servletRequest) {
+        AtomicLong index = new AtomicLong();
+        Flux<ChatBatchService.BatchTask> tasks = Flux.using(
+                        () -> new BufferedReader(new InputStreamReader(servletRequest.getInputStream(), StandardCharsets.UTF_8)),
+                        reader -> Flux.fromStream(reader.lines()),
+                        reader -> {
+                            try {
+                                reader.close();
+                            }
+                            catch (IOException ignore) {
+                                // request body already consumed
+                            }
+                        })
+                .filter(line -> !line.isBlank())
+                .map(line -> parseBatchLine(index.getAndIncrement(), line))
+                .subscribeOn(Schedulers.boundedElastic());
+        return emitBatch(tasks);
+    }
+
+    private ResponseEntity<ResponseBodyEmitter> emitBatch(Flux<ChatBatchService.BatchTask> tasks) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(batchProperties.timeout().toMillis());
+        Disposable subscription = chatBatchService.run(tasks)
+                .map(this::toBatchResult)
+                .subscribe(
+                        result -> {
+                            try {
+                                emitter.send(objectMapper.writeValueAsString(result) + "\n", MediaType.APPLICATION_NDJSON);
+                            }
+                            catch (IOException ex) {
+                                throw new IllegalStateException("Batch client disconnected", ex);
+                            }
+                        },
+                        emitter::completeWithError,
+                        emitter::complete);
+        emitter.onTimeout(subscription::dispose);
+        emitter.onError(ex -> subscription.dispose());
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(emitter);
+    }
+
+    private ChatBatchService.BatchTask parseBatchLine(long index, String line) {
+        try {
+            return toBatchTask(index, objectMapper.readValue(line, ChatBatchItem.class));
+        }
+        catch (JsonProcessingException ex) {
+            return ChatBatchService.BatchTask.invalid(index, "#" + index, "Invalid NDJSON line: " + ex.getOriginalMessage());
+        }
+    }
+
+    private ChatBatchService.BatchTask toBatchTask(long index, ChatBatchItem item) {
+        String correlationId = item.correlationId() == null || item.correlationId().isBlank()
+                ? "#" + index
+                : item.correlationId();
+        if (item.modelId() == null || item.modelId().isBlank()) {
+            return ChatBatchService.BatchTask.invalid(index, correlationId, "modelId is required");
+        }
+        if (item.message() == null || item.message().isBlank()) {
+            return ChatBatchService.BatchTask.invalid(index, correlationId, "message is required");
+        }
+        String conversationId = item.conversationId() == null || item.conversationId().isBlank()
+                ? "batch-" + UUID.randomUUID()
+                : item.conversationId();
+        return ChatBatchService.BatchTask.of(index, correlationId,
+                new ChatCommand(conversationId, item.modelId(), item.message(), item.tools(), item.skills(),
+                        Boolean.TRUE.equals(item.jsonMode())));
+    }
+
+    /** Token payloads are serialized here so the frame size is known when it is counted. */
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        }
+        catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialize stream payload", ex);
+        }
+    }
+
+    private Flux<ServerSentEvent<Object>> measured(Flux<ServerSentEvent<Object>> events, StreamCounters counters) {
+        return events
+                .doOnSubscribe(subscription -> counters.start = System.nanoTime())
+                .doOnNext(event -> {
+                    counters.frames.incrementAndGet();
+                    // "event:<name>\ndata:<data>\n\n"
+                    counters.bytes.addAndGet(15 + String.valueOf(event.event()).length()
+                            + String.valueOf(event.data()).getBytes(StandardCharsets.UTF_8).length);
+                })
+                .doFinally(signal -> streamMetrics.record(counters.chunks.get(), counters.frames.get(),
+                        counters.bytes.get(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - counters.start)));
+    }
+
+    /** One SSE response is subscribed once, so plain per-request counters are enough. */
+    private static final class StreamCounters {
+        private final AtomicLong chunks = new AtomicLong();
+        private final AtomicLong frames = new AtomicLong();
+        private final AtomicLong bytes = new AtomicLong();
+        private volatile long start = System.nanoTime();
+    }
+
+    private ChatBatchResult toBatchResult(ChatBatchService.BatchOutcome outcome) {
+        ChatBatchService.BatchTask task = outcome.task();
+        ChatCommand command = task.command();
+        return new ChatBatchResult(
+                task.correlationId(),
+                task.index(),
+                command == null ? null : command.conversationId(),
+                command == null ? null : command.modelId(),
+                outcome.ok() ? "ok" : "error",
+                outcome.ok() ? outcome.result().content() : null,
+                outcome.ok() ? outcome.result().toolCalls() : List.of(),
+                outcome.ok() ? outcome.result().usage() : TokenUsage.empty(),
+                outcome.error(),
+                outcome.latencyMs());
     }
 }
@@ -0,0 +1,47 @@
+package com.example.aitemplate.api.controller;
+
+import com.example.aitemplate.api.dto.EmbeddingModelInfo;
+import com.example.aitemplate.api.dto.EmbeddingRequest;
+import com.example.aitemplate.api.dto.EmbeddingResponse;
+import com.example.aitemplate.app.EmbeddingService;
+import com.example.aitemplate.core.model.EmbeddingAdapter;
+import jakarta.validation.Valid;
+import java.util.List;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/embeddings")
+@Validated
+public class EmbeddingController {
+
+    private final EmbeddingService embeddingService;
+
+    public EmbeddingController(EmbeddingService embeddingService) {
+        this.embeddingService = embeddingService;
+    }
+
+    @PostMapping
+    public EmbeddingResponse embed(@Valid @RequestBody EmbeddingRequest request) {
+        EmbeddingAdapter adapter = embeddingService.getOrThrow(request.modelId());
+        return new EmbeddingResponse(
+                adapter.modelId(), adapter.dimensions(), embeddingService.embed(request.modelId(), request.inputs()));
+    }
+
+    @GetMapping("/models")
+    public List<EmbeddingModelInfo> models() {
+        return embeddingService.list().stream()
+                .map(adapter -> new EmbeddingModelInfo(
+                        adapter.provider(), adapter.modelId(), adapter.dimensions(), adapter.capabilities(), adapter.health()))
+                .toList();
+    }
+
+    @GetMapping("/stats")
+    public EmbeddingService.EmbeddingStats stats() {
+        return embeddingService.stats();
+    }
+}
@@ -7,13 +7,28 @@ import com.example.aitemplate.app.ModelRegistry;
 import com.example.aitemplate.app.SkillRegistry;
 import com.example.aitemplate.app.ToolRegistry;
 import com.example.aitemplate.core.PublicApi;
+import com.example.aitemplate.core.model.HealthStatus;
+import com.example.aitemplate.core.model.ModelAdapter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+/**
+ * Catalog endpoints polled by every client screen. Responses are pre-serialized per registry
+ * version and carry a strong ETag; {@code If-None-Match} revalidation answers 304.
+ *
+ * <p>Model health is not covered by the registry version (it follows API keys in Settings and
+ * router members), so {@code /api/models} is keyed on the version plus the current health of
+ * every model.
+ */
 @RestController
 @RequestMapping("/api")
 public class MetadataController {
@@ -21,30 +36,58 @@ public class MetadataController {
     private final ModelRegistry modelRegistry;
     private final ToolRegistry toolRegistry;
     private final SkillRegistry skillRegistry;
+    private final VersionedJsonResponse modelsResponse;
+    private final VersionedJsonResponse toolsResponse;
+    private final VersionedJsonResponse skillsResponse;
 
     @Value("${app.features.auth-enabled:false}")
     private boolean authEnabled;
 
-    public MetadataController(ModelRegistry modelRegistry, ToolRegistry toolRegistry, SkillRegistry skillRegistry) {
+    public MetadataController(
+            ModelRegistry modelRegistry,
+            ToolRegistry toolRegistry,
+            SkillRegistry skillRegistry,
+            ObjectMapper objectMapper) {
         this.modelRegistry = modelRegistry;
         this.toolRegistry = toolRegistry;
         this.skillRegistry = skillRegistry;
+        this.modelsResponse = new VersionedJsonResponse(objectMapper);
+        this.toolsResponse = new VersionedJsonResponse(objectMapper);
+        this.skillsResponse = new VersionedJsonResponse(objectMapper);
     }
 
     @GetMapping("/models")
-    public List<ModelInfo> models() {
-        return modelRegistry.list().stream()
-                .map(model -> new ModelInfo(model.provider(), model.modelId(), model.capabilities(), model.health()))
-                .toList();
+    public ResponseEntity<byte[]> models(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        long version = modelRegistry.version();
+        List<ModelAdapter> models = modelRegistry.list();
+        List<HealthStatus> health = models.stream().map(ModelAdapter::health).toList();
+        return modelsResponse.respond(new ModelsVersion(version, health), ifNoneMatch, () -> modelInfos(models, health));
     }
 
     @GetMapping("/tools")
-    public List<ToolInfo> tools() {
-        return toolRegistry.list().stream().map(tool -> new ToolInfo(tool.toolName(), tool.riskLevel())).toList();
+    public ResponseEntity<byte[]> tools(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return toolsResponse.respond(toolRegistry.version(), ifNoneMatch, this::toolInfos);
     }
 
     @GetMapping("/skills")
-    public List<SkillInfo> skills() {
+    public ResponseEntity<byte[]> skills(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return skillsResponse.respond(skillRegistry.version(), ifNoneMatch, this::skillInfos);
+    }
+
+    private static List<ModelInfo> modelInfos(List<ModelAdapter> models, List<HealthStatus> health) {
+        List<ModelInfo> infos = new ArrayList<>(models.size());
+        for (int i = 0; i < models.size(); i++) {
+            ModelAdapter model = models.get(i);
+            infos.add(new ModelInfo(model.provider(), model.modelId(), model.capabilities(), health.get(i)));
+        }
+        return infos;
+    }
+
+    private List<ToolInfo> toolInfos() {
+        return toolRegistry.list().stream().map(tool -> new ToolInfo(tool.toolName(), tool.riskLevel())).toList();
+    }
+
+    private List<SkillInfo> skillInfos() {
         return skillRegistry.listEntries().stream()
                 .map(entry -> new SkillInfo(
                         entry.provider().skillName(),
@@ -59,4 +102,7 @@ public class MetadataController {
     public Map<String, Object> config() {
         return Map.of("authEnabled", authEnabled);
     }
+
+    private record ModelsVersion(long registryVersion, List<HealthStatus> health) {
+    }
 }
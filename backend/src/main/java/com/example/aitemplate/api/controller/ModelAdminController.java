@@ -1,12 +1,17 @@
 package com.example.aitemplate.api.controller;
 
 import com.example.aitemplate.api.dto.ModelAdminInfo;
+import com.example.aitemplate.api.dto.ModelRouterInfo;
 import com.example.aitemplate.api.dto.ModelToggleResponse;
 import com.example.aitemplate.api.dto.ModelUpsertRequest;
+import com.example.aitemplate.app.ModelConnectionWarmer;
+import com.example.aitemplate.app.ModelRateLimiter;
 import com.example.aitemplate.app.ModelRegistry;
+import com.example.aitemplate.app.ModelUsageMetrics;
 import com.example.aitemplate.core.model.CapabilitySet;
 import com.example.aitemplate.core.model.ModelConfig;
 import com.example.aitemplate.plugins.model.DynamicModelAdapter;
+import com.example.aitemplate.plugins.model.RoutingModelAdapter;
 import jakarta.validation.Valid;
 import java.util.List;
 import org.springframework.validation.annotation.Validated;
@@ -26,9 +31,19 @@ import org.springframework.web.bind.annotation.RestController;
 public class ModelAdminController {
 
     private final ModelRegistry modelRegistry;
+    private final ModelRateLimiter rateLimiter;
+    private final ModelUsageMetrics usageMetrics;
+    private final ModelConnectionWarmer connectionWarmer;
 
-    public ModelAdminController(ModelRegistry modelRegistry) {
+    public ModelAdminController(
+            ModelRegistry modelRegistry,
+            ModelRateLimiter rateLimiter,
+            ModelUsageMetrics usageMetrics,
+            ModelConnectionWarmer connectionWarmer) {
         this.modelRegistry = modelRegistry;
+        this.rateLimiter = rateLimiter;
+        this.usageMetrics = usageMetrics;
+        this.connectionWarmer = connectionWarmer;
     }
 
     @GetMapping
@@ -46,6 +61,33 @@ public class ModelAdminController {
                 .toList();
     }
 
+    @GetMapping("/routers")
+    public List<ModelRouterInfo> routers() {
+        return modelRegistry.listAll().stream()
+                .filter(entry -> entry.adapter() instanceof RoutingModelAdapter)
+                .map(entry -> {
+                    RoutingModelAdapter router = (RoutingModelAdapter) entry.adapter();
+                    return new ModelRouterInfo(
+                            router.modelId(), router.strategy(), entry.enabled(), router.memberStats());
+                })
+                .toList();
+    }
+
+    @GetMapping("/rate-limits")
+    public List<ModelRateLimiter.RateLimitStats> rateLimits() {
+        return rateLimiter.stats();
+    }
+
+    @GetMapping("/usage")
+    public List<ModelUsageMetrics.UsageStats> usage() {
+        return usageMetrics.snapshot();
+    }
+
+    @GetMapping("/warmup")
+    public List<ModelConnectionWarmer.AdapterWarmup> warmup() {
+        return connectionWarmer.lastReport();
+    }
+
     @PostMapping
     public ModelAdminInfo upsert(@Valid @RequestBody ModelUpsertRequest request) {
         CapabilitySet caps = request.capabilities() != null
@@ -60,7 +102,9 @@ public class ModelAdminController {
                 request.modelName(),
                 true,
                 caps,
-                request.sortOrder() != null ? request.sortOrder() : 100);
+                request.sortOrder() != null ? request.sortOrder() : 100,
+                request.requestsPerMinute() != null ? request.requestsPerMinute() : 0,
+                request.tokensPerMinute() != null ? request.tokensPerMinute() : 0);
         DynamicModelAdapter adapter = modelRegistry.upsertDynamic(config);
         return new ModelAdminInfo(
                 adapter.modelId(), adapter.provider(),
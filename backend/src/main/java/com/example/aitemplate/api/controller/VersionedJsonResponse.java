@@ -0,0 +1,89 @@
+package com.example.aitemplate.api.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * JSON body cached per source version. The body is serialized once per version. The strong ETag
+ * is a hash of those bytes, so it stays valid across restarts and replicas. A matching
+ * {@code If-None-Match} gets a 304 without touching the body.
+ *
+ * <p>The version is any value with {@code equals}; it must cover everything the body is built
+ * from, or a stale body keeps being served.
+ */
+final class VersionedJsonResponse {
+
+    private final ObjectMapper objectMapper;
+    private final AtomicReference<Rendered> current = new AtomicReference<>();
+
+    VersionedJsonResponse(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    ResponseEntity<byte[]> respond(Object version, String ifNoneMatch, Supplier<?> body) {
+        Rendered rendered = current.get();
+        if (rendered == null || !rendered.version().equals(version)) {
+            // Racing renders of the same version produce identical bytes, so last-writer-wins is fine.
+            rendered = render(version, body.get());
+            current.set(rendered);
+        }
+        if (matches(ifNoneMatch, rendered.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(rendered.etag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(rendered.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(rendered.bytes());
+    }
+
+    private Rendered render(Object version, Object body) {
+        try {
+            byte[] bytes = objectMapper.writeValueAsBytes(body);
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            String etag = "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+            return new Rendered(version, bytes, etag);
+        }
+        catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialize metadata response", ex);
+        }
+        catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    /** If-None-Match uses weak comparison, so a W/ prefix still matches. */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record Rendered(Object version, byte[] bytes, String etag) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.aitemplate.api.dto;
+
+import java.util.List;
+
+/**
+ * A {@link ChatRequest} plus an optional client correlation id. A missing conversationId
+ * gets a fresh per-item conversation so batch items do not share memory by accident.
+ */
+public record ChatBatchItem(
+        String correlationId,
+        String conversationId,
+        String modelId,
+        String message,
+        List<String> tools,
+        List<String> skills,
+        Boolean jsonMode
+) {}
@@ -0,0 +1,18 @@
+package com.example.aitemplate.api.dto;
+
+import com.example.aitemplate.core.chat.TokenUsage;
+import com.example.aitemplate.core.chat.ToolCallInfo;
+import java.util.List;
+
+public record ChatBatchResult(
+        String correlationId,
+        long index,
+        String conversationId,
+        String modelId,
+        String status,
+        String content,
+        List<ToolCallInfo> toolCalls,
+        TokenUsage usage,
+        String error,
+        long latencyMs
+) {}
@@ -8,5 +8,10 @@ public record ChatRequest(
         @NotBlank String modelId,
         @NotBlank String message,
         List<String> tools,
-        List<String> skills
-) {}
+        List<String> skills,
+        Boolean jsonMode
+) {
+    public ChatRequest(String conversationId, String modelId, String message, List<String> tools, List<String> skills) {
+        this(conversationId, modelId, message, tools, skills, null);
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.aitemplate.api.dto;
 
+import com.example.aitemplate.core.chat.TokenUsage;
 import com.example.aitemplate.core.chat.ToolCallInfo;
 import java.util.List;
 
@@ -8,9 +9,14 @@ public record ChatResponse(
         String conversationId,
         String modelId,
         String content,
-        List<ToolCallInfo> toolCalls
+        List<ToolCallInfo> toolCalls,
+        TokenUsage usage
 ) {
     public ChatResponse(String requestId, String conversationId, String modelId, String content) {
         this(requestId, conversationId, modelId, content, List.of());
     }
+
+    public ChatResponse(String requestId, String conversationId, String modelId, String content, List<ToolCallInfo> toolCalls) {
+        this(requestId, conversationId, modelId, content, toolCalls, TokenUsage.empty());
+    }
 }
@@ -0,0 +1,7 @@
+package com.example.aitemplate.api.dto;
+
+import com.example.aitemplate.core.model.CapabilitySet;
+import com.example.aitemplate.core.model.HealthStatus;
+
+public record EmbeddingModelInfo(
+        String provider, String modelId, int dimensions, CapabilitySet capabilities, HealthStatus health) {}
@@ -0,0 +1,10 @@
+package com.example.aitemplate.api.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+
+public record EmbeddingRequest(
+        @NotBlank String modelId,
+        @NotEmpty List<String> inputs
+) {}
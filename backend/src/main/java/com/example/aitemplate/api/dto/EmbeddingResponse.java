@@ -0,0 +1,5 @@
+package com.example.aitemplate.api.dto;
+
+import java.util.List;
+
+public record EmbeddingResponse(String modelId, int dimensions, List<float[]> vectors) {}
@@ -0,0 +1,10 @@
+package com.example.aitemplate.api.dto;
+
+import com.example.aitemplate.plugins.model.RoutingModelAdapter;
+import java.util.List;
+
+public record ModelRouterInfo(
+        String modelId,
+        RoutingModelAdapter.Strategy strategy,
+        boolean enabled,
+        List<RoutingModelAdapter.MemberSnapshot> members) {}
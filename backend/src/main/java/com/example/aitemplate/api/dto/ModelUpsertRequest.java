@@ -2,6 +2,7 @@ package com.example.aitemplate.api.dto;
 
 import com.example.aitemplate.core.model.CapabilitySet;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.PositiveOrZero;
 
 public record ModelUpsertRequest(
         @NotBlank String modelId,
@@ -11,4 +12,6 @@ public record ModelUpsertRequest(
         @NotBlank String apiKey,
         @NotBlank String modelName,
         CapabilitySet capabilities,
-        Integer sortOrder) {}
+        Integer sortOrder,
+        @PositiveOrZero Integer requestsPerMinute,
+        @PositiveOrZero Integer tokensPerMinute) {}
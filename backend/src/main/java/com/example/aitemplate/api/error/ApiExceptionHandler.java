@@ -1,5 +1,6 @@
 package com.example.aitemplate.api.error;
 
+import com.example.aitemplate.core.model.ModelThrottledException;
 import java.time.Instant;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -16,6 +17,12 @@ public class ApiExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
     }
 
+    @ExceptionHandler(ModelThrottledException.class)
+    public ResponseEntity<ApiError> handleThrottled(ModelThrottledException ex) {
+        ApiError body = new ApiError("MODEL_RATE_LIMITED", ex.getMessage(), true, Instant.now());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(body);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiError> handleValidation(MethodArgumentNotValidException ex) {
         ApiError body = new ApiError("INVALID_REQUEST", ex.getMessage(), true, Instant.now());
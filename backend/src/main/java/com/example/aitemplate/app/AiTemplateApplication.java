@@ -3,8 +3,10 @@ package com.example.aitemplate.app;
 import org.mybatis.spring.annotation.MapperScan;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication(scanBasePackages = "com.example.aitemplate")
+@ConfigurationPropertiesScan("com.example.aitemplate")
 @MapperScan("com.example.aitemplate.infra.db.mapper")
 public class AiTemplateApplication {
 
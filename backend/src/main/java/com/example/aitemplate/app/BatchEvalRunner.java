@@ -0,0 +1,240 @@
+package com.example.aitemplate.app;
+
+import com.example.aitemplate.core.chat.ChatCommand;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+/**
+ * Offline bulk evaluation: reads a JSONL file of {@link ChatCommand}s, runs them through
+ * {@link ChatBatchService} and appends one JSON result per line to the output file.
+ *
+ * <p>The output file doubles as the checkpoint: on start, indices already present in it are
+ * skipped, so a restarted run resumes where it stopped. Activate with
+ * {@code --spring.profiles.active=batch-eval --app.batch-eval.input=... --app.batch-eval.output=...}.
+ */
+@Component
+@Profile("batch-eval")
+public class BatchEvalRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchEvalRunner.class);
+
+    private final ChatBatchService chatBatchService;
+    private final ObjectMapper objectMapper;
+    private final Path input;
+    private final Path output;
+
+    public BatchEvalRunner(
+            ChatBatchService chatBatchService,
+            ObjectMapper objectMapper,
+            @Value("${app.batch-eval.input}") String input,
+            @Value("${app.batch-eval.output}") String output) {
+        this.chatBatchService = chatBatchService;
+        this.objectMapper = objectMapper;
+        this.input = Paths.get(input).toAbsolutePath().normalize();
+        this.output = Paths.get(output).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        Summary summary = runEvaluation();
+        log.info("[BatchEval] Finished: {}", summary);
+    }
+
+    public Summary runEvaluation() throws IOException {
+        if (!Files.exists(input)) {
+            throw new IllegalArgumentException("Batch input not found: " + input);
+        }
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        Set<Long> done = loadCheckpoint();
+        log.info("[BatchEval] input={}, output={}, alreadyDone={}", input, output, done.size());
+
+        List<Long> latencies = new ArrayList<>();
+        AtomicLong succeeded = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        long start = System.nanoTime();
+
+        try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8);
+             BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8,
+                     StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            AtomicLong lineNo = new AtomicLong();
+            Flux<ChatBatchService.BatchTask> tasks = Flux.fromStream(reader.lines())
+                    .map(line -> new NumberedLine(lineNo.getAndIncrement(), line))
+                    .filter(line -> !line.text().isBlank() && !done.contains(line.index()))
+                    .map(this::toTask);
+
+            chatBatchService.run(tasks)
+                    .doOnNext(outcome -> {
+                        writeResult(writer, outcome);
+                        latencies.add(outcome.latencyMs());
+                        (outcome.ok() ? succeeded : failed).incrementAndGet();
+                        if (latencies.size() % 1000 == 0) {
+                            log.info("[BatchEval] Progress: {} item(s) processed", latencies.size());
+                        }
+                    })
+                    .blockLast();
+        }
+
+        long wallMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        return Summary.of(done.size(), succeeded.get(), failed.get(), wallMs, latencies);
+    }
+
+    private ChatBatchService.BatchTask toTask(NumberedLine line) {
+        try {
+            JsonNode node = objectMapper.readTree(line.text());
+            String correlationId = node.hasNonNull("id") ? node.get("id").asText() : "#" + line.index();
+            String modelId = node.path("modelId").asText("");
+            String message = node.path("message").asText("");
+            if (modelId.isBlank() || message.isBlank()) {
+                return ChatBatchService.BatchTask.invalid(line.index(), correlationId, "modelId and message are required");
+            }
+            String conversationId = node.hasNonNull("conversationId")
+                    ? node.get("conversationId").asText()
+                    : "eval-" + line.index();
+            ChatCommand command = new ChatCommand(conversationId, modelId, message,
+                    stringList(node.get("tools")), stringList(node.get("skills")),
+                    node.path("jsonMode").asBoolean(false));
+            return ChatBatchService.BatchTask.of(line.index(), correlationId, command);
+        }
+        catch (IOException ex) {
+            return ChatBatchService.BatchTask.invalid(line.index(), "#" + line.index(), "Invalid JSONL line: " + ex.getMessage());
+        }
+    }
+
+    private List<String> stringList(JsonNode node) {
+        if (node == null || !node.isArray()) {
+            return List.of();
+        }
+        List<String> values = new ArrayList<>();
+        node.forEach(item -> values.add(item.asText()));
+        return values;
+    }
+
+    private void writeResult(BufferedWriter writer, ChatBatchService.BatchOutcome outcome) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("index", outcome.task().index());
+        node.put("id", outcome.task().correlationId());
+        if (outcome.task().command() != null) {
+            node.put("modelId", outcome.task().command().modelId());
+        }
+        node.put("status", outcome.ok() ? "ok" : "error");
+        if (outcome.ok()) {
+            node.put("content", outcome.result().content());
+            node.set("usage", objectMapper.valueToTree(outcome.result().usage()));
+        } else {
+            node.put("error", outcome.error());
+        }
+        node.put("latencyMs", outcome.latencyMs());
+        try {
+            writer.write(objectMapper.writeValueAsString(node));
+            writer.newLine();
+            writer.flush();
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException("Failed to write batch result to " + output, ex);
+        }
+    }
+
+    /** Indices of complete result lines; a torn last line from a crash is truncated away first. */
+    private Set<Long> loadCheckpoint() throws IOException {
+        Set<Long> done = new HashSet<>();
+        if (!Files.exists(output)) {
+            return done;
+        }
+        truncateTornTail();
+        try (BufferedReader reader = Files.newBufferedReader(output, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    JsonNode node = objectMapper.readTree(line);
+                    if (node.hasNonNull("index")) {
+                        done.add(node.get("index").asLong());
+                    }
+                }
+                catch (IOException ex) {
+                    log.warn("[BatchEval] Ignoring unreadable checkpoint line: {}", ex.getMessage());
+                }
+            }
+        }
+        return done;
+    }
+
+    private void truncateTornTail() throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(output.toFile(), "rw")) {
+            long length = file.length();
+            long pos = length;
+            while (pos > 0) {
+                file.seek(pos - 1);
+                if (file.read() == '\n') {
+                    break;
+                }
+                pos--;
+            }
+            if (pos < length) {
+                log.warn("[BatchEval] Truncating {} byte(s) of partial output", length - pos);
+                file.setLength(pos);
+            }
+        }
+    }
+
+    private record NumberedLine(long index, String text) {
+    }
+
+    public record Summary(
+            long skipped,
+            long succeeded,
+            long failed,
+            long wallMs,
+            double itemsPerSecond,
+            long p50LatencyMs,
+            long p90LatencyMs,
+            long p99LatencyMs,
+            long maxLatencyMs) {
+
+        static Summary of(long skipped, long succeeded, long failed, long wallMs, List<Long> latencies) {
+            List<Long> sorted = latencies.stream().sorted().toList();
+            long processed = succeeded + failed;
+            double throughput = wallMs == 0 ? processed : processed * 1000.0 / wallMs;
+            return new Summary(skipped, succeeded, failed, wallMs, throughput,
+                    percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                    sorted.isEmpty() ? 0 : sorted.get(sorted.size() - 1));
+        }
+
+        private static long percentile(List<Long> sorted, double p) {
+            if (sorted.isEmpty()) {
+                return 0;
+            }
+            int idx = (int) Math.ceil(p * sorted.size()) - 1;
+            return sorted.get(Math.max(0, Math.min(idx, sorted.size() - 1)));
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.aitemplate.app;
+
+import java.time.Duration;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Batch chat scheduling: how many items of one model may run at the same time,
+ * and how long a single batch response may stay open.
+ */
+@ConfigurationProperties(prefix = "app.chat.batch")
+public record ChatBatchProperties(Integer defaultParallelism, Map<String, Integer> modelParallelism, Duration timeout) {
+
+    public ChatBatchProperties {
+        defaultParallelism = defaultParallelism == null || defaultParallelism < 1 ? 4 : defaultParallelism;
+        modelParallelism = modelParallelism == null ? Map.of() : Map.copyOf(modelParallelism);
+        timeout = timeout == null ? Duration.ofHours(1) : timeout;
+    }
+
+    public int parallelismFor(String modelId) {
+        Integer configured = modelParallelism.get(modelId);
+        return configured == null || configured < 1 ? defaultParallelism : configured;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.aitemplate.app;
+
+import com.example.aitemplate.core.chat.ChatCommand;
+import com.example.aitemplate.core.chat.ChatResult;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Runs many chat commands through {@link ChatService} with bounded per-model parallelism.
+ *
+ * <p>Items are grouped by modelId and each group runs at most {@code parallelismFor(modelId)}
+ * calls at once; the per-model RPM/TPM limiter inside ChatService still applies. Outcomes are
+ * emitted in completion order, failures are reported per item and never abort the batch.
+ */
+@Service
+public class ChatBatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatBatchService.class);
+
+    private final ChatService chatService;
+    private final ChatBatchProperties properties;
+
+    public ChatBatchService(ChatService chatService, ChatBatchProperties properties) {
+        this.chatService = chatService;
+        this.properties = properties;
+    }
+
+    public Flux<BatchOutcome> run(Flux<BatchTask> tasks) {
+        return tasks
+                .groupBy(task -> task.command() == null ? "" : task.command().modelId())
+                .flatMap(group -> group.flatMap(this::execute, properties.parallelismFor(group.key())),
+                        Integer.MAX_VALUE);
+    }
+
+    private Mono<BatchOutcome> execute(BatchTask task) {
+        if (task.error() != null) {
+            return Mono.just(BatchOutcome.failed(task, task.error(), 0));
+        }
+        return Mono.fromCallable(() -> {
+                    long start = System.nanoTime();
+                    try {
+                        ChatResult result = chatService.chat(task.command());
+                        return BatchOutcome.succeeded(task, result, elapsedMs(start));
+                    }
+                    catch (Exception ex) {
+                        log.warn("[Batch] Item {} failed on model {}: {}",
+                                task.correlationId(), task.command().modelId(), ex.getMessage());
+                        return BatchOutcome.failed(task, ex.getMessage() == null ? ex.toString() : ex.getMessage(),
+                                elapsedMs(start));
+                    }
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    /** One batch item; {@code error} is set when the item could not be parsed or validated. */
+    public record BatchTask(long index, String correlationId, ChatCommand command, String error) {
+
+        public static BatchTask of(long index, String correlationId, ChatCommand command) {
+            return new BatchTask(index, correlationId, command, null);
+        }
+
+        public static BatchTask invalid(long index, String correlationId, String error) {
+            return new BatchTask(index, correlationId, null, error);
+        }
+    }
+
+    public record BatchOutcome(BatchTask task, ChatResult result, String error, long latencyMs) {
+
+        static BatchOutcome succeeded(BatchTask task, ChatResult result, long latencyMs) {
+            return new BatchOutcome(task, result, null, latencyMs);
+        }
+
+        static BatchOutcome failed(BatchTask task, String error, long latencyMs) {
+            return new BatchOutcome(task, null, error, latencyMs);
+        }
+
+        public boolean ok() {
+            return error == null;
+        }
+    }
+}
@@ -9,11 +9,14 @@ import com.alibaba.cloud.ai.graph.agent.tools.ShellTool2;
 import com.google.gson.Gson;
 import com.example.aitemplate.core.chat.ChatCommand;
 import com.example.aitemplate.core.chat.ChatResult;
+import com.example.aitemplate.core.chat.TokenUsage;
 import com.example.aitemplate.core.chat.ToolCallInfo;
 import com.example.aitemplate.core.model.ModelAdapter;
+import com.example.aitemplate.core.model.ModelThrottledException;
 import com.example.aitemplate.core.skill.SkillProvider;
 import com.example.aitemplate.core.tool.ToolAdapter;
 import com.example.aitemplate.core.tool.ToolCommand;
+import com.example.aitemplate.plugins.model.JsonMode;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
@@ -22,7 +25,10 @@ import java.util.Map;
 import java.util.Deque;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.chat.memory.ChatMemory;
@@ -35,8 +41,10 @@ import org.springframework.ai.openai.OpenAiChatOptions;
 import org.springframework.ai.tool.ToolCallback;
 import org.springframework.ai.tool.function.FunctionToolCallback;
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import reactor.core.publisher.Sinks;
 import reactor.core.scheduler.Schedulers;
 
@@ -46,87 +54,157 @@ public class ChatService {
     private static final Logger log = LoggerFactory.getLogger(ChatService.class);
     private static final Gson GSON = new Gson();
 
+    /** Stream tag for the partially parsed JSON document emitted alongside tokens in JSON mode. */
+    public static final String PARTIAL_OBJECT_TAG = "PARTIAL_OBJECT:";
+    private static final long DEFAULT_INLINE_SKILL_MAX_BYTES = 4096;
+
     private final ModelRegistry modelRegistry;
     private final ToolRegistry toolRegistry;
     private final SkillRegistry skillRegistry;
     private final ChatMemory chatMemory;
+    private final ModelRateLimiter rateLimiter;
+    private final ModelUsageMetrics usageMetrics;
     private final ObjectProvider<ChatModel> springChatModelProvider;
     private final String openAiBaseUrl;
+    private final long inlineSkillMaxBytes;
+
+    public ChatService(
+            ModelRegistry modelRegistry,
+            ToolRegistry toolRegistry,
+            SkillRegistry skillRegistry,
+            ChatMemory chatMemory,
+            ModelRateLimiter rateLimiter,
+            ModelUsageMetrics usageMetrics,
+            ObjectProvider<ChatModel> springChatModelProvider,
+            String openAiBaseUrl) {
+        this(modelRegistry, toolRegistry, skillRegistry, chatMemory, rateLimiter, usageMetrics,
+                springChatModelProvider, openAiBaseUrl, DEFAULT_INLINE_SKILL_MAX_BYTES);
+    }
 
+    @Autowired
     public ChatService(
             ModelRegistry modelRegistry,
             ToolRegistry toolRegistry,
             SkillRegistry skillRegistry,
             ChatMemory chatMemory,
+            ModelRateLimiter rateLimiter,
+            ModelUsageMetrics usageMetrics,
             ObjectProvider<ChatModel> springChatModelProvider,
-            @org.springframework.beans.factory.annotation.Value("${spring.ai.openai.base-url:}") String openAiBaseUrl) {
+            @org.springframework.beans.factory.annotation.Value("${spring.ai.openai.base-url:}") String openAiBaseUrl,
+            @org.springframework.beans.factory.annotation.Value("${app.skills.inline-max-bytes:4096}") long inlineSkillMaxBytes) {
         this.modelRegistry = modelRegistry;
         this.toolRegistry = toolRegistry;
         this.skillRegistry = skillRegistry;
         this.chatMemory = chatMemory;
+        this.rateLimiter = rateLimiter;
+        this.usageMetrics = usageMetrics;
         this.springChatModelProvider = springChatModelProvider;
         this.openAiBaseUrl = openAiBaseUrl == null ? "" : openAiBaseUrl;
+        this.inlineSkillMaxBytes = inlineSkillMaxBytes;
     }
 
     public ChatResult chat(ChatCommand command) {
+        requireJsonModeSupport(command);
         List<ToolAdapter> selectedTools = toolRegistry.resolve(command.tools());
-        List<SkillProvider> selectedSkills = skillRegistry.resolve(command.skills());
+        List<SkillProvider> selectedSkills = skillRegistry.resolve(command.skills(), command.message());
 
         // Retrieve conversation history and save current user message
         List<Message> history = chatMemory.get(command.conversationId());
         chatMemory.add(command.conversationId(), new UserMessage(command.message()));
 
+        long start = System.nanoTime();
         ChatResult result;
         ChatModel springChatModel = springChatModelProvider.getIfAvailable();
         if (springChatModel != null && isAgentEnabledModel(command.modelId())) {
             result = chatWithSaaAgent(command, springChatModel, selectedTools, selectedSkills, history);
         } else {
-            result = modelRegistry.getOrThrow(command.modelId()).invoke(command);
+            result = invokeAdapter(modelRegistry.getOrThrow(command.modelId()), command);
         }
 
+        recordUsage(command.modelId(), result.usage(), start);
         // Save assistant response to memory
         chatMemory.add(command.conversationId(), new AssistantMessage(result.content()));
         return result;
     }
 
     public Flux<String> stream(ChatCommand command) {
+        requireJsonModeSupport(command);
         ChatModel springChatModel = springChatModelProvider.getIfAvailable();
         if (springChatModel != null && isAgentEnabledModel(command.modelId())) {
             return Flux.just(chat(command).content());
         }
-        return modelRegistry.getOrThrow(command.modelId()).stream(command);
+        return streamWithUsage(command, usage -> { });
     }
 
     /**
      * Stream that also emits tool call metadata as SSE events.
      * Returns a Flux of tagged strings: "TOOL_CALL:{json}" or plain text tokens.
+     * In JSON mode each token that completes a value is followed by "PARTIAL_OBJECT:{json}".
+     * The token usage of the answer is handed to {@code usageSink} once, before the stream completes.
      */
-    public Flux<String> streamWithToolTrace(ChatCommand command) {
+    public Flux<String> streamWithToolTrace(ChatCommand command, Consumer<TokenUsage> usageSink) {
+        requireJsonModeSupport(command);
         ChatModel springChatModel = springChatModelProvider.getIfAvailable();
         boolean hasToolsOrSkills = (command.tools() != null && !command.tools().isEmpty())
                 || (command.skills() != null && !command.skills().isEmpty());
 
         if (springChatModel != null && isAgentEnabledModel(command.modelId()) && hasToolsOrSkills) {
-            return streamWithLiveAgentEvents(command, springChatModel);
+            Flux<String> events = streamWithLiveAgentEvents(command, springChatModel, usageSink);
+            return command.jsonMode() ? withPartialObjects(events) : events;
         }
 
         // Direct stream path: real token-by-token streaming with memory persistence
         chatMemory.add(command.conversationId(), new UserMessage(command.message()));
         StringBuilder collected = new StringBuilder();
-        return modelRegistry.getOrThrow(command.modelId()).stream(command)
-                .doOnNext(collected::append)
+        Flux<String> items = streamWithUsage(command, usageSink)
+                .doOnNext(item -> {
+                    if (!item.startsWith("TOOL_CALL:")) {
+                        collected.append(item);
+                    }
+                })
                 .doOnComplete(() ->
                         chatMemory.add(command.conversationId(), new AssistantMessage(collected.toString())));
+        return command.jsonMode() ? withPartialObjects(items) : items;
+    }
+
+    /** True for the tagged metadata items of {@link #streamWithToolTrace}; everything else is a text token. */
+    public static boolean isTaggedItem(String item) {
+        return item.startsWith("TOOL_CALL:")
+                || item.startsWith("TOOL_CALL_PROGRESS:")
+                || item.startsWith("SKILL_APPLY:")
+                || item.startsWith(PARTIAL_OBJECT_TAG);
+    }
+
+    /** Feeds text tokens through an {@link IncrementalJsonParser} and emits a snapshot after each completed value. */
+    private static Flux<String> withPartialObjects(Flux<String> items) {
+        return Flux.defer(() -> {
+            IncrementalJsonParser parser = new IncrementalJsonParser();
+            return items.concatMapIterable(item -> {
+                if (isTaggedItem(item)) {
+                    return List.of(item);
+                }
+                return parser.feed(item)
+                        .map(partial -> List.of(item, PARTIAL_OBJECT_TAG + partial))
+                        .orElseGet(() -> List.of(item));
+            });
+        });
     }
 
-    private Flux<String> streamWithLiveAgentEvents(ChatCommand command, ChatModel springChatModel) {
+    private void requireJsonModeSupport(ChatCommand command) {
+        if (command.jsonMode() && !modelRegistry.getOrThrow(command.modelId()).capabilities().jsonMode()) {
+            throw new IllegalArgumentException("Model " + command.modelId() + " does not support JSON mode");
+        }
+    }
+
+    private Flux<String> streamWithLiveAgentEvents(ChatCommand command, ChatModel springChatModel, Consumer<TokenUsage> usageSink) {
         List<ToolAdapter> selectedTools = toolRegistry.resolve(command.tools());
-        List<SkillProvider> selectedSkills = skillRegistry.resolve(command.skills());
+        List<SkillProvider> selectedSkills = skillRegistry.resolve(command.skills(), command.message());
         List<Message> history = chatMemory.get(command.conversationId());
         chatMemory.add(command.conversationId(), new UserMessage(command.message()));
 
         Sinks.Many<String> sink = Sinks.many().unicast().onBackpressureBuffer();
         Schedulers.boundedElastic().schedule(() -> {
+            long start = System.nanoTime();
             try {
                 if (!selectedSkills.isEmpty()) {
                     sink.tryEmitNext("SKILL_APPLY:" + GSON.toJson(
@@ -164,10 +242,12 @@ public class ChatService {
                     }
                 };
 
-                String instruction = buildAgentInstruction(selectedSkills, selectedTools, history);
+                SkillPlan skillPlan = planSkills(selectedSkills);
+                String instruction = agentInstruction(command, skillPlan, selectedTools, history);
+                UsageCapturingChatModel usageModel = new UsageCapturingChatModel(springChatModel);
                 Builder builder = ReactAgent.builder()
                         .name("chat-agent")
-                        .model(springChatModel)
+                        .model(usageModel)
                         .instruction(instruction)
                         .tools(toToolCallbacks(selectedTools))
                         .interceptors(new TracingToolInterceptor(traces, listener));
@@ -175,14 +255,14 @@ public class ChatService {
                 if (springChatModel instanceof OpenAiChatModel) {
                     String runtimeModel = resolveRuntimeModelNameForAgent(command.modelId());
                     if (!runtimeModel.isBlank()) {
-                        builder.chatOptions(OpenAiChatOptions.builder().model(runtimeModel).build());
+                        builder.chatOptions(JsonMode.apply(OpenAiChatOptions.builder().model(runtimeModel), command.jsonMode()).build());
                     }
                 }
 
                 List<Hook> hooks = new ArrayList<>();
-                if (!selectedSkills.isEmpty()) {
+                if (!skillPlan.onDemand().isEmpty()) {
                     hooks.add(SkillsAgentHook.builder()
-                            .skillRegistry(new SaaInMemorySkillRegistry(selectedSkills))
+                            .skillRegistry(SaaInMemorySkillRegistry.of(skillPlan.onDemand()))
                             .autoReload(false)
                             .build());
                 }
@@ -195,6 +275,7 @@ public class ChatService {
                 }
 
                 ReactAgent agent = builder.build();
+                acquireAgentPermit(command);
                 log.info("[Agent] Dispatching message to agent (live stream). model={}, tools={}, skills={}",
                         command.modelId(),
                         selectedTools.stream().map(ToolAdapter::toolName).toList(),
@@ -202,15 +283,23 @@ public class ChatService {
 
                 AssistantMessage result = agent.call(command.message());
                 String text = result == null ? "" : result.getText();
+                log.info("[Agent] Completed (live stream). model={}, inlinedSkills={}, steps={}, latencyMs={}",
+                        command.modelId(), skillPlan.inline().size(), usageModel.calls(),
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
                 chatMemory.add(command.conversationId(), new AssistantMessage(text));
                 sink.tryEmitNext(text == null ? "" : text);
+                reportUsage(usageSink, command, usageModel.usage(), start);
                 sink.tryEmitComplete();
             }
+            catch (ModelThrottledException ex) {
+                sink.tryEmitError(ex);
+            }
             catch (Exception ex) {
                 try {
                     ChatResult fallback = invokeWithModelFallback(command, ex);
                     chatMemory.add(command.conversationId(), new AssistantMessage(fallback.content()));
                     sink.tryEmitNext(fallback.content());
+                    reportUsage(usageSink, command, fallback.usage(), start);
                     sink.tryEmitComplete();
                 }
                 catch (Exception finalEx) {
@@ -229,9 +318,12 @@ public class ChatService {
             List<SkillProvider> selectedSkills,
             List<Message> history) {
         try {
+            long start = System.nanoTime();
             List<ToolCallInfo> traces = TracingToolInterceptor.newTraceList();
 
-            String instruction = buildAgentInstruction(selectedSkills, selectedTools, history);
+            SkillPlan skillPlan = planSkills(selectedSkills);
+            String instruction = agentInstruction(command, skillPlan, selectedTools, history);
+            UsageCapturingChatModel usageModel = new UsageCapturingChatModel(springChatModel);
             if (!selectedSkills.isEmpty()) {
                 log.info("[Skill] Applying {} skill(s): {}",
                         selectedSkills.size(),
@@ -242,7 +334,7 @@ public class ChatService {
 
             Builder builder = ReactAgent.builder()
                     .name("chat-agent")
-                    .model(springChatModel)
+                    .model(usageModel)
                     .instruction(instruction)
                     .tools(toToolCallbacks(selectedTools))
                     .interceptors(new TracingToolInterceptor(traces));
@@ -250,14 +342,14 @@ public class ChatService {
             if (springChatModel instanceof OpenAiChatModel) {
                 String runtimeModel = resolveRuntimeModelNameForAgent(command.modelId());
                 if (!runtimeModel.isBlank()) {
-                    builder.chatOptions(OpenAiChatOptions.builder().model(runtimeModel).build());
+                    builder.chatOptions(JsonMode.apply(OpenAiChatOptions.builder().model(runtimeModel), command.jsonMode()).build());
                 }
             }
 
             List<Hook> hooks = new ArrayList<>();
-            if (!selectedSkills.isEmpty()) {
+            if (!skillPlan.onDemand().isEmpty()) {
                 SkillsAgentHook skillHook = SkillsAgentHook.builder()
-                        .skillRegistry(new SaaInMemorySkillRegistry(selectedSkills))
+                        .skillRegistry(SaaInMemorySkillRegistry.of(skillPlan.onDemand()))
                         .autoReload(false)
                         .build();
                 hooks.add(skillHook);
@@ -272,6 +364,7 @@ public class ChatService {
             }
 
             ReactAgent agent = builder.build();
+            acquireAgentPermit(command);
 
             log.info("[Agent] Dispatching message to agent. model={}, tools={}, skills={}",
                     command.modelId(),
@@ -287,13 +380,19 @@ public class ChatService {
                                 .map(t -> t.toolName() + "(" + t.durationMs() + "ms)")
                                 .toList());
             }
-            log.info("[Agent] Completed. model={}, skills={}, toolCalls={}, responseLength={}",
+            log.info("[Agent] Completed. model={}, skills={}, inlinedSkills={}, steps={}, toolCalls={}, latencyMs={}, responseLength={}",
                     command.modelId(),
                     selectedSkills.stream().map(SkillProvider::skillName).toList(),
+                    skillPlan.inline().size(),
+                    usageModel.calls(),
                     traces.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
                     text == null ? 0 : text.length());
 
-            return new ChatResult(text == null ? "" : text, List.copyOf(traces));
+            return new ChatResult(text == null ? "" : text, List.copyOf(traces), usageModel.usage());
+        }
+        catch (ModelThrottledException ex) {
+            throw ex;
         }
         catch (Exception ex) {
             return invokeWithModelFallback(command, ex);
@@ -302,10 +401,7 @@ public class ChatService {
 
     private ChatResult invokeWithModelFallback(ChatCommand command, Exception originalEx) {
         ModelAdapter requestedAdapter = modelRegistry.getOrThrow(command.modelId());
-        ModelAdapter dashScopeAdapter = modelRegistry.list().stream()
-                .filter(model -> "dashscope".equalsIgnoreCase(model.provider()))
-                .findFirst()
-                .orElse(null);
+        ModelAdapter dashScopeAdapter = modelRegistry.firstEnabledByProvider("dashscope").orElse(null);
 
         if (dashScopeAdapter != null && !requestedAdapter.modelId().equalsIgnoreCase(dashScopeAdapter.modelId())) {
             try {
@@ -315,7 +411,7 @@ public class ChatService {
                         requestedAdapter.provider(),
                         dashScopeAdapter.modelId(),
                         originalEx.getMessage());
-                return dashScopeAdapter.invoke(command);
+                return invokeAdapter(dashScopeAdapter, command);
             }
             catch (Exception dashScopeEx) {
                 log.error(
@@ -333,7 +429,62 @@ public class ChatService {
                     originalEx.getMessage());
         }
 
-        return requestedAdapter.invoke(command);
+        return invokeAdapter(requestedAdapter, command);
+    }
+
+    private String agentInstruction(
+            ChatCommand command, SkillPlan skills, List<ToolAdapter> tools, List<Message> history) {
+        String instruction = buildAgentInstruction(skills, tools, history);
+        return command.jsonMode() ? instruction + "\n\n" + JsonMode.SYSTEM_HINT : instruction;
+    }
+
+    /** Direct adapter call behind the per-model RPM/TPM limiter; blocks while queued. */
+    private ChatResult invokeAdapter(ModelAdapter adapter, ChatCommand command) {
+        rateLimiter.acquire(adapter, ModelRateLimiter.estimateTokens(command.message()));
+        return adapter.invoke(command);
+    }
+
+    private Flux<String> streamAdapter(ModelAdapter adapter, ChatCommand command, Consumer<TokenUsage> usageSink) {
+        if (!rateLimiter.isLimited(adapter)) {
+            return adapter.stream(command, usageSink);
+        }
+        // Queue wait is blocking, keep it off the caller's (possibly event-loop) thread.
+        return Mono.fromRunnable(() -> rateLimiter.acquire(adapter, ModelRateLimiter.estimateTokens(command.message())))
+                .subscribeOn(Schedulers.boundedElastic())
+                .thenMany(Flux.defer(() -> adapter.stream(command, usageSink)));
+    }
+
+    /**
+     * Direct adapter stream whose usage is recorded in the metrics and passed on to {@code usageSink}
+     * exactly once; adapters that report nothing are recorded with empty usage on completion.
+     */
+    private Flux<String> streamWithUsage(ChatCommand command, Consumer<TokenUsage> usageSink) {
+        ModelAdapter adapter = modelRegistry.getOrThrow(command.modelId());
+        return Flux.defer(() -> {
+            long start = System.nanoTime();
+            AtomicBoolean reported = new AtomicBoolean();
+            Consumer<TokenUsage> once = usage -> {
+                if (reported.compareAndSet(false, true)) {
+                    reportUsage(usageSink, command, usage, start);
+                }
+            };
+            return streamAdapter(adapter, command, once).doOnComplete(() -> once.accept(TokenUsage.empty()));
+        });
+    }
+
+    private void reportUsage(Consumer<TokenUsage> usageSink, ChatCommand command, TokenUsage usage, long startNanos) {
+        TokenUsage reported = usage == null ? TokenUsage.empty() : usage;
+        recordUsage(command.modelId(), reported, startNanos);
+        usageSink.accept(reported);
+    }
+
+    private void recordUsage(String modelId, TokenUsage usage, long startNanos) {
+        usageMetrics.record(modelId, usage, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    }
+
+    /** The agent talks to the Spring ChatModel directly; charge one permit per agent run to the requested model. */
+    private void acquireAgentPermit(ChatCommand command) {
+        rateLimiter.acquire(modelRegistry.getOrThrow(command.modelId()), ModelRateLimiter.estimateTokens(command.message()));
     }
 
     private List<ToolCallback> toToolCallbacks(List<ToolAdapter> selectedTools) {
@@ -347,23 +498,56 @@ public class ChatService {
                 .toList();
     }
 
-    private String buildAgentInstruction(List<SkillProvider> selectedSkills, List<ToolAdapter> selectedTools, List<Message> history) {
+    /**
+     * Skills at or below {@code app.skills.inline-max-bytes} go straight into the instruction, which
+     * saves the agent the read_skill round-trip (a full extra model call) for one-paragraph skills.
+     * Larger ones stay behind read_skill so they cost tokens only when the model needs them.
+     */
+    private SkillPlan planSkills(List<SkillProvider> selectedSkills) {
+        List<SkillProvider> inline = new ArrayList<>();
+        List<SkillProvider> onDemand = new ArrayList<>();
+        for (SkillProvider skill : selectedSkills) {
+            (skill.contentBytes() <= inlineSkillMaxBytes ? inline : onDemand).add(skill);
+        }
+        if (!inline.isEmpty()) {
+            log.info("[Skill] Inlining {} skill(s) into the instruction: {}",
+                    inline.size(), inline.stream().map(s -> s.skillName() + "@" + s.version()).toList());
+        }
+        return new SkillPlan(selectedSkills, List.copyOf(inline), List.copyOf(onDemand));
+    }
+
+    private String buildAgentInstruction(SkillPlan skills, List<ToolAdapter> selectedTools, List<Message> history) {
         String base;
-        if (selectedSkills.isEmpty()) {
+        if (skills.all().isEmpty()) {
             base = "You are a helpful assistant. Use available tools when needed.";
         } else {
-            String skillNames = selectedSkills.stream().map(SkillProvider::skillName).toList().toString();
-            String pythonGuide = buildPythonExecutionGuide(selectedSkills);
+            List<String> skillLines = new ArrayList<>();
+            if (!skills.onDemand().isEmpty()) {
+                skillLines.add("Skill system is enabled. Before solving complex tasks, use read_skill(skill_name) to load needed skills.");
+                skillLines.add("Preferred skills for this request: "
+                        + skills.onDemand().stream().map(SkillProvider::skillName).toList());
+            }
+            if (!skills.inline().isEmpty()) {
+                skillLines.add("Skills already loaded below (follow them directly, no read_skill needed): "
+                        + skills.inline().stream().map(SkillProvider::skillName).toList());
+            }
+            String pythonGuide = buildPythonExecutionGuide(skills.all());
             String toolsGuide = selectedTools.isEmpty() ? "(none)" : selectedTools.stream().map(ToolAdapter::toolName).toList().toString();
             base = """
                     You are a helpful assistant.
-                    Skill system is enabled. Before solving complex tasks, use read_skill(skill_name) to load needed skills.
-                    Preferred skills for this request: %s
+                    %s
                     Available business tools: %s
                     Use tools when relevant and provide a direct final answer.
 
                     %s
-                    """.formatted(skillNames, toolsGuide, pythonGuide);
+                    """.formatted(String.join("\n", skillLines), toolsGuide, pythonGuide);
+            // Inlined bodies come before the history so the instruction prefix stays stable across turns.
+            StringBuilder inlined = new StringBuilder(base);
+            for (SkillProvider skill : skills.inline()) {
+                inlined.append("\n## Skill: ").append(skill.skillName()).append('@').append(skill.version())
+                        .append('\n').append(skill.content().strip()).append('\n');
+            }
+            base = inlined.toString();
         }
 
         String historyBlock = formatHistoryForAgent(history);
@@ -447,7 +631,8 @@ public class ChatService {
 
     private boolean isAgentEnabledModel(String modelId) {
         ModelAdapter adapter = modelRegistry.getOrThrow(modelId);
-        if (adapter instanceof com.example.aitemplate.plugins.model.DynamicModelAdapter) {
+        if (adapter instanceof com.example.aitemplate.plugins.model.DynamicModelAdapter
+                || adapter instanceof com.example.aitemplate.plugins.model.RoutingModelAdapter) {
             return false;
         }
         return !"local".equalsIgnoreCase(adapter.provider());
@@ -471,10 +656,7 @@ public class ChatService {
             return runtime;
         }
 
-        ModelAdapter dashScopeAdapter = modelRegistry.list().stream()
-                .filter(model -> "dashscope".equalsIgnoreCase(model.provider()))
-                .findFirst()
-                .orElse(null);
+        ModelAdapter dashScopeAdapter = modelRegistry.firstEnabledByProvider("dashscope").orElse(null);
         if (dashScopeAdapter == null) {
             return runtime;
         }
@@ -504,6 +686,10 @@ public class ChatService {
     private record SkillApplyInfo(String name, String version) {
     }
 
+    /** Selected skills split into those inlined into the instruction and those loaded via read_skill. */
+    private record SkillPlan(List<SkillProvider> all, List<SkillProvider> inline, List<SkillProvider> onDemand) {
+    }
+
     private record ToolCallProgressInfo(
             String callId,
             String toolName,
@@ -0,0 +1,48 @@
+package com.example.aitemplate.app;
+
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.stereotype.Component;
+
+/** SSE framing counters for chat streams: frames and bytes written per response. */
+@Component
+public class ChatStreamMetrics {
+
+    private final LongAdder responses = new LongAdder();
+    private final LongAdder upstreamChunks = new LongAdder();
+    private final LongAdder frames = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder durationMs = new LongAdder();
+
+    public void record(long chunks, long frameCount, long byteCount, long elapsedMs) {
+        responses.increment();
+        upstreamChunks.add(chunks);
+        frames.add(frameCount);
+        bytes.add(byteCount);
+        durationMs.add(Math.max(0, elapsedMs));
+    }
+
+    public StreamStats snapshot() {
+        long count = responses.sum();
+        long frameTotal = frames.sum();
+        long duration = durationMs.sum();
+        return new StreamStats(
+                count,
+                upstreamChunks.sum(),
+                frameTotal,
+                bytes.sum(),
+                count == 0 ? 0 : (double) frameTotal / count,
+                count == 0 ? 0 : (double) bytes.sum() / count,
+                duration == 0 ? 0 : frameTotal * 1000d / duration);
+    }
+
+    /** {@code framesPerSecond} is measured over the time streams were open, not wall-clock uptime. */
+    public record StreamStats(
+            long responses,
+            long upstreamChunks,
+            long frames,
+            long bytes,
+            double framesPerResponse,
+            double bytesPerResponse,
+            double framesPerSecond) {
+    }
+}
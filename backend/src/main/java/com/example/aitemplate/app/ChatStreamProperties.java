@@ -0,0 +1,23 @@
+package com.example.aitemplate.app;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * SSE token framing for {@code GET /api/chat/stream}. With {@code coalesce} enabled, consecutive
+ * token chunks are merged into one frame until {@code maxFrameChars} is reached or
+ * {@code flushInterval} has passed since the first buffered chunk; the first token is never held.
+ */
+@ConfigurationProperties(prefix = "app.chat.stream")
+public record ChatStreamProperties(Boolean coalesce, Integer maxFrameChars, Duration flushInterval) {
+
+    public ChatStreamProperties {
+        coalesce = coalesce != null && coalesce;
+        maxFrameChars = maxFrameChars == null || maxFrameChars < 1 ? 64 : maxFrameChars;
+        flushInterval = flushInterval == null || flushInterval.isNegative() ? Duration.ofMillis(15) : flushInterval;
+    }
+
+    public static ChatStreamProperties defaults() {
+        return new ChatStreamProperties(null, null, null);
+    }
+}
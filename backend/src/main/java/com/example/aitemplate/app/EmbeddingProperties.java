@@ -0,0 +1,23 @@
+package com.example.aitemplate.app;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Embedding request batching and caching. Concurrent callers of one model are merged into a
+ * single provider call of up to {@code maxBatchSize} texts, waiting at most {@code maxBatchDelay}
+ * for company; results are kept in an LRU cache of {@code cacheSize} vectors keyed by content hash.
+ */
+@ConfigurationProperties(prefix = "app.embeddings")
+public record EmbeddingProperties(Integer maxBatchSize, Duration maxBatchDelay, Integer cacheSize) {
+
+    public EmbeddingProperties {
+        maxBatchSize = maxBatchSize == null || maxBatchSize < 1 ? 64 : maxBatchSize;
+        maxBatchDelay = maxBatchDelay == null || maxBatchDelay.isNegative() ? Duration.ofMillis(5) : maxBatchDelay;
+        cacheSize = cacheSize == null || cacheSize < 0 ? 10_000 : cacheSize;
+    }
+
+    public static EmbeddingProperties defaults() {
+        return new EmbeddingProperties(null, null, null);
+    }
+}
@@ -0,0 +1,239 @@
+package com.example.aitemplate.app;
+
+import com.example.aitemplate.core.model.EmbeddingAdapter;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Entry point for embeddings: resolves the {@link EmbeddingAdapter}, serves repeated texts from an
+ * LRU cache keyed by content hash, and merges cache misses of concurrent callers into shared
+ * provider batches. Identical texts already in flight are awaited instead of embedded twice.
+ */
+@Service
+public class EmbeddingService {
+
+    private static final Logger log = LoggerFactory.getLogger(EmbeddingService.class);
+
+    private final Map<String, EmbeddingAdapter> adapters;
+    private final EmbeddingProperties properties;
+    private final Map<String, Batcher> batchers = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<float[]>> inFlight = new ConcurrentHashMap<>();
+    private final LruCache cache;
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder embeddedTexts = new LongAdder();
+
+    public EmbeddingService(List<EmbeddingAdapter> adapters, EmbeddingProperties properties) {
+        this.adapters = adapters.stream()
+                .collect(Collectors.toUnmodifiableMap(EmbeddingAdapter::modelId, Function.identity()));
+        this.properties = properties;
+        this.cache = new LruCache(properties.cacheSize());
+    }
+
+    public List<EmbeddingAdapter> list() {
+        return adapters.values().stream()
+                .sorted(Comparator.comparing(EmbeddingAdapter::modelId, String.CASE_INSENSITIVE_ORDER))
+                .toList();
+    }
+
+    public EmbeddingAdapter getOrThrow(String modelId) {
+        EmbeddingAdapter adapter = adapters.get(modelId);
+        if (adapter == null) {
+            throw new IllegalArgumentException("Unknown embedding modelId: " + modelId);
+        }
+        return adapter;
+    }
+
+    public float[] embed(String modelId, String text) {
+        return embed(modelId, List.of(text)).get(0);
+    }
+
+    /** One vector per input, in input order. Blocks until every miss has been embedded. */
+    public List<float[]> embed(String modelId, List<String> texts) {
+        EmbeddingAdapter adapter = getOrThrow(modelId);
+        List<CompletableFuture<float[]>> futures = new ArrayList<>(texts.size());
+        List<Pending> misses = new ArrayList<>();
+        for (String text : texts) {
+            String safeText = text == null ? "" : text;
+            String key = cacheKey(modelId, safeText);
+            float[] cached = cache.get(key);
+            if (cached != null) {
+                cacheHits.increment();
+                futures.add(CompletableFuture.completedFuture(cached));
+                continue;
+            }
+            cacheMisses.increment();
+            CompletableFuture<float[]> created = new CompletableFuture<>();
+            CompletableFuture<float[]> existing = inFlight.putIfAbsent(key, created);
+            if (existing != null) {
+                futures.add(existing);
+            } else {
+                misses.add(new Pending(key, safeText, created));
+                futures.add(created);
+            }
+        }
+        if (!misses.isEmpty()) {
+            batchers.computeIfAbsent(modelId, __ -> new Batcher(adapter)).submit(misses);
+        }
+
+        List<float[]> vectors = new ArrayList<>(futures.size());
+        try {
+            for (CompletableFuture<float[]> future : futures) {
+                vectors.add(future.join().clone());
+            }
+        }
+        catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Embedding failed for model " + modelId, ex.getCause());
+        }
+        return vectors;
+    }
+
+    public EmbeddingStats stats() {
+        return new EmbeddingStats(cache.size(), cacheHits.sum(), cacheMisses.sum(), batches.sum(), embeddedTexts.sum());
+    }
+
+    public record EmbeddingStats(int cachedVectors, long cacheHits, long cacheMisses, long batches, long embeddedTexts) {
+    }
+
+    private static String cacheKey(String modelId, String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return modelId + ":" + HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        }
+        catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    private record Pending(String key, String text, CompletableFuture<float[]> future) {
+    }
+
+    /** Per-model queue; flushes when a full batch is waiting or when the oldest entry hits maxBatchDelay. */
+    private final class Batcher {
+        private final EmbeddingAdapter adapter;
+        private final int batchSize;
+        private final List<Pending> queue = new ArrayList<>();
+        private Disposable scheduledFlush;
+
+        Batcher(EmbeddingAdapter adapter) {
+            this.adapter = adapter;
+            this.batchSize = Math.max(1, Math.min(properties.maxBatchSize(), adapter.maxBatchSize()));
+        }
+
+        synchronized void submit(List<Pending> pending) {
+            queue.addAll(pending);
+            while (queue.size() >= batchSize) {
+                dispatch(take(batchSize));
+            }
+            if (queue.isEmpty()) {
+                cancelTimer();
+            } else if (properties.maxBatchDelay().isZero()) {
+                flush();
+            } else if (scheduledFlush == null) {
+                scheduledFlush = Schedulers.parallel()
+                        .schedule(this::flush, properties.maxBatchDelay().toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+
+        synchronized void flush() {
+            cancelTimer();
+            if (!queue.isEmpty()) {
+                dispatch(take(queue.size()));
+            }
+        }
+
+        private List<Pending> take(int count) {
+            List<Pending> batch = new ArrayList<>(queue.subList(0, count));
+            queue.subList(0, count).clear();
+            return batch;
+        }
+
+        private void cancelTimer() {
+            if (scheduledFlush != null) {
+                scheduledFlush.dispose();
+                scheduledFlush = null;
+            }
+        }
+
+        private void dispatch(List<Pending> batch) {
+            Schedulers.boundedElastic().schedule(() -> call(batch));
+        }
+
+        private void call(List<Pending> batch) {
+            try {
+                List<float[]> vectors = adapter.embed(batch.stream().map(Pending::text).toList());
+                if (vectors == null || vectors.size() != batch.size()) {
+                    throw new IllegalStateException("Embedding model " + adapter.modelId() + " returned "
+                            + (vectors == null ? 0 : vectors.size()) + " vectors for " + batch.size() + " inputs");
+                }
+                batches.increment();
+                embeddedTexts.add(batch.size());
+                for (int i = 0; i < batch.size(); i++) {
+                    Pending pending = batch.get(i);
+                    cache.put(pending.key(), vectors.get(i));
+                    inFlight.remove(pending.key());
+                    pending.future().complete(vectors.get(i));
+                }
+            }
+            catch (RuntimeException ex) {
+                log.warn("[Embedding] Batch of {} failed on {}: {}", batch.size(), adapter.modelId(), ex.getMessage());
+                for (Pending pending : batch) {
+                    inFlight.remove(pending.key());
+                    pending.future().completeExceptionally(ex);
+                }
+            }
+        }
+    }
+
+    private static final class LruCache {
+        private final int capacity;
+        private final LinkedHashMap<String, float[]> entries;
+
+        LruCache(int capacity) {
+            this.capacity = capacity;
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, float[]> eldest) {
+                    return size() > LruCache.this.capacity;
+                }
+            };
+        }
+
+        synchronized float[] get(String key) {
+            return entries.get(key);
+        }
+
+        synchronized void put(String key, float[] vector) {
+            if (capacity > 0) {
+                entries.put(key, vector);
+            }
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+    }
+}
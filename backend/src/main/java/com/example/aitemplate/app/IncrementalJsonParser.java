@@ -0,0 +1,156 @@
+package com.example.aitemplate.app;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ContainerNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Builds a JSON document from streamed text chunks using Jackson's non-blocking parser.
+ *
+ * <p>Only completed values are added to the tree: a string shows up once its closing quote
+ * arrives, an object member once its value is complete. {@link #feed(String)} returns the
+ * current partial document whenever a chunk completed at least one value, so one chunk yields
+ * at most one snapshot. Text before the first '{' or '[' (e.g. a Markdown fence)
+ * and anything after the root value closes are ignored; malformed input stops the parser
+ * without failing the stream.
+ */
+public final class IncrementalJsonParser {
+
+    private static final Logger log = LoggerFactory.getLogger(IncrementalJsonParser.class);
+    private static final JsonFactory FACTORY = new JsonFactory();
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    private final Deque<ContainerNode<?>> open = new ArrayDeque<>();
+    private JsonParser parser;
+    private JsonNode root;
+    private String pendingField;
+    private boolean finished;
+
+    /** Feeds one chunk; returns the partial document as JSON if the chunk completed any value. */
+    public Optional<String> feed(String chunk) {
+        if (finished || chunk == null || chunk.isEmpty()) {
+            return Optional.empty();
+        }
+        String input = chunk;
+        if (parser == null) {
+            int start = firstContainerStart(chunk);
+            if (start < 0) {
+                return Optional.empty();
+            }
+            input = chunk.substring(start);
+            try {
+                parser = FACTORY.createNonBlockingByteArrayParser();
+            }
+            catch (IOException ex) {
+                throw new IllegalStateException("Failed to create JSON parser", ex);
+            }
+        }
+        try {
+            byte[] bytes = input.getBytes(StandardCharsets.UTF_8);
+            ((ByteArrayFeeder) parser.getNonBlockingInputFeeder()).feedInput(bytes, 0, bytes.length);
+            boolean completed = false;
+            JsonToken token;
+            while (!finished && (token = parser.nextToken()) != JsonToken.NOT_AVAILABLE && token != null) {
+                completed |= onToken(token);
+            }
+            return completed ? Optional.of(MAPPER.writeValueAsString(root)) : Optional.empty();
+        }
+        catch (IOException ex) {
+            log.debug("[JsonMode] Stopped incremental parsing: {}", ex.getMessage());
+            finished = true;
+            return Optional.empty();
+        }
+    }
+
+    /** True once the root value has been closed (or parsing was abandoned). */
+    public boolean finished() {
+        return finished;
+    }
+
+    private boolean onToken(JsonToken token) throws IOException {
+        switch (token) {
+            case START_OBJECT -> {
+                ObjectNode node = NODES.objectNode();
+                attach(node);
+                open.push(node);
+                return false;
+            }
+            case START_ARRAY -> {
+                ArrayNode node = NODES.arrayNode();
+                attach(node);
+                open.push(node);
+                return false;
+            }
+            case FIELD_NAME -> {
+                pendingField = parser.currentName();
+                return false;
+            }
+            case END_OBJECT, END_ARRAY -> {
+                open.pop();
+                if (open.isEmpty()) {
+                    finished = true;
+                    parser.close();
+                }
+                return true;
+            }
+            default -> {
+                attach(scalar(token));
+                return true;
+            }
+        }
+    }
+
+    private void attach(JsonNode node) {
+        ContainerNode<?> parent = open.peek();
+        if (parent == null) {
+            root = node;
+        } else if (parent instanceof ObjectNode object) {
+            object.set(pendingField, node);
+            pendingField = null;
+        } else {
+            ((ArrayNode) parent).add(node);
+        }
+    }
+
+    private JsonNode scalar(JsonToken token) throws IOException {
+        return switch (token) {
+            case VALUE_STRING -> NODES.textNode(parser.getText());
+            case VALUE_NUMBER_INT -> switch (parser.getNumberType()) {
+                case INT -> NODES.numberNode(parser.getIntValue());
+                case LONG -> NODES.numberNode(parser.getLongValue());
+                default -> NODES.numberNode(parser.getBigIntegerValue());
+            };
+            case VALUE_NUMBER_FLOAT -> NODES.numberNode(parser.getDecimalValue());
+            case VALUE_TRUE -> NODES.booleanNode(true);
+            case VALUE_FALSE -> NODES.booleanNode(false);
+            case VALUE_NULL -> NODES.nullNode();
+            default -> throw new JsonParseException(parser, "Unexpected token " + token);
+        };
+    }
+
+    private static int firstContainerStart(String chunk) {
+        for (int i = 0; i < chunk.length(); i++) {
+            char c = chunk.charAt(i);
+            if (c == '{' || c == '[') {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.aitemplate.app;
+
+import com.example.aitemplate.core.model.HealthStatus;
+import com.example.aitemplate.core.model.ModelAdapter;
+import com.example.aitemplate.plugins.model.ProviderHttpClient;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Opens connections to every enabled adapter's provider before the application reports ready.
+ *
+ * <p>Runs as an {@link ApplicationRunner}: Spring Boot publishes readiness only after runners
+ * return, so the readiness probe stays red until the (time-bounded) warm-up is done. One HEAD
+ * request per distinct origin goes through the adapters' {@link ProviderHttpClient}; any HTTP answer,
+ * even 401/404, means DNS, TCP and TLS are done and the connection is pooled.
+ */
+@Component
+public class ModelConnectionWarmer implements ApplicationRunner, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ModelConnectionWarmer.class);
+
+    private final ModelRegistry modelRegistry;
+    private final ModelWarmupProperties properties;
+    private final Function<URI, HttpClient> clients;
+    private volatile List<AdapterWarmup> lastReport = List.of();
+    private volatile Disposable keepAlive;
+
+    @Autowired
+    public ModelConnectionWarmer(
+            ModelRegistry modelRegistry, ModelWarmupProperties properties, ProviderHttpClient httpClient) {
+        this(modelRegistry, properties, httpClient::client);
+    }
+
+    ModelConnectionWarmer(ModelRegistry modelRegistry, ModelWarmupProperties properties, HttpClient httpClient) {
+        this(modelRegistry, properties, origin -> httpClient);
+    }
+
+    private ModelConnectionWarmer(
+            ModelRegistry modelRegistry, ModelWarmupProperties properties, Function<URI, HttpClient> clients) {
+        this.modelRegistry = modelRegistry;
+        this.properties = properties;
+        this.clients = clients;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.enabled()) {
+            return;
+        }
+        List<AdapterWarmup> report = warmUp();
+        long warm = report.stream().filter(r -> r.status() == Status.WARM).count();
+        log.info("[Warmup] {}/{} adapter endpoint(s) warm: {}", warm, report.size(),
+                report.stream().map(r -> r.modelId() + "=" + r.status() + "(" + r.durationMs() + "ms)").toList());
+        Duration interval = properties.keepAliveInterval();
+        if (!interval.isZero()) {
+            keepAlive = Schedulers.parallel().schedulePeriodically(
+                    this::touchEndpoints, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (keepAlive != null) {
+            keepAlive.dispose();
+        }
+    }
+
+    /** Warms all enabled adapters in parallel; returns once all answered or the timeout elapsed. */
+    public List<AdapterWarmup> warmUp() {
+        Map<URI, List<ModelAdapter>> byOrigin = new LinkedHashMap<>();
+        List<AdapterWarmup> report = new ArrayList<>();
+        for (ModelAdapter adapter : modelRegistry.list()) {
+            URI origin = origin(adapter.endpoint());
+            if (origin == null) {
+                continue;
+            }
+            if (adapter.health() == HealthStatus.DOWN) {
+                report.add(new AdapterWarmup(adapter.modelId(), origin.toString(), Status.SKIPPED, null, 0));
+                continue;
+            }
+            byOrigin.computeIfAbsent(origin, __ -> new ArrayList<>()).add(adapter);
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + properties.timeout().toNanos();
+        Map<URI, CompletableFuture<Probe>> probes = new LinkedHashMap<>();
+        byOrigin.keySet().forEach(origin -> probes.put(origin, probe(origin)));
+
+        probes.forEach((origin, future) -> {
+            Probe probe = await(future, deadline, start);
+            for (ModelAdapter adapter : byOrigin.get(origin)) {
+                report.add(new AdapterWarmup(
+                        adapter.modelId(), origin.toString(), probe.status(), probe.httpStatus(), probe.durationMs()));
+            }
+        });
+        lastReport = List.copyOf(report);
+        return lastReport;
+    }
+
+    public List<AdapterWarmup> lastReport() {
+        return lastReport;
+    }
+
+    private void touchEndpoints() {
+        modelRegistry.list().stream()
+                .filter(adapter -> adapter.health() != HealthStatus.DOWN)
+                .map(adapter -> origin(adapter.endpoint()))
+                .filter(origin -> origin != null)
+                .distinct()
+                .forEach(this::probe);
+    }
+
+    private CompletableFuture<Probe> probe(URI origin) {
+        long start = System.nanoTime();
+        HttpRequest request = HttpRequest.newBuilder(origin)
+                .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                .timeout(properties.timeout())
+                .build();
+        return clients.apply(origin).sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> {
+                    long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    if (error != null) {
+                        log.debug("[Warmup] {} unreachable: {}", origin, error.getMessage());
+                        return new Probe(Status.FAILED, null, elapsed);
+                    }
+                    return new Probe(Status.WARM, response.statusCode(), elapsed);
+                });
+    }
+
+    private Probe await(CompletableFuture<Probe> future, long deadline, long start) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        }
+        catch (TimeoutException ex) {
+            return new Probe(Status.TIMED_OUT, null, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return new Probe(Status.TIMED_OUT, null, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+        catch (ExecutionException ex) {
+            return new Probe(Status.FAILED, null, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    private static URI origin(URI endpoint) {
+        if (endpoint == null || endpoint.getScheme() == null || endpoint.getHost() == null) {
+            return null;
+        }
+        String port = endpoint.getPort() < 0 ? "" : ":" + endpoint.getPort();
+        return URI.create(endpoint.getScheme() + "://" + endpoint.getHost() + port + "/");
+    }
+
+    public enum Status {
+        WARM, FAILED, TIMED_OUT, SKIPPED
+    }
+
+    public record AdapterWarmup(String modelId, String origin, Status status, Integer httpStatus, long durationMs) {
+    }
+
+    private record Probe(Status status, Integer httpStatus, long durationMs) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.aitemplate.app;
+
+import java.time.Duration;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Client-side RPM/TPM quotas for builtin models, keyed by modelId, plus the shared
+ * wait-queue policy. Dynamic models carry their own quotas on {@code ModelConfig}.
+ */
+@ConfigurationProperties(prefix = "app.models.rate-limiting")
+public record ModelRateLimitProperties(Map<String, Limit> limits, Integer maxQueueDepth, Duration maxWait) {
+
+    public ModelRateLimitProperties {
+        limits = limits == null ? Map.of() : Map.copyOf(limits);
+        maxQueueDepth = maxQueueDepth == null ? 100 : maxQueueDepth;
+        maxWait = maxWait == null ? Duration.ofSeconds(30) : maxWait;
+    }
+
+    public static ModelRateLimitProperties defaults() {
+        return new ModelRateLimitProperties(Map.of(), null, null);
+    }
+
+    public record Limit(int requestsPerMinute, int tokensPerMinute) {
+    }
+}
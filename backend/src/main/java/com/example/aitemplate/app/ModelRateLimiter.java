@@ -0,0 +1,239 @@
+package com.example.aitemplate.app;
+
+import com.example.aitemplate.core.model.ModelAdapter;
+import com.example.aitemplate.core.model.ModelThrottledException;
+import com.example.aitemplate.plugins.model.DynamicModelAdapter;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-model token buckets for requests-per-minute and estimated tokens-per-minute.
+ *
+ * <p>Callers over the limit wait in a FIFO queue (bounded by {@code maxQueueDepth}) until both
+ * buckets have capacity or {@code maxWait} elapses; then a {@link ModelThrottledException} is
+ * raised instead of letting the burst reach the provider as 429s.
+ */
+@Component
+public class ModelRateLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(ModelRateLimiter.class);
+
+    private final ModelRateLimitProperties properties;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public ModelRateLimiter(ModelRateLimitProperties properties) {
+        this.properties = properties;
+    }
+
+    /** Blocks until a permit for {@code estimatedTokens} is available for the adapter's model. */
+    public void acquire(ModelAdapter adapter, int estimatedTokens) {
+        TokenBucket bucket = bucketFor(adapter);
+        if (bucket != null) {
+            bucket.acquire(estimatedTokens);
+        }
+    }
+
+    public boolean isLimited(ModelAdapter adapter) {
+        return bucketFor(adapter) != null;
+    }
+
+    public List<RateLimitStats> stats() {
+        return buckets.entrySet().stream()
+                .map(entry -> entry.getValue().stats(entry.getKey()))
+                .sorted(Comparator.comparing(RateLimitStats::modelId, String.CASE_INSENSITIVE_ORDER))
+                .toList();
+    }
+
+    /** Rough prompt-size estimate (~4 chars per token) used before real usage is known. */
+    public static int estimateTokens(String text) {
+        return text == null ? 0 : (text.length() + 3) / 4;
+    }
+
+    private TokenBucket bucketFor(ModelAdapter adapter) {
+        int rpm;
+        int tpm;
+        if (adapter instanceof DynamicModelAdapter dynamic) {
+            rpm = dynamic.config().requestsPerMinute();
+            tpm = dynamic.config().tokensPerMinute();
+        } else {
+            ModelRateLimitProperties.Limit limit = properties.limits().get(adapter.modelId());
+            rpm = limit == null ? 0 : limit.requestsPerMinute();
+            tpm = limit == null ? 0 : limit.tokensPerMinute();
+        }
+        if (rpm <= 0 && tpm <= 0) {
+            buckets.remove(adapter.modelId());
+            return null;
+        }
+        return buckets.compute(adapter.modelId(), (modelId, existing) ->
+                existing != null && existing.rpm == rpm && existing.tpm == tpm
+                        ? existing
+                        : new TokenBucket(modelId, rpm, tpm, properties.maxQueueDepth(), properties.maxWait()));
+    }
+
+    public record RateLimitStats(
+            String modelId,
+            int requestsPerMinute,
+            int tokensPerMinute,
+            int queueDepth,
+            long granted,
+            long throttled,
+            long rejected,
+            long totalWaitMs,
+            long maxWaitMs) {
+    }
+
+    private static final class TokenBucket {
+        private static final double NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+        private final String modelId;
+        private final int rpm;
+        private final int tpm;
+        private final int maxQueueDepth;
+        private final long maxWaitNanos;
+        private final ReentrantLock lock = new ReentrantLock(true);
+        private final Condition changed = lock.newCondition();
+        private final ArrayDeque<Object> waiters = new ArrayDeque<>();
+
+        private double requestTokens;
+        private double tokenTokens;
+        private long lastRefill;
+        private long granted;
+        private long throttled;
+        private long rejected;
+        private long totalWaitNanos;
+        private long maxWaitNanosSeen;
+
+        TokenBucket(String modelId, int rpm, int tpm, int maxQueueDepth, Duration maxWait) {
+            this.modelId = modelId;
+            this.rpm = rpm;
+            this.tpm = tpm;
+            this.maxQueueDepth = maxQueueDepth;
+            this.maxWaitNanos = maxWait.toNanos();
+            this.requestTokens = rpm;
+            this.tokenTokens = tpm;
+            this.lastRefill = System.nanoTime();
+        }
+
+        void acquire(int estimatedTokens) {
+            // A request larger than the whole minute budget would never fit; let it drain the bucket.
+            int cost = tpm > 0 ? Math.max(0, Math.min(estimatedTokens, tpm)) : 0;
+            long start = System.nanoTime();
+            long deadline = start + maxWaitNanos;
+            lock.lock();
+            try {
+                refill(start);
+                if (waiters.isEmpty() && tryConsume(cost)) {
+                    granted++;
+                    return;
+                }
+                if (waiters.size() >= maxQueueDepth) {
+                    rejected++;
+                    throw new ModelThrottledException(modelId,
+                            "Rate limit queue is full for model " + modelId + " (depth=" + waiters.size() + ")");
+                }
+                Object ticket = new Object();
+                waiters.addLast(ticket);
+                throttled++;
+                try {
+                    while (true) {
+                        long now = System.nanoTime();
+                        refill(now);
+                        boolean head = waiters.peekFirst() == ticket;
+                        if (head && tryConsume(cost)) {
+                            long waited = now - start;
+                            granted++;
+                            totalWaitNanos += waited;
+                            maxWaitNanosSeen = Math.max(maxWaitNanosSeen, waited);
+                            return;
+                        }
+                        long remaining = deadline - now;
+                        if (remaining <= 0) {
+                            rejected++;
+                            log.warn("[RateLimit] Request for {} timed out after {}ms in queue",
+                                    modelId, TimeUnit.NANOSECONDS.toMillis(now - start));
+                            throw new ModelThrottledException(modelId,
+                                    "Rate limit wait exceeded for model " + modelId);
+                        }
+                        long pause = head ? Math.max(nanosUntilAvailable(cost), TimeUnit.MILLISECONDS.toNanos(1)) : remaining;
+                        changed.awaitNanos(Math.min(pause, remaining));
+                    }
+                }
+                catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    rejected++;
+                    throw new ModelThrottledException(modelId, "Interrupted while waiting for rate limit on " + modelId);
+                }
+                finally {
+                    waiters.remove(ticket);
+                    changed.signalAll();
+                }
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+
+        RateLimitStats stats(String key) {
+            lock.lock();
+            try {
+                return new RateLimitStats(key, rpm, tpm, waiters.size(), granted, throttled, rejected,
+                        TimeUnit.NANOSECONDS.toMillis(totalWaitNanos),
+                        TimeUnit.NANOSECONDS.toMillis(maxWaitNanosSeen));
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+
+        private void refill(long now) {
+            long elapsed = now - lastRefill;
+            if (elapsed <= 0) {
+                return;
+            }
+            lastRefill = now;
+            if (rpm > 0) {
+                requestTokens = Math.min(rpm, requestTokens + elapsed * rpm / NANOS_PER_MINUTE);
+            }
+            if (tpm > 0) {
+                tokenTokens = Math.min(tpm, tokenTokens + elapsed * tpm / NANOS_PER_MINUTE);
+            }
+        }
+
+        private boolean tryConsume(int cost) {
+            if (rpm > 0 && requestTokens < 1) {
+                return false;
+            }
+            if (tpm > 0 && tokenTokens < cost) {
+                return false;
+            }
+            if (rpm > 0) {
+                requestTokens -= 1;
+            }
+            if (tpm > 0) {
+                tokenTokens -= cost;
+            }
+            return true;
+        }
+
+        private long nanosUntilAvailable(int cost) {
+            double wait = 0;
+            if (rpm > 0 && requestTokens < 1) {
+                wait = Math.max(wait, (1 - requestTokens) * NANOS_PER_MINUTE / rpm);
+            }
+            if (tpm > 0 && tokenTokens < cost) {
+                wait = Math.max(wait, (cost - tokenTokens) * NANOS_PER_MINUTE / tpm);
+            }
+            return (long) Math.ceil(wait);
+        }
+    }
+}
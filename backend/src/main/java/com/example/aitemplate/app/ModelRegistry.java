@@ -4,105 +4,146 @@ import com.example.aitemplate.core.model.ModelAdapter;
 import com.example.aitemplate.core.model.ModelConfig;
 import com.example.aitemplate.infra.db.ModelConfigRepository;
 import com.example.aitemplate.plugins.model.DynamicModelAdapter;
+import com.example.aitemplate.plugins.model.ProviderHttpClient;
+import com.example.aitemplate.plugins.model.RoutingModelAdapter;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+/**
+ * Builtin, dynamic and router models.
+ *
+ * <p>Reads are served from an immutable, pre-sorted {@link Snapshot} held in a volatile field;
+ * every mutation runs under the registry lock and publishes a new snapshot with the next
+ * {@link #version()}, so hot-path lookups never sort, filter or lock.
+ */
 @Component
 public class ModelRegistry {
 
     private static final Logger log = LoggerFactory.getLogger(ModelRegistry.class);
+    private static final Comparator<ModelAdapter> BY_ID =
+            Comparator.comparing(ModelAdapter::modelId, String.CASE_INSENSITIVE_ORDER);
 
     private final Map<String, ModelAdapter> builtinAdapters;
     private final Map<String, DynamicModelAdapter> dynamicAdapters;
     private final Set<String> disabledModelIds;
     private final ModelConfigRepository modelConfigRepo;
+    private final ProviderHttpClient httpClient;
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
 
     public ModelRegistry(List<ModelAdapter> adapters, ModelConfigRepository modelConfigRepo) {
+        this(adapters, modelConfigRepo, ModelRoutingProperties.empty());
+    }
+
+    public ModelRegistry(
+            List<ModelAdapter> adapters,
+            ModelConfigRepository modelConfigRepo,
+            ModelRoutingProperties routingProperties) {
+        this(adapters, modelConfigRepo, routingProperties, new ProviderHttpClient());
+    }
+
+    @Autowired
+    public ModelRegistry(
+            List<ModelAdapter> adapters,
+            ModelConfigRepository modelConfigRepo,
+            ModelRoutingProperties routingProperties,
+            ProviderHttpClient httpClient) {
         this.builtinAdapters = new ConcurrentHashMap<>();
         this.dynamicAdapters = new ConcurrentHashMap<>();
         this.disabledModelIds = ConcurrentHashMap.newKeySet();
         this.modelConfigRepo = modelConfigRepo;
+        this.httpClient = httpClient;
 
         for (ModelAdapter adapter : adapters) {
             this.builtinAdapters.put(adapter.modelId(), adapter);
         }
 
         loadFromDb();
+        registerRouters(routingProperties);
+        publish();
     }
 
     /** Returns only enabled models — used by ChatService and MetadataController. */
     public List<ModelAdapter> list() {
-        List<ModelAdapter> result = new ArrayList<>();
-        builtinAdapters.values().stream()
-                .filter(a -> !disabledModelIds.contains(a.modelId()))
-                .sorted(Comparator.comparing(ModelAdapter::modelId, String.CASE_INSENSITIVE_ORDER))
-                .forEach(result::add);
-        dynamicAdapters.values().stream()
-                .filter(a -> !disabledModelIds.contains(a.modelId()))
-                .sorted(Comparator.comparing(ModelAdapter::modelId, String.CASE_INSENSITIVE_ORDER))
-                .forEach(result::add);
-        return result;
+        return snapshot.enabled();
     }
 
     /** Returns all models (builtin + dynamic, enabled + disabled) for admin. */
     public List<ModelEntry> listAll() {
-        List<ModelEntry> entries = new ArrayList<>();
-        builtinAdapters.values().stream()
-                .sorted(Comparator.comparing(ModelAdapter::modelId, String.CASE_INSENSITIVE_ORDER))
-                .forEach(a -> entries.add(new ModelEntry(
-                        a, "builtin", false, !disabledModelIds.contains(a.modelId()))));
-        dynamicAdapters.values().stream()
-                .sorted(Comparator.comparing(ModelAdapter::modelId, String.CASE_INSENSITIVE_ORDER))
-                .forEach(a -> entries.add(new ModelEntry(
-                        a, "dynamic", true, !disabledModelIds.contains(a.modelId()))));
-        return entries;
+        return snapshot.all();
+    }
+
+    /** Bumped on every mutation; lets callers cache derived views of the registry. */
+    public long version() {
+        return snapshot.version();
+    }
+
+    /** First enabled model of {@code provider} in {@link #list()} order. */
+    public Optional<ModelAdapter> firstEnabledByProvider(String provider) {
+        List<ModelAdapter> adapters = snapshot.enabledByProvider().get(provider.toLowerCase(Locale.ROOT));
+        return adapters == null ? Optional.empty() : Optional.of(adapters.get(0));
     }
 
     public ModelAdapter getOrThrow(String modelId) {
-        ModelAdapter adapter = builtinAdapters.get(modelId);
-        if (adapter == null) {
-            adapter = dynamicAdapters.get(modelId);
-        }
+        Snapshot current = snapshot;
+        ModelAdapter adapter = current.byId().get(modelId);
         if (adapter == null) {
             throw new IllegalArgumentException("Unknown modelId: " + modelId);
         }
-        if (disabledModelIds.contains(modelId)) {
+        if (current.disabled().contains(modelId)) {
             throw new IllegalArgumentException("Model is disabled: " + modelId);
         }
         return adapter;
     }
 
-    public DynamicModelAdapter upsertDynamic(ModelConfig config) {
+    /** Enabled adapter lookup that returns null instead of throwing; used by router pools. */
+    private ModelAdapter findEnabled(String modelId) {
+        Snapshot current = snapshot;
+        return current.disabled().contains(modelId) ? null : current.byId().get(modelId);
+    }
+
+    public synchronized DynamicModelAdapter upsertDynamic(ModelConfig config) {
         validateConfig(config);
-        DynamicModelAdapter adapter = new DynamicModelAdapter(config);
-        dynamicAdapters.put(config.modelId(), adapter);
+        // Existing adapters are reconfigured in place so unchanged transports and in-flight requests survive.
+        DynamicModelAdapter adapter = dynamicAdapters.compute(config.modelId(), (modelId, existing) -> {
+            if (existing == null) {
+                return new DynamicModelAdapter(config, httpClient);
+            }
+            existing.reconfigure(config);
+            return existing;
+        });
         if (!config.enabled()) {
             disabledModelIds.add(config.modelId());
         } else {
             disabledModelIds.remove(config.modelId());
         }
         modelConfigRepo.save(config);
+        publish();
         return adapter;
     }
 
-    public boolean deleteDynamic(String modelId) {
+    public synchronized boolean deleteDynamic(String modelId) {
         DynamicModelAdapter removed = dynamicAdapters.remove(modelId);
         if (removed != null) {
             disabledModelIds.remove(modelId);
             modelConfigRepo.delete(modelId);
+            publish();
             return true;
         }
         return false;
     }
 
-    public boolean toggleEnabled(String modelId) {
+    public synchronized boolean toggleEnabled(String modelId) {
         if (!builtinAdapters.containsKey(modelId) && !dynamicAdapters.containsKey(modelId)) {
             throw new IllegalArgumentException("Unknown modelId: " + modelId);
         }
@@ -120,18 +161,76 @@ public class ModelRegistry {
             ModelConfig updated = new ModelConfig(
                     old.modelId(), old.provider(), old.displayName(),
                     old.baseUrl(), old.apiKey(), old.modelName(),
-                    nowEnabled, old.capabilities(), old.sortOrder());
+                    nowEnabled, old.capabilities(), old.sortOrder(),
+                    old.requestsPerMinute(), old.tokensPerMinute());
+            dynamic.reconfigure(updated);
             modelConfigRepo.save(updated);
         }
+        publish();
         return nowEnabled;
     }
 
+    // ── Snapshot ────────────────────────────────────────────
+
+    /** Rebuilds the read snapshot from the backing maps; callers hold the registry lock. */
+    private void publish() {
+        List<ModelAdapter> builtins = builtinAdapters.values().stream().sorted(BY_ID).toList();
+        List<ModelAdapter> dynamics = dynamicAdapters.values().stream().sorted(BY_ID).map(ModelAdapter.class::cast).toList();
+        Set<String> disabled = Set.copyOf(disabledModelIds);
+
+        List<ModelAdapter> enabled = new ArrayList<>();
+        List<ModelEntry> all = new ArrayList<>();
+        Map<String, ModelAdapter> byId = new HashMap<>();
+        for (ModelAdapter adapter : builtins) {
+            all.add(new ModelEntry(adapter, "builtin", false, !disabled.contains(adapter.modelId())));
+            byId.put(adapter.modelId(), adapter);
+        }
+        for (ModelAdapter adapter : dynamics) {
+            // Builtins win an ID clash; loadFromDb already refuses such rows, this keeps the snapshot safe regardless.
+            if (byId.putIfAbsent(adapter.modelId(), adapter) != null) {
+                continue;
+            }
+            all.add(new ModelEntry(adapter, "dynamic", true, !disabled.contains(adapter.modelId())));
+        }
+        Map<String, List<ModelAdapter>> byProvider = new HashMap<>();
+        for (ModelEntry entry : all) {
+            if (!entry.enabled()) {
+                continue;
+            }
+            enabled.add(entry.adapter());
+            String provider = entry.adapter().provider();
+            if (provider != null) {
+                byProvider.computeIfAbsent(provider.toLowerCase(Locale.ROOT), __ -> new ArrayList<>()).add(entry.adapter());
+            }
+        }
+        Map<String, List<ModelAdapter>> frozenByProvider = new HashMap<>();
+        byProvider.forEach((provider, adapters) -> frozenByProvider.put(provider, List.copyOf(adapters)));
+
+        snapshot = new Snapshot(snapshot.version() + 1, List.copyOf(enabled), List.copyOf(all),
+                Map.copyOf(byId), disabled, Map.copyOf(frozenByProvider));
+    }
+
+    private record Snapshot(
+            long version,
+            List<ModelAdapter> enabled,
+            List<ModelEntry> all,
+            Map<String, ModelAdapter> byId,
+            Set<String> disabled,
+            Map<String, List<ModelAdapter>> enabledByProvider) {
+
+        static final Snapshot EMPTY = new Snapshot(0, List.of(), List.of(), Map.of(), Set.of(), Map.of());
+    }
+
     // ── DB persistence ──────────────────────────────────────
 
     private void loadFromDb() {
         List<ModelConfig> configs = modelConfigRepo.findAll();
         for (ModelConfig config : configs) {
-            DynamicModelAdapter adapter = new DynamicModelAdapter(config);
+            if (builtinAdapters.containsKey(config.modelId())) {
+                log.warn("Skipped dynamic model from DB with same ID as builtin: {}", config.modelId());
+                continue;
+            }
+            DynamicModelAdapter adapter = new DynamicModelAdapter(config, httpClient);
             dynamicAdapters.put(config.modelId(), adapter);
             if (!config.enabled()) {
                 disabledModelIds.add(config.modelId());
@@ -140,6 +239,18 @@ public class ModelRegistry {
         }
     }
 
+    private void registerRouters(ModelRoutingProperties routingProperties) {
+        routingProperties.pools().forEach((routerId, pool) -> {
+            if (builtinAdapters.containsKey(routerId) || dynamicAdapters.containsKey(routerId)) {
+                throw new IllegalStateException("Router modelId clashes with an existing model: " + routerId);
+            }
+            RoutingModelAdapter router = new RoutingModelAdapter(
+                    routerId, pool.members(), pool.strategy(), this::findEnabled);
+            builtinAdapters.put(routerId, router);
+            log.info("Registered router model {} over {} (strategy={})", routerId, router.memberIds(), router.strategy());
+        });
+    }
+
     private void validateConfig(ModelConfig config) {
         if (config.modelId() == null || config.modelId().isBlank()) {
             throw new IllegalArgumentException("modelId is required");
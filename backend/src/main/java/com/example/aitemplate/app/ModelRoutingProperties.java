@@ -0,0 +1,29 @@
+package com.example.aitemplate.app;
+
+import com.example.aitemplate.plugins.model.RoutingModelAdapter;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Virtual router models, keyed by the router modelId:
+ *
+ * <pre>
+ * app.models.routing.pools.router-qwen.members=dashscope-qwen-plus,qwen-gateway-2
+ * app.models.routing.pools.router-qwen.strategy=least-outstanding
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "app.models.routing")
+public record ModelRoutingProperties(Map<String, Pool> pools) {
+
+    public ModelRoutingProperties {
+        pools = pools == null ? Map.of() : Map.copyOf(pools);
+    }
+
+    public static ModelRoutingProperties empty() {
+        return new ModelRoutingProperties(Map.of());
+    }
+
+    public record Pool(List<String> members, RoutingModelAdapter.Strategy strategy) {
+    }
+}
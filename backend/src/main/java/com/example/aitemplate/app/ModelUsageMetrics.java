@@ -0,0 +1,91 @@
+package com.example.aitemplate.app;
+
+import com.example.aitemplate.core.chat.TokenUsage;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-model token and cost counters, fed by {@link ChatService} after every answered request.
+ *
+ * <p>Throughput is completion tokens over the summed generation time of the recorded requests,
+ * so idle periods do not dilute it.
+ */
+@Component
+public class ModelUsageMetrics {
+
+    private final ModelUsageProperties properties;
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    public ModelUsageMetrics(ModelUsageProperties properties) {
+        this.properties = properties;
+    }
+
+    public void record(String modelId, TokenUsage usage, long latencyMs) {
+        TokenUsage safe = usage == null ? TokenUsage.empty() : usage;
+        Counters c = counters.computeIfAbsent(modelId, __ -> new Counters());
+        c.requests.increment();
+        c.latencyMs.add(Math.max(0, latencyMs));
+        if (!safe.reported()) {
+            c.unreported.increment();
+            return;
+        }
+        c.promptTokens.add(safe.promptTokens());
+        c.completionTokens.add(safe.completionTokens());
+        c.cachedTokens.add(safe.cachedTokens());
+        ModelUsageProperties.Price price = properties.pricing().get(modelId);
+        if (price != null) {
+            c.cost.add(price.cost(safe.promptTokens(), safe.completionTokens(), safe.cachedTokens()));
+        }
+    }
+
+    public List<UsageStats> snapshot() {
+        return counters.entrySet().stream()
+                .map(entry -> entry.getValue().stats(entry.getKey()))
+                .sorted(Comparator.comparing(UsageStats::modelId, String.CASE_INSENSITIVE_ORDER))
+                .toList();
+    }
+
+    public record UsageStats(
+            String modelId,
+            long requests,
+            long unreportedRequests,
+            long promptTokens,
+            long completionTokens,
+            long cachedTokens,
+            double cacheHitRatio,
+            double completionTokensPerSecond,
+            double estimatedCost) {
+    }
+
+    private static final class Counters {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder unreported = new LongAdder();
+        private final LongAdder promptTokens = new LongAdder();
+        private final LongAdder completionTokens = new LongAdder();
+        private final LongAdder cachedTokens = new LongAdder();
+        private final LongAdder latencyMs = new LongAdder();
+        private final DoubleAdder cost = new DoubleAdder();
+
+        UsageStats stats(String modelId) {
+            long prompt = promptTokens.sum();
+            long completion = completionTokens.sum();
+            long cached = cachedTokens.sum();
+            long latency = latencyMs.sum();
+            return new UsageStats(
+                    modelId,
+                    requests.sum(),
+                    unreported.sum(),
+                    prompt,
+                    completion,
+                    cached,
+                    prompt == 0 ? 0 : (double) cached / prompt,
+                    latency == 0 ? 0 : completion * 1000d / latency,
+                    cost.sum());
+        }
+    }
+}
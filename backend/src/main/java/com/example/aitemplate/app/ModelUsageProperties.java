@@ -0,0 +1,30 @@
+package com.example.aitemplate.app;
+
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Per-model token prices (per million tokens) used to turn recorded usage into an estimated cost.
+ * Cached prompt tokens are billed at {@code cachedPerMillion} instead of {@code promptPerMillion}.
+ */
+@ConfigurationProperties(prefix = "app.models.usage")
+public record ModelUsageProperties(Map<String, Price> pricing) {
+
+    public ModelUsageProperties {
+        pricing = pricing == null ? Map.of() : Map.copyOf(pricing);
+    }
+
+    public static ModelUsageProperties empty() {
+        return new ModelUsageProperties(Map.of());
+    }
+
+    public record Price(double promptPerMillion, double completionPerMillion, Double cachedPerMillion) {
+
+        double cost(int promptTokens, int completionTokens, int cachedTokens) {
+            double cachedRate = cachedPerMillion == null ? promptPerMillion : cachedPerMillion;
+            int uncached = Math.max(0, promptTokens - cachedTokens);
+            return (uncached * promptPerMillion + cachedTokens * cachedRate + completionTokens * completionPerMillion)
+                    / 1_000_000d;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.aitemplate.app;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Startup connection warm-up for enabled model adapters. {@code timeout} bounds the whole phase.
+ * {@code keepAliveInterval} optionally re-touches each provider so idle pooled connections are not
+ * closed; it is off (zero) unless configured, since every ping is a real request to the provider.
+ */
+@ConfigurationProperties(prefix = "app.models.warmup")
+public record ModelWarmupProperties(Boolean enabled, Duration timeout, Duration keepAliveInterval) {
+
+    public ModelWarmupProperties {
+        enabled = enabled == null || enabled;
+        timeout = timeout == null || timeout.isNegative() ? Duration.ofSeconds(5) : timeout;
+        keepAliveInterval = keepAliveInterval == null || keepAliveInterval.isNegative()
+                ? Duration.ZERO
+                : keepAliveInterval;
+    }
+
+    public static ModelWarmupProperties defaults() {
+        return new ModelWarmupProperties(null, null, null);
+    }
+}
@@ -4,38 +4,71 @@ import com.alibaba.cloud.ai.graph.skills.SkillMetadata;
 import com.alibaba.cloud.ai.graph.skills.registry.SkillRegistry;
 import com.example.aitemplate.core.skill.SkillProvider;
 import java.io.IOException;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 import org.springframework.ai.chat.prompt.SystemPromptTemplate;
 
+/**
+ * Immutable agent-side view over a set of selected skills. Instances are interned per provider
+ * list through {@link #of(List)}, so repeated requests with the same skill-version set share one
+ * registry instead of rebuilding metadata each time. Metadata carries no {@code fullContent}
+ * copy: the agent reads instructions through {@link #readSkillContent(String)}, which delegates
+ * to the provider and therefore to the shared lazy content cache.
+ */
 public class SaaInMemorySkillRegistry implements SkillRegistry {
 
+    private static final int MAX_INTERNED = 256;
+    private static final SystemPromptTemplate SYSTEM_PROMPT_TEMPLATE = new SystemPromptTemplate(
+            "Skill system is enabled. Use read_skill(skill_name) when you need skill instructions.");
+    private static final Map<List<SkillProvider>, SaaInMemorySkillRegistry> INTERNED =
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<List<SkillProvider>, SaaInMemorySkillRegistry> eldest) {
+                    return size() > MAX_INTERNED;
+                }
+            };
+
     private final Map<String, SkillProvider> providerMap;
+    private final Map<String, SkillMetadata> metadataByName;
     private final List<SkillMetadata> metadata;
-    private final SystemPromptTemplate systemPromptTemplate;
 
     public SaaInMemorySkillRegistry(List<SkillProvider> providers) {
-        this.providerMap = providers.stream()
-                .collect(Collectors.toUnmodifiableMap(SkillProvider::skillName, Function.identity(), (left, right) -> right));
-        this.metadata = providers.stream()
-                .map(provider -> SkillMetadata.builder()
-                        .name(provider.skillName())
-                        .description(provider.skillName() + "@" + provider.version())
-                        .skillPath("in-memory://" + provider.skillName())
-                        .source("in-memory")
-                        .fullContent(provider.content())
-                        .build())
-                .toList();
-        this.systemPromptTemplate = new SystemPromptTemplate(
-                "Skill system is enabled. Use read_skill(skill_name) when you need skill instructions.");
+        Map<String, SkillProvider> providersByName = new LinkedHashMap<>();
+        Map<String, SkillMetadata> metadataByName = new LinkedHashMap<>();
+        for (SkillProvider provider : providers) {
+            // Later providers win for a duplicate name, matching contains() and readSkillContent().
+            providersByName.remove(provider.skillName());
+            metadataByName.remove(provider.skillName());
+            providersByName.put(provider.skillName(), provider);
+            metadataByName.put(provider.skillName(), SkillMetadata.builder()
+                    .name(provider.skillName())
+                    .description(provider.skillName() + "@" + provider.version())
+                    .skillPath("in-memory://" + provider.skillName())
+                    .source("in-memory")
+                    .build());
+        }
+        this.providerMap = Map.copyOf(providersByName);
+        this.metadataByName = Map.copyOf(metadataByName);
+        this.metadata = List.copyOf(metadataByName.values());
+    }
+
+    /**
+     * Shared registry for {@code providers}. Providers compare by value (disk skills) or identity
+     * (builtin beans), so the same skill-version set maps to the same instance; the least recently
+     * used sets are dropped beyond {@value #MAX_INTERNED}.
+     */
+    public static SaaInMemorySkillRegistry of(List<SkillProvider> providers) {
+        List<SkillProvider> key = List.copyOf(providers);
+        synchronized (INTERNED) {
+            return INTERNED.computeIfAbsent(key, SaaInMemorySkillRegistry::new);
+        }
     }
 
     @Override
     public Optional<SkillMetadata> get(String name) {
-        return metadata.stream().filter(item -> item.getName().equals(name)).findFirst();
+        return Optional.ofNullable(metadataByName.get(name));
     }
 
     @Override
@@ -79,6 +112,6 @@ public class SaaInMemorySkillRegistry implements SkillRegistry {
 
     @Override
     public SystemPromptTemplate getSystemPromptTemplate() {
-        return systemPromptTemplate;
+        return SYSTEM_PROMPT_TEMPLATE;
     }
 }
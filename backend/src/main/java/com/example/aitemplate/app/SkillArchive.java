@@ -0,0 +1,359 @@
+package com.example.aitemplate.app;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Read-only view of a repository archive on disk: a zip (GitHub's zipball) or a tar, optionally
+ * gzip-compressed (tarball). The format is detected from the file's magic bytes.
+ *
+ * <p>Paths are repository-relative: when every file sits under one top-level directory, as in
+ * GitHub archives ({@code repo-<sha>/...}), that directory is stripped. Entries whose path is
+ * absolute or contains {@code ..} are ignored. Nothing is buffered in memory: zips are read
+ * through their central directory, tars by streaming over the file once per call.
+ */
+final class SkillArchive implements AutoCloseable {
+
+    private final Path file;
+    private final ZipFile zip;
+    /** Repository-relative path → size in bytes, in archive order. */
+    private final Map<String, Long> files;
+    private final String root;
+
+    /** Receives one selected file; the stream is only valid during the call. */
+    @FunctionalInterface
+    interface EntryVisitor {
+        void visit(String path, InputStream content) throws IOException;
+    }
+
+    private SkillArchive(Path file, ZipFile zip, Map<String, Long> rawFiles) {
+        this.file = file;
+        this.zip = zip;
+        this.root = commonRoot(rawFiles.keySet());
+        this.files = new LinkedHashMap<>();
+        rawFiles.forEach((path, size) -> files.put(path.substring(root.length()), size));
+    }
+
+    static SkillArchive open(Path file) throws IOException {
+        byte[] magic = new byte[2];
+        try (InputStream in = Files.newInputStream(file)) {
+            if (in.readNBytes(magic, 0, 2) < 2) {
+                throw new IOException("Not an archive: " + file);
+            }
+        }
+        if (magic[0] == 'P' && magic[1] == 'K') {
+            ZipFile zip = new ZipFile(file.toFile(), StandardCharsets.UTF_8);
+            try {
+                Map<String, Long> rawFiles = new LinkedHashMap<>();
+                for (Enumeration<? extends ZipEntry> entries = zip.entries(); entries.hasMoreElements(); ) {
+                    ZipEntry entry = entries.nextElement();
+                    if (!entry.isDirectory() && isSafe(entry.getName())) {
+                        rawFiles.put(entry.getName(), entry.getSize());
+                    }
+                }
+                return new SkillArchive(file, zip, rawFiles);
+            }
+            catch (RuntimeException ex) {
+                zip.close();
+                throw ex;
+            }
+        }
+        Map<String, Long> rawFiles = new LinkedHashMap<>();
+        readTar(file, (path, size) -> true, (path, content) -> { }, rawFiles);
+        return new SkillArchive(file, null, rawFiles);
+    }
+
+    /**
+     * Repository-relative file paths with the sizes the archive declares, in archive order. A zip
+     * entry's size comes from its header and may be wrong or {@code -1}; readers must not trust it.
+     */
+    Map<String, Long> files() {
+        return Collections.unmodifiableMap(files);
+    }
+
+    /** Streams every file in {@code selected} to {@code visitor}, in archive order. */
+    void extract(Set<String> selected, EntryVisitor visitor) throws IOException {
+        extract(selected, Long.MAX_VALUE, visitor);
+    }
+
+    /**
+     * Like {@link #extract(Set, EntryVisitor)}, but each stream fails with
+     * {@link SkillAssetDownloader.AssetTooLargeException} once more than {@code maxBytes} have been
+     * read from it, whatever size the entry header declared.
+     */
+    void extract(Set<String> selected, long maxBytes, EntryVisitor visitor) throws IOException {
+        if (selected.isEmpty()) {
+            return;
+        }
+        if (zip != null) {
+            for (String path : files.keySet()) {
+                if (selected.contains(path)) {
+                    try (InputStream in = zip.getInputStream(zip.getEntry(root + path))) {
+                        visitor.visit(path, new CappedInputStream(in, maxBytes));
+                    }
+                }
+            }
+            return;
+        }
+        readTar(file, (path, size) -> path.startsWith(root) && selected.contains(path.substring(root.length())),
+                (path, content) -> visitor.visit(path.substring(root.length()), new CappedInputStream(content, maxBytes)),
+                null);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (zip != null) {
+            zip.close();
+        }
+    }
+
+    private interface TarFilter {
+        boolean accept(String path, long size);
+    }
+
+    /**
+     * One pass over a (gzipped) tar. Understands ustar name prefixes, pax {@code path} records and
+     * GNU long names; everything but regular files is skipped. Accepted files go to {@code visitor}
+     * and, when {@code listing} is given, are recorded there with their size.
+     */
+    private static void readTar(Path file, TarFilter filter, EntryVisitor visitor, Map<String, Long> listing)
+            throws IOException {
+        try (InputStream raw = new BufferedInputStream(Files.newInputStream(file), 64 * 1024)) {
+            raw.mark(2);
+            boolean gzip = raw.read() == 0x1f && raw.read() == 0x8b;
+            raw.reset();
+            InputStream in = gzip ? new BufferedInputStream(new GZIPInputStream(raw, 64 * 1024), 64 * 1024) : raw;
+            byte[] header = new byte[512];
+            String longName = null;
+            while (true) {
+                if (in.readNBytes(header, 0, 512) < 512) {
+                    throw new EOFException("Truncated tar archive: " + file);
+                }
+                if (header[0] == 0) {
+                    return;
+                }
+                if (!new String(header, 257, 5, StandardCharsets.US_ASCII).equals("ustar")) {
+                    throw new IOException("Unsupported archive format: " + file);
+                }
+                long size = parseOctal(header, 124, 12);
+                char type = (char) header[156];
+                String name = longName != null ? longName : ustarName(header);
+                longName = null;
+                if (type == 'x' || type == 'L') {
+                    String value = new String(readExactly(in, size), StandardCharsets.UTF_8);
+                    longName = type == 'L' ? trimNul(value) : paxPath(value);
+                }
+                else if ((type == '0' || type == 0) && isSafe(name) && filter.accept(name, size)) {
+                    if (listing != null) {
+                        listing.put(name, size);
+                    }
+                    BoundedInputStream content = new BoundedInputStream(in, size);
+                    visitor.visit(name, content);
+                    content.skipRemaining();
+                }
+                else {
+                    in.skipNBytes(size);
+                }
+                in.skipNBytes((512 - size % 512) % 512);
+            }
+        }
+    }
+
+    private static String ustarName(byte[] header) {
+        String name = cString(header, 0, 100);
+        String prefix = cString(header, 345, 155);
+        return prefix.isEmpty() ? name : prefix + "/" + name;
+    }
+
+    /** The {@code path} keyword of a pax extended header ({@code "<len> path=<value>\n"} records). */
+    private static String paxPath(String records) {
+        for (String record : records.split("\n")) {
+            int space = record.indexOf(' ');
+            if (space > 0 && record.startsWith("path=", space + 1)) {
+                return record.substring(space + 1 + "path=".length());
+            }
+        }
+        return null;
+    }
+
+    private static long parseOctal(byte[] header, int offset, int length) throws IOException {
+        if ((header[offset] & 0x80) != 0) {
+            throw new IOException("Tar entries over 8 GiB are not supported");
+        }
+        String digits = cString(header, offset, length).trim();
+        return digits.isEmpty() ? 0 : Long.parseLong(digits, 8);
+    }
+
+    private static String cString(byte[] bytes, int offset, int length) {
+        int end = offset;
+        while (end < offset + length && bytes[end] != 0) {
+            end++;
+        }
+        return new String(bytes, offset, end - offset, StandardCharsets.UTF_8);
+    }
+
+    private static String trimNul(String value) {
+        int nul = value.indexOf('\0');
+        return nul < 0 ? value : value.substring(0, nul);
+    }
+
+    private static byte[] readExactly(InputStream in, long size) throws IOException {
+        if (size > 1024 * 1024) {
+            throw new IOException("Tar extended header too large: " + size);
+        }
+        byte[] bytes = in.readNBytes((int) size);
+        if (bytes.length < size) {
+            throw new EOFException("Truncated tar archive");
+        }
+        return bytes;
+    }
+
+    private static boolean isSafe(String path) {
+        if (path.isEmpty() || path.startsWith("/") || path.contains("\\") || path.contains(":")) {
+            return false;
+        }
+        for (String segment : path.split("/")) {
+            if (segment.equals("..")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** {@code "dir/"} when every path starts with that single top-level directory, otherwise {@code ""}. */
+    private static String commonRoot(Set<String> paths) {
+        String root = null;
+        for (String path : paths) {
+            int slash = path.indexOf('/');
+            if (slash < 0) {
+                return "";
+            }
+            String first = path.substring(0, slash + 1);
+            if (root == null) {
+                root = first;
+            }
+            else if (!root.equals(first)) {
+                return "";
+            }
+        }
+        return root == null ? "" : root;
+    }
+
+    /** Counts the bytes read and fails once they pass {@code maxBytes}. */
+    private static final class CappedInputStream extends FilterInputStream {
+        private final long maxBytes;
+        private long read;
+
+        CappedInputStream(InputStream in, long maxBytes) {
+            super(in);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = in.read(buffer, offset, length);
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = in.skip(n);
+            count(skipped);
+            return skipped;
+        }
+
+        private void count(long bytes) throws IOException {
+            read += bytes;
+            if (read > maxBytes) {
+                throw new SkillAssetDownloader.AssetTooLargeException(read, maxBytes);
+            }
+        }
+    }
+
+    /** View of the next {@code remaining} bytes of a tar stream; closing it does not close the archive. */
+    private static final class BoundedInputStream extends FilterInputStream {
+        private long remaining;
+
+        BoundedInputStream(InputStream in, long size) {
+            super(in);
+            this.remaining = size;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = in.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = in.read(buffer, offset, (int) Math.min(length, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = in.skip(Math.min(n, remaining));
+            remaining -= skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(in.available(), remaining);
+        }
+
+        @Override
+        public void close() {
+            // The archive stream stays open for the next entry.
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        void skipRemaining() throws IOException {
+            in.skipNBytes(remaining);
+            remaining = 0;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.example.aitemplate.app;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded-parallel HTTP downloads for skill imports, built on {@link HttpClient#sendAsync}.
+ *
+ * <p>{@link #fetchToFile} blocks the submitting thread only while the global or per-host limit is
+ * saturated, then returns a future. A permit is held from the first attempt until the last retry
+ * finishes, so retries never exceed the limits. Retries wait {@code retryBackoff * 2^(n-1)} plus up
+ * to 25% jitter, or the server's {@code Retry-After} seconds when a 429/503 carries one.
+ *
+ * <p>Bodies are streamed to a file and digested on the way, so memory use does not depend on the
+ * size of the asset. A body larger than the cap (by {@code Content-Length}, or once that many bytes
+ * have arrived) is abandoned and not retried.
+ *
+ * <p>Progress is counted across the downloader's lifetime; create one per import.
+ */
+final class SkillAssetDownloader {
+
+    private static final Logger log = LoggerFactory.getLogger(SkillAssetDownloader.class);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(20);
+    private static final int PROGRESS_LOG_EVERY = 50;
+
+    private final HttpClient httpClient;
+    private final SkillImportProperties properties;
+    private final Semaphore globalPermits;
+    private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+    private final AtomicInteger requested = new AtomicInteger();
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicInteger retries = new AtomicInteger();
+    private final AtomicLong bytes = new AtomicLong();
+
+    SkillAssetDownloader(HttpClient httpClient, SkillImportProperties properties) {
+        this.httpClient = httpClient;
+        this.properties = properties;
+        this.globalPermits = new Semaphore(properties.downloadConcurrency());
+    }
+
+    /**
+     * Streams the body of {@code uri} into {@code file}, which each attempt overwrites, updating a
+     * fresh {@code digest} per attempt. Fails with an {@link IOException} once all attempts are used
+     * up or the body exceeds {@code maxBytes}; the caller owns (and deletes) {@code file} either way.
+     */
+    CompletableFuture<FileDownload> fetchToFile(URI uri, Path file, long maxBytes, Supplier<MessageDigest> digest)
+            throws InterruptedException {
+        Semaphore host = hostPermits.computeIfAbsent(
+                String.valueOf(uri.getHost()).toLowerCase(Locale.ROOT), h -> new Semaphore(properties.perHostConcurrency()));
+        // Host first: waiting on a busy host must not hold a global permit another host could use.
+        host.acquire();
+        try {
+            globalPermits.acquire();
+        }
+        catch (InterruptedException ex) {
+            host.release();
+            throw ex;
+        }
+        requested.incrementAndGet();
+        HttpResponse.BodyHandler<FileDownload> handler = info -> info.statusCode() >= 400
+                ? HttpResponse.BodySubscribers.replacing(null)
+                : new CappedFileSubscriber(file, info.headers().firstValueAsLong("Content-Length").orElse(-1),
+                        maxBytes, digest.get());
+        return attempt(uri, 1, handler).whenComplete((download, error) -> {
+            globalPermits.release();
+            host.release();
+            if (error == null) {
+                completed.incrementAndGet();
+                bytes.addAndGet(download.bytes());
+            }
+            else {
+                failed.incrementAndGet();
+            }
+            Progress progress = progress();
+            if ((progress.completed() + progress.failed()) % PROGRESS_LOG_EVERY == 0) {
+                log.info("[Import] Asset downloads: {}/{} done, {} failed, {} retries, {} bytes",
+                        progress.completed() + progress.failed(), progress.requested(),
+                        progress.failed(), progress.retries(), progress.bytes());
+            }
+        });
+    }
+
+    Progress progress() {
+        return new Progress(requested.get(), completed.get(), failed.get(), retries.get(), bytes.get());
+    }
+
+    private CompletableFuture<FileDownload> attempt(URI uri, int attempt, HttpResponse.BodyHandler<FileDownload> handler) {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(uri)
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "*/*")
+                .GET()
+                .build();
+        return httpClient.sendAsync(request, handler)
+                .handle((response, error) -> {
+                    if (error == null && response.statusCode() < 400) {
+                        return CompletableFuture.completedFuture(response.body());
+                    }
+                    if (error != null && unwrap(error) instanceof AssetTooLargeException tooLarge) {
+                        return CompletableFuture.<FileDownload>failedFuture(tooLarge);
+                    }
+                    boolean retryable = error != null || response.statusCode() == 429 || response.statusCode() >= 500;
+                    String cause = error != null ? unwrap(error).toString() : "HTTP " + response.statusCode();
+                    if (!retryable || attempt >= properties.maxAttempts()) {
+                        IOException failure = new IOException("download failed after " + attempt + " attempt(s): " + cause);
+                        return CompletableFuture.<FileDownload>failedFuture(failure);
+                    }
+                    long delayMs = retryDelayMs(response, attempt);
+                    retries.incrementAndGet();
+                    log.debug("[Import] Retrying {} in {}ms (attempt {}/{}): {}",
+                            uri, delayMs, attempt + 1, properties.maxAttempts(), cause);
+                    return CompletableFuture.supplyAsync(() -> uri,
+                                    CompletableFuture.delayedExecutor(delayMs, TimeUnit.MILLISECONDS))
+                            .thenCompose(u -> attempt(u, attempt + 1, handler));
+                })
+                .thenCompose(next -> next);
+    }
+
+    private long retryDelayMs(HttpResponse<FileDownload> response, int attempt) {
+        if (response != null) {
+            String retryAfter = response.headers().firstValue("Retry-After").orElse("");
+            if (retryAfter.matches("\\d{1,4}")) {
+                return TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter));
+            }
+        }
+        long backoff = properties.retryBackoff().toMillis() << Math.min(attempt - 1, 16);
+        return backoff + ThreadLocalRandom.current().nextLong(backoff / 4 + 1);
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    record Progress(int requested, int completed, int failed, int retries, long bytes) {
+    }
+
+    /** A body streamed to {@code file}: its length and hex digest. */
+    record FileDownload(Path file, long bytes, String digest) {
+    }
+
+    static final class AssetTooLargeException extends IOException {
+        AssetTooLargeException(long bytes, long maxBytes) {
+            super("asset exceeds " + maxBytes + " bytes (got " + bytes + ")");
+        }
+    }
+
+    /**
+     * Writes the body through {@link HttpResponse.BodySubscribers#ofFile}, counting and digesting
+     * each buffer before handing it on; cancels the exchange as soon as the cap is exceeded. The file
+     * is truncated first, so a retry into the same file leaves no bytes of an earlier attempt behind,
+     * and its final size must match the byte count.
+     */
+    private static final class CappedFileSubscriber implements HttpResponse.BodySubscriber<FileDownload> {
+        private final HttpResponse.BodySubscriber<Path> file;
+        private final long declaredBytes;
+        private final long maxBytes;
+        private final MessageDigest digest;
+        private final CompletableFuture<FileDownload> result = new CompletableFuture<>();
+        private Flow.Subscription subscription;
+        private long received;
+
+        CappedFileSubscriber(Path file, long declaredBytes, long maxBytes, MessageDigest digest) {
+            this.file = HttpResponse.BodySubscribers.ofFile(
+                    file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            this.declaredBytes = declaredBytes;
+            this.maxBytes = maxBytes;
+            this.digest = digest;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            file.onSubscribe(subscription);
+            file.getBody().whenComplete((path, error) -> {
+                if (error != null) {
+                    result.completeExceptionally(error);
+                    return;
+                }
+                try {
+                    long written = Files.size(path);
+                    if (written != received) {
+                        throw new IOException("wrote " + written + " bytes to " + path + ", received " + received);
+                    }
+                    result.complete(new FileDownload(path, received, HexFormat.of().formatHex(digest.digest())));
+                }
+                catch (IOException ex) {
+                    result.completeExceptionally(ex);
+                }
+            });
+            if (declaredBytes > maxBytes) {
+                abort(declaredBytes);
+            }
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> items) {
+            if (result.isDone()) {
+                return;
+            }
+            for (ByteBuffer item : items) {
+                received += item.remaining();
+                digest.update(item.duplicate());
+            }
+            if (received > maxBytes) {
+                abort(received);
+                return;
+            }
+            file.onNext(items);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            file.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            file.onComplete();
+        }
+
+        @Override
+        public CompletableFuture<FileDownload> getBody() {
+            return result;
+        }
+
+        private void abort(long bytes) {
+            AssetTooLargeException tooLarge = new AssetTooLargeException(bytes, maxBytes);
+            result.completeExceptionally(tooLarge);
+            subscription.cancel();
+            // Closes the file channel.
+            file.onError(tooLarge);
+        }
+    }
+}
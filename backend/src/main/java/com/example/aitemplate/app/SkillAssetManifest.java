@@ -0,0 +1,108 @@
+package com.example.aitemplate.app;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Git blob SHAs of the assets a raw import installed into one skill version directory, kept in
+ * {@value #FILE_NAME} next to them. A re-sync trusts a recorded SHA as long as the file's size and
+ * mtime are still the recorded ones, so an unchanged asset costs a stat instead of a full read.
+ * Files installed before the manifest existed are hashed once and then recorded.
+ *
+ * <p>One line per asset: SHA, size, mtime in milliseconds and the path relative to the directory,
+ * separated by tabs.
+ */
+final class SkillAssetManifest {
+
+    static final String FILE_NAME = ".import-blobs";
+
+    private final Path dir;
+    private final Map<String, Installed> entries;
+
+    private record Installed(String sha, long size, long mtimeMillis) {
+    }
+
+    private SkillAssetManifest(Path dir, Map<String, Installed> entries) {
+        this.dir = dir;
+        this.entries = entries;
+    }
+
+    /** The manifest of {@code dir}; empty if there is none or it cannot be read. */
+    static SkillAssetManifest load(Path dir) {
+        Map<String, Installed> entries = new LinkedHashMap<>();
+        try {
+            for (String line : Files.readAllLines(dir.resolve(FILE_NAME), StandardCharsets.UTF_8)) {
+                String[] fields = line.split("\t", 4);
+                if (fields.length == 4) {
+                    entries.put(fields[3], new Installed(fields[0], Long.parseLong(fields[1]), Long.parseLong(fields[2])));
+                }
+            }
+        }
+        catch (NoSuchFileException ex) {
+            // Nothing installed yet, or installed before manifests were kept.
+        }
+        catch (IOException | NumberFormatException ex) {
+            entries.clear();
+        }
+        return new SkillAssetManifest(dir, entries);
+    }
+
+    /** True if {@code file}, installed as {@code relativePath}, already holds the blob {@code sha} of {@code size} bytes. */
+    boolean holds(String relativePath, Path file, String sha, long size) throws IOException {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        }
+        catch (NoSuchFileException ex) {
+            return false;
+        }
+        Installed installed = entries.get(relativePath);
+        if (installed != null) {
+            return installed.sha().equals(sha) && installed.size() == size && attributes.size() == size
+                    && attributes.lastModifiedTime().toMillis() == installed.mtimeMillis();
+        }
+        if (attributes.size() == size && SkillImportCache.gitBlobSha(file).equals(sha)) {
+            record(relativePath, file, sha);
+            return true;
+        }
+        return false;
+    }
+
+    /** Records that {@code file}, installed as {@code relativePath}, now holds the blob {@code sha}. */
+    void record(String relativePath, Path file, String sha) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        entries.put(relativePath, new Installed(sha, attributes.size(), attributes.lastModifiedTime().toMillis()));
+    }
+
+    /** Forgets every asset not in {@code relativePaths}. */
+    void retainAll(Set<String> relativePaths) {
+        entries.keySet().retainAll(relativePaths);
+    }
+
+    /** Saves the manifest, or removes it when no asset is recorded. */
+    void write() throws IOException {
+        if (entries.isEmpty()) {
+            Files.deleteIfExists(dir.resolve(FILE_NAME));
+            return;
+        }
+        StringBuilder content = new StringBuilder();
+        entries.forEach((path, installed) -> content.append(installed.sha()).append('\t').append(installed.size())
+                .append('\t').append(installed.mtimeMillis()).append('\t').append(path).append('\n'));
+        Files.createDirectories(dir);
+        Path temp = Files.createTempFile(dir, FILE_NAME, ".tmp");
+        try {
+            Files.writeString(temp, content, StandardCharsets.UTF_8);
+            SkillImportCache.moveIntoPlace(temp, dir.resolve(FILE_NAME));
+        }
+        finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.aitemplate.app;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * SKILL.md contents read on demand and kept in an LRU bounded by total UTF-8 bytes rather than
+ * entry count, so a few huge documents cannot pin the heap. Files at or above
+ * {@code mmapThresholdBytes} are decoded straight from a read-only mapping instead of being
+ * copied into an intermediate byte array first. Documents larger than the whole budget are
+ * served but never cached.
+ *
+ * <p>Misses read the file outside the lock. Every {@code put} and {@code invalidate} advances a
+ * generation counter, and a read stores its result only if the counter has not moved since the
+ * miss, so a slow read can never replace content that was written or invalidated meanwhile.
+ */
+final class SkillContentCache {
+
+    private final long maxBytes;
+    private final long mmapThresholdBytes;
+    private final LinkedHashMap<Path, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedBytes;
+    private long generation;
+
+    SkillContentCache(long maxBytes, long mmapThresholdBytes) {
+        this.maxBytes = Math.max(0, maxBytes);
+        this.mmapThresholdBytes = mmapThresholdBytes <= 0 ? Long.MAX_VALUE : mmapThresholdBytes;
+    }
+
+    String get(Path path) {
+        long readGeneration;
+        synchronized (this) {
+            Entry cached = entries.get(path);
+            if (cached != null) {
+                return cached.content();
+            }
+            readGeneration = generation;
+        }
+        // Read outside the lock; a concurrent miss on the same file just reads it twice.
+        long size;
+        String content;
+        try {
+            size = Files.size(path);
+            content = size >= mmapThresholdBytes ? readMapped(path, size) : Files.readString(path, StandardCharsets.UTF_8);
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException("Failed to read skill content: " + path, ex);
+        }
+        synchronized (this) {
+            if (generation == readGeneration) {
+                put(path, content, size);
+            }
+        }
+        return content;
+    }
+
+    /** Seeds the cache with content that was just written, so the next read does not hit disk. */
+    void put(Path path, String content) {
+        put(path, content, content.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    synchronized void invalidate(Path path) {
+        generation++;
+        Entry removed = entries.remove(path);
+        if (removed != null) {
+            cachedBytes -= removed.bytes();
+        }
+    }
+
+    synchronized long cachedBytes() {
+        return cachedBytes;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized void put(Path path, String content, long bytes) {
+        invalidate(path);
+        if (bytes > maxBytes) {
+            return;
+        }
+        entries.put(path, new Entry(content, bytes));
+        cachedBytes += bytes;
+        Iterator<Map.Entry<Path, Entry>> eldest = entries.entrySet().iterator();
+        while (cachedBytes > maxBytes && eldest.hasNext()) {
+            cachedBytes -= eldest.next().getValue().bytes();
+            eldest.remove();
+        }
+    }
+
+    private static String readMapped(Path path, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return StandardCharsets.UTF_8.decode(buffer).toString();
+        }
+    }
+
+    private record Entry(String content, long bytes) {
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.aitemplate.app;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Watches the local skill directory tree and feeds changed paths into
+ * {@link SkillRegistry#applyDiskChanges}, so skills dropped in or edited by ops tooling go live
+ * without a restart.
+ *
+ * <p>Events are coalesced into a set of paths and applied once the tree has been quiet for
+ * {@code debounce} (at most {@code maxDelay} after the first event), so a rollout of many files
+ * becomes one batch. Only an {@code OVERFLOW} from the OS falls back to rescanning the root.
+ */
+@Component
+public class SkillDirectoryWatcher implements ApplicationRunner, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(SkillDirectoryWatcher.class);
+
+    private final SkillRegistry skillRegistry;
+    private final SkillWatchProperties properties;
+    private final Map<WatchKey, Path> watchedDirs = new ConcurrentHashMap<>();
+    private volatile WatchService watchService;
+    private volatile Thread thread;
+
+    public SkillDirectoryWatcher(SkillRegistry skillRegistry, SkillWatchProperties properties) {
+        this.skillRegistry = skillRegistry;
+        this.properties = properties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (properties.enabled()) {
+            start();
+        }
+    }
+
+    public synchronized void start() throws IOException {
+        if (thread != null) {
+            return;
+        }
+        Path root = skillRegistry.localSkillRoot();
+        Files.createDirectories(root);
+        watchService = FileSystems.getDefault().newWatchService();
+        registerTree(root);
+        thread = new Thread(this::loop, "skill-dir-watcher");
+        thread.setDaemon(true);
+        thread.start();
+        log.info("[Skill] Watching {} ({} director(ies), debounce={}ms)",
+                root, watchedDirs.size(), properties.debounce().toMillis());
+    }
+
+    @Override
+    public synchronized void destroy() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+    }
+
+    private void loop() {
+        long debounceNanos = properties.debounce().toNanos();
+        long maxDelayNanos = properties.maxDelay().toNanos();
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = watchService.take();
+                long first = System.nanoTime();
+                Set<Path> changed = new LinkedHashSet<>();
+                drain(key, changed);
+                while (true) {
+                    long remaining = maxDelayNanos - (System.nanoTime() - first);
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    WatchKey next = watchService.poll(Math.min(debounceNanos, remaining), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    drain(next, changed);
+                }
+                apply(changed);
+            }
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        catch (ClosedWatchServiceException ex) {
+            // Shutting down.
+        }
+    }
+
+    private void drain(WatchKey key, Set<Path> changed) {
+        Path dir = watchedDirs.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                log.warn("[Skill] Watch events overflowed, rescanning {}", skillRegistry.localSkillRoot());
+                changed.add(skillRegistry.localSkillRoot());
+                continue;
+            }
+            if (dir == null) {
+                continue;
+            }
+            Path child = dir.resolve((Path) event.context());
+            changed.add(child);
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(child)) {
+                try {
+                    registerTree(child);
+                }
+                catch (IOException ex) {
+                    log.warn("[Skill] Cannot watch new directory {}: {}", child, ex.getMessage());
+                }
+            }
+        }
+        if (!key.reset()) {
+            watchedDirs.remove(key);
+        }
+    }
+
+    private void apply(Set<Path> changed) {
+        if (changed.isEmpty()) {
+            return;
+        }
+        try {
+            skillRegistry.applyDiskChanges(changed);
+        }
+        catch (RuntimeException ex) {
+            log.warn("[Skill] Failed to apply {} changed path(s): {}", changed.size(), ex.getMessage());
+        }
+    }
+
+    /**
+     * Registers {@code dir} before listing it, then recurses: a subdirectory created after the
+     * listing raises an event on the now-watched parent, one created before it is in the listing.
+     * Walking first and registering afterwards would miss directories moved in between.
+     */
+    private void registerTree(Path dir) throws IOException {
+        WatchKey key = dir.register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_DELETE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+        watchedDirs.put(key, dir);
+        List<Path> children;
+        try (var stream = Files.list(dir)) {
+            children = stream.filter(Files::isDirectory).toList();
+        }
+        for (Path child : children) {
+            registerTree(child);
+        }
+    }
+}
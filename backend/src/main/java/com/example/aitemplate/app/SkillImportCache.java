@@ -0,0 +1,262 @@
+package com.example.aitemplate.app;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * On-disk cache for skill source imports, shared by every import of every source:
+ * <ul>
+ *   <li>{@code blobs/ab/abcdef…}: file contents keyed by git blob SHA-1, as listed in the GitHub
+ *       tree response. A blob is stored only if its bytes hash to that SHA, so a hit can be used
+ *       without further checks.</li>
+ *   <li>{@code responses/<sha256(url)>}: the last ETag and body of a GitHub API response, replayed
+ *       when a conditional request comes back {@code 304 Not Modified}.</li>
+ * </ul>
+ * Entries are written to a temp file and moved into place, so concurrent imports never observe a
+ * partial file. Downloads stream into {@link #newTempFile()} (on the same file system as the blobs)
+ * and are committed with {@link #commitBlob} once their digest matched.
+ *
+ * <p>Hits refresh an entry's modification time, which serves as its last-access time (atime is
+ * often disabled). {@link #evict} drops the least recently used entries beyond a byte budget, but
+ * never one used since a given time, so an import still copying a blob it got from {@link #blob}
+ * does not lose it. A blob hit and an eviction's final check-and-delete of that blob are
+ * serialized, so a hit either refreshes the blob in time or misses it.
+ */
+final class SkillImportCache {
+
+    /** Temp files older than this were left behind by an interrupted download. */
+    private static final Duration STALE_TEMP_AGE = Duration.ofHours(1);
+
+    private final Path blobRoot;
+    private final Path responseRoot;
+    private final Path tempRoot;
+
+    record CachedResponse(String etag, String body) {
+    }
+
+    SkillImportCache(Path root) {
+        Path normalized = root.toAbsolutePath().normalize();
+        this.blobRoot = normalized.resolve("blobs");
+        this.responseRoot = normalized.resolve("responses");
+        this.tempRoot = normalized.resolve("tmp");
+    }
+
+    /** The cached file for {@code sha}, if present. */
+    Optional<Path> blob(String sha) {
+        if (!isSha(sha)) {
+            return Optional.empty();
+        }
+        Path path = blobPath(sha);
+        synchronized (this) {
+            if (!Files.isRegularFile(path)) {
+                return Optional.empty();
+            }
+            touch(path);
+        }
+        return Optional.of(path);
+    }
+
+    /** An empty file to download into; the caller commits or deletes it. */
+    Path newTempFile() throws IOException {
+        Files.createDirectories(tempRoot);
+        return Files.createTempFile(tempRoot, "blob-", ".tmp");
+    }
+
+    /** Moves {@code verified}, whose content the caller has checked against {@code sha}, into the cache. */
+    Path commitBlob(String sha, Path verified) throws IOException {
+        Path target = blobPath(sha);
+        Files.createDirectories(target.getParent());
+        moveIntoPlace(verified, target);
+        return target;
+    }
+
+    Optional<CachedResponse> response(String url) throws IOException {
+        try {
+            Path path = responsePath(url);
+            String stored = Files.readString(path, StandardCharsets.UTF_8);
+            touch(path);
+            int newline = stored.indexOf('\n');
+            return newline < 0 ? Optional.empty() : Optional.of(new CachedResponse(stored.substring(0, newline), stored.substring(newline + 1)));
+        }
+        catch (NoSuchFileException ex) {
+            return Optional.empty();
+        }
+    }
+
+    void storeResponse(String url, String etag, String body) throws IOException {
+        write(responsePath(url), (etag + "\n" + body).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** {@link #evict(long, FileTime)} with no entry protected. */
+    long evict(long maxBytes) throws IOException {
+        return evict(maxBytes, FileTime.fromMillis(Long.MAX_VALUE));
+    }
+
+    /**
+     * Deletes blobs and responses, least recently used first, until the cache holds at most
+     * {@code maxBytes}, and removes stale temp files. Entries used at or after {@code keepUsedSince}
+     * are kept even if that leaves the cache over budget. Returns the number of bytes freed.
+     */
+    long evict(long maxBytes, FileTime keepUsedSince) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        collect(blobRoot, entries);
+        collect(responseRoot, entries);
+        entries.sort(Comparator.comparing(Entry::lastAccess));
+        long total = entries.stream().mapToLong(Entry::size).sum();
+        long freed = 0;
+        for (Entry entry : entries) {
+            if (total <= maxBytes || entry.lastAccess().compareTo(keepUsedSince) >= 0) {
+                break;
+            }
+            if (deleteIfUnusedSince(entry.path(), keepUsedSince)) {
+                freed += entry.size();
+            }
+            total -= entry.size();
+        }
+        List<Entry> temps = new ArrayList<>();
+        collect(tempRoot, temps);
+        FileTime staleBefore = FileTime.fromMillis(System.currentTimeMillis() - STALE_TEMP_AGE.toMillis());
+        for (Entry temp : temps) {
+            if (temp.lastAccess().compareTo(staleBefore) < 0 && Files.deleteIfExists(temp.path())) {
+                freed += temp.size();
+            }
+        }
+        return freed;
+    }
+
+    /** Deletes {@code path} unless it was used since {@code keepUsedSince}, re-checked under the hit lock. */
+    private synchronized boolean deleteIfUnusedSince(Path path, FileTime keepUsedSince) throws IOException {
+        try {
+            if (Files.getLastModifiedTime(path).compareTo(keepUsedSince) >= 0) {
+                return false;
+            }
+            return Files.deleteIfExists(path);
+        }
+        catch (NoSuchFileException ex) {
+            return false;
+        }
+    }
+
+    /** True if {@code file} exists and already holds the blob {@code sha} of {@code size} bytes. */
+    static boolean holdsBlob(Path file, String sha, long size) throws IOException {
+        try {
+            return Files.size(file) == size && gitBlobSha(file).equals(sha);
+        }
+        catch (NoSuchFileException ex) {
+            return false;
+        }
+    }
+
+    /** Git's object id for a file, streamed: SHA-1 over {@code "blob <size>\0"} followed by the content. */
+    static String gitBlobSha(Path file) throws IOException {
+        MessageDigest sha1 = gitBlobDigest(Files.size(file));
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(file)) {
+            for (int read; (read = in.read(buffer)) > 0; ) {
+                sha1.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(sha1.digest());
+    }
+
+    /** A SHA-1 digest already fed git's blob header, ready for {@code size} bytes of content. */
+    static MessageDigest gitBlobDigest(long size) {
+        MessageDigest sha1 = digest("SHA-1");
+        sha1.update(("blob " + size + "\0").getBytes(StandardCharsets.US_ASCII));
+        return sha1;
+    }
+
+    /** Replaces {@code target} with {@code source} atomically where the file system allows it. */
+    static void moveIntoPlace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (AtomicMoveNotSupportedException ex) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private Path blobPath(String sha) {
+        if (!isSha(sha)) {
+            throw new IllegalArgumentException("Invalid blob sha: " + sha);
+        }
+        return blobRoot.resolve(sha.substring(0, 2)).resolve(sha);
+    }
+
+    private static boolean isSha(String sha) {
+        return sha != null && sha.matches("[0-9a-f]{40}");
+    }
+
+    private Path responsePath(String url) {
+        return responseRoot.resolve(HexFormat.of().formatHex(digest("SHA-256").digest(url.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private static void collect(Path root, List<Entry> entries) throws IOException {
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                try {
+                    BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                    if (attributes.isRegularFile()) {
+                        entries.add(new Entry(file, attributes.size(), attributes.lastModifiedTime()));
+                    }
+                }
+                catch (NoSuchFileException ex) {
+                    // Removed by a concurrent import while walking.
+                }
+            }
+        }
+    }
+
+    private static void touch(Path path) {
+        try {
+            Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+        }
+        catch (IOException ex) {
+            // Only affects eviction order.
+        }
+    }
+
+    private static void write(Path target, byte[] content) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, content);
+            moveIntoPlace(temp, target);
+        }
+        finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private record Entry(Path path, long size, FileTime lastAccess) {
+    }
+
+    private static MessageDigest digest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        }
+        catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(algorithm + " not available", ex);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.aitemplate.app;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Asset downloads during skill source imports. At most {@code downloadConcurrency} requests are in
+ * flight, and at most {@code perHostConcurrency} of them to one host. Failed requests (I/O errors,
+ * 429 and 5xx) are attempted up to {@code maxAttempts} times, waiting {@code retryBackoff} before
+ * the first retry and doubling it after each. With {@code archive} the repository is fetched as a
+ * single zip instead of one raw request per file. Raw imports keep downloaded files (by blob SHA)
+ * and GitHub API ETags under {@code cacheDir}, so re-importing an unchanged source fetches nothing;
+ * after each import the least recently used entries are evicted down to {@code cacheMaxBytes}.
+ * Assets are streamed to disk; any larger than {@code maxAssetBytes} are skipped. Local archives
+ * can be imported only from inside {@code localDir}; without it, local paths are rejected.
+ */
+@ConfigurationProperties(prefix = "app.skills.import")
+public record SkillImportProperties(
+        Integer downloadConcurrency, Integer perHostConcurrency, Integer maxAttempts, Duration retryBackoff,
+        Boolean archive, String cacheDir, Long cacheMaxBytes, Long maxAssetBytes, String localDir) {
+
+    public SkillImportProperties {
+        downloadConcurrency = downloadConcurrency == null || downloadConcurrency < 1 ? 16 : downloadConcurrency;
+        perHostConcurrency = perHostConcurrency == null || perHostConcurrency < 1 ? 8 : perHostConcurrency;
+        maxAttempts = maxAttempts == null || maxAttempts < 1 ? 3 : maxAttempts;
+        retryBackoff = retryBackoff == null || retryBackoff.isNegative() ? Duration.ofMillis(500) : retryBackoff;
+        archive = archive != null && archive;
+        cacheDir = cacheDir == null || cacheDir.isBlank() ? "skills/import-cache" : cacheDir;
+        cacheMaxBytes = cacheMaxBytes == null || cacheMaxBytes < 0 ? 1024L * 1024 * 1024 : cacheMaxBytes;
+        maxAssetBytes = maxAssetBytes == null || maxAssetBytes < 1 ? 256L * 1024 * 1024 : maxAssetBytes;
+        localDir = localDir == null || localDir.isBlank() ? null : localDir;
+    }
+
+    public static SkillImportProperties defaults() {
+        return new SkillImportProperties(null, null, null, null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,251 @@
+package com.example.aitemplate.app;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Binary snapshot of the dynamic skill catalog, stored at {@code <skills root>/.index/skills.bin}.
+ *
+ * <p>It records every skill's name, version, directory, SKILL.md hash and the mtimes of its meta
+ * and content files and script location, plus the mtime and number of children of every directory
+ * in the tree. On start the file is memory-mapped and trusted only if its checksum is intact and the
+ * directory mtimes and child counts and the meta-file mtimes still match. Adding, removing or
+ * renaming anything changes a directory mtime, and adding or removing also changes a child count
+ * even where a coarse mtime did not tick; meta edits change the meta mtime. A stale index is thus
+ * detected with stat and directory-listing calls alone, without parsing JSON or reading SKILL.md.
+ * The index lives in its own subdirectory so rewriting it does not touch the root's mtime.
+ *
+ * <p>Layout (big-endian): magic, format version, root path, entry count, entries, directory count,
+ * directories (path, mtime, child count), then a CRC32C of everything before it. Strings are a u16
+ * length followed by UTF-8 bytes.
+ */
+final class SkillIndexFile {
+
+    private static final Logger log = LoggerFactory.getLogger(SkillIndexFile.class);
+    private static final int MAGIC = 0x534B4958; // "SKIX"
+    private static final int FORMAT_VERSION = 2;
+    static final String INDEX_DIR = ".index";
+    static final String FILE_NAME = "skills.bin";
+
+    /** One indexed skill; {@code dir} and {@code script} are relative to the skills root / skill dir. */
+    record Entry(String skillName, String version, String dir, long contentHash,
+                 long metaMtime, long contentMtime, String script) {
+    }
+
+    /** State of one directory in the tree at the time the index was written. */
+    record Directory(long mtime, int children) {
+    }
+
+    private SkillIndexFile() {
+    }
+
+    static Path indexDir(Path root) {
+        return root.resolve(INDEX_DIR);
+    }
+
+    /** Entries of a fresh index, or empty if the file is missing, corrupt or out of date. */
+    static Optional<List<Entry>> load(Path root) {
+        Path file = indexDir(root).resolve(FILE_NAME);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (!checksumMatches(buffer)) {
+                log.warn("[Skill] Ignoring index {} with a bad checksum", file);
+                return Optional.empty();
+            }
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION || !readString(buffer).equals(root.toString())) {
+                log.info("[Skill] Ignoring index {} written for another root or format", file);
+                return Optional.empty();
+            }
+            int entryCount = buffer.getInt();
+            List<Entry> entries = new ArrayList<>(entryCount);
+            for (int i = 0; i < entryCount; i++) {
+                entries.add(new Entry(readString(buffer), readString(buffer), readString(buffer),
+                        buffer.getLong(), buffer.getLong(), buffer.getLong(), readString(buffer)));
+            }
+            int dirCount = buffer.getInt();
+            for (int i = 0; i < dirCount; i++) {
+                String dir = readString(buffer);
+                Directory recorded = new Directory(buffer.getLong(), buffer.getInt());
+                if (!recorded.equals(directory(root.resolve(dir)))) {
+                    log.info("[Skill] Index is stale: directory '{}' changed", dir);
+                    return Optional.empty();
+                }
+            }
+            // SKILL.md is read lazily, so an edited body does not invalidate the catalog; only meta edits do.
+            for (Entry entry : entries) {
+                if (mtime(root.resolve(entry.dir()).resolve("skill.meta.json")) != entry.metaMtime()) {
+                    log.info("[Skill] Index is stale: {}@{} changed", entry.skillName(), entry.version());
+                    return Optional.empty();
+                }
+            }
+            return Optional.of(entries);
+        }
+        catch (NoSuchFileException ex) {
+            return Optional.empty();
+        }
+        catch (IOException | BufferUnderflowException | IllegalArgumentException ex) {
+            log.warn("[Skill] Ignoring unreadable index {}: {}", file, ex.toString());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * State of every directory under {@code root} except the index directory. Take it before
+     * describing the entries: a change in between then leaves an older state in the index, which
+     * makes it stale rather than wrongly fresh.
+     */
+    static Map<String, Directory> directories(Path root) throws IOException {
+        Path dir = Files.createDirectories(indexDir(root));
+        Map<String, Directory> directories = new LinkedHashMap<>();
+        try (var stream = Files.walk(root)) {
+            for (Path path : stream.filter(Files::isDirectory).filter(p -> !p.startsWith(dir)).toList()) {
+                directories.put(root.relativize(path).toString(), directory(path));
+            }
+        }
+        return directories;
+    }
+
+    /** Writes the index atomically (temp file + rename). */
+    static void write(Path root, List<Entry> entries, Map<String, Directory> directories) throws IOException {
+        Path dir = Files.createDirectories(indexDir(root));
+        Path temp = Files.createTempFile(dir, FILE_NAME, ".tmp");
+        try {
+            CRC32C crc = new CRC32C();
+            try (OutputStream file = Files.newOutputStream(temp);
+                 BufferedOutputStream buffered = new BufferedOutputStream(file, 64 * 1024);
+                 DataOutputStream out = new DataOutputStream(new CheckedOutputStream(buffered, crc))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                writeString(out, root.toString());
+                out.writeInt(entries.size());
+                for (Entry entry : entries) {
+                    writeString(out, entry.skillName());
+                    writeString(out, entry.version());
+                    writeString(out, entry.dir());
+                    out.writeLong(entry.contentHash());
+                    out.writeLong(entry.metaMtime());
+                    out.writeLong(entry.contentMtime());
+                    writeString(out, entry.script());
+                }
+                out.writeInt(directories.size());
+                for (Map.Entry<String, Directory> directory : directories.entrySet()) {
+                    writeString(out, directory.getKey());
+                    out.writeLong(directory.getValue().mtime());
+                    out.writeInt(directory.getValue().children());
+                }
+                out.flush();
+                // Written past the checked stream, so the checksum covers everything before it.
+                new DataOutputStream(buffered).writeLong(crc.getValue());
+            }
+            try {
+                Files.move(temp, dir.resolve(FILE_NAME), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temp, dir.resolve(FILE_NAME), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /** Describes one skill directory, reusing {@code previous}'s hash when neither file changed. */
+    static Entry describe(Path root, String skillName, String version, Path skillDir, String script, Entry previous)
+            throws IOException {
+        long metaMtime = mtime(skillDir.resolve("skill.meta.json"));
+        long contentMtime = mtime(skillDir.resolve("SKILL.md"));
+        long hash = previous != null && previous.metaMtime() == metaMtime && previous.contentMtime() == contentMtime
+                ? previous.contentHash()
+                : contentHash(skillDir.resolve("SKILL.md"));
+        return new Entry(skillName, version, root.relativize(skillDir).toString(), hash, metaMtime, contentMtime,
+                script == null ? "" : script);
+    }
+
+    static long contentHash(Path file) throws IOException {
+        CRC32C crc = new CRC32C();
+        byte[] chunk = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(chunk)) > 0) {
+                crc.update(chunk, 0, read);
+            }
+        }
+        return crc.getValue();
+    }
+
+    /** True if the trailing CRC32C matches the bytes before it; leaves {@code buffer} at position 0. */
+    private static boolean checksumMatches(ByteBuffer buffer) {
+        int bodyLength = buffer.limit() - Long.BYTES;
+        if (bodyLength < 0) {
+            return false;
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.duplicate().limit(bodyLength));
+        return crc.getValue() == buffer.getLong(bodyLength);
+    }
+
+    /** Mtime and number of children of {@code dir}; {@code (-1, -1)} if it does not exist. */
+    private static Directory directory(Path dir) throws IOException {
+        long mtime = mtime(dir);
+        if (mtime < 0) {
+            return new Directory(-1, -1);
+        }
+        int children = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            for (Path ignored : stream) {
+                children++;
+            }
+        }
+        return new Directory(mtime, children);
+    }
+
+    /** Modification time in microseconds, or -1 if the path does not exist. */
+    private static long mtime(Path path) throws IOException {
+        try {
+            return Files.getLastModifiedTime(path).to(TimeUnit.MICROSECONDS);
+        }
+        catch (NoSuchFileException ex) {
+            return -1;
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("Index string too long: " + bytes.length + " bytes");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+}
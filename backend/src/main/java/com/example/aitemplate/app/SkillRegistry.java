@@ -1,54 +1,128 @@
 package com.example.aitemplate.app;
 
 import com.example.aitemplate.core.skill.SkillProvider;
+import com.example.aitemplate.core.skill.SkillVersion;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+/**
+ * Builtin and dynamic skills. Dynamic skills are loaded from {@code skill.meta.json} files only;
+ * their SKILL.md is read on first use through a byte-bounded {@link SkillContentCache}.
+ * Changes made on disk are applied per skill directory via {@link #applyDiskChanges(Collection)}.
+ * With the index enabled, the catalog is also kept in a {@link SkillIndexFile} so a cold start with
+ * an unchanged library skips the directory walk and JSON parsing. The {@link SkillSearchIndex}
+ * behind {@value #AUTO_SELECT_REF} is built on the first auto-select request and kept current from
+ * then on, so a library that never uses it never has its SKILL.md bodies read at startup.
+ */
 @Component
-public class SkillRegistry {
+public class SkillRegistry implements DisposableBean {
 
     private static final Logger log = LoggerFactory.getLogger(SkillRegistry.class);
+    /** Skill ref that expands to the skills most relevant to the message; {@code @auto:N} picks up to N. */
+    public static final String AUTO_SELECT_REF = "@auto";
+    private static final int DEFAULT_AUTO_SELECT = 3;
+    private static final int MAX_AUTO_SELECT = 20;
 
     private final Map<String, SkillProvider> builtinProviders;
     private final Map<String, SkillProvider> dynamicProviders;
+    private final NameIndex builtinByName = new NameIndex();
+    private final NameIndex dynamicByName = new NameIndex();
+    /** Skill directory → key of the dynamic skill loaded from it. */
+    private final Map<Path, String> skillDirs = new ConcurrentHashMap<>();
     private final Path localSkillRoot;
     private final ObjectMapper objectMapper;
+    private final AtomicLong catalogVersion = new AtomicLong(1);
+    private final SkillContentCache contentCache;
+    private final SkillSearchIndex searchIndex;
+    /** Completes once the search index holds the whole catalog; {@code null} until first needed. */
+    private volatile Future<?> searchIndexBuilt;
+    private final boolean indexEnabled;
+    /** Skill directory → its entry in the last written (or loaded) index; carries hashes and script paths. */
+    private final Map<Path, SkillIndexFile.Entry> indexEntries = new ConcurrentHashMap<>();
+    private final AtomicBoolean indexWriteQueued = new AtomicBoolean();
+    /** Background thread for search index updates and, when enabled, {@code skills.bin} writes. */
+    private final ExecutorService indexWriter;
+    private final boolean loadedFromIndex;
+
+    /** Convenience constructor for tools and tests: default cache sizes, no index file. */
+    public SkillRegistry(List<SkillProvider> providers, String localSkillDir, ObjectMapper objectMapper) {
+        this(providers, localSkillDir, objectMapper, 64L * 1024 * 1024, 1024L * 1024, 0, false);
+    }
 
+    @Autowired
     public SkillRegistry(
             List<SkillProvider> providers,
             @Value("${app.skills.local-dir:skills/runtime}") String localSkillDir,
-            ObjectMapper objectMapper) {
+            ObjectMapper objectMapper,
+            @Value("${app.skills.content-cache-max-bytes:67108864}") long contentCacheMaxBytes,
+            @Value("${app.skills.mmap-threshold-bytes:1048576}") long mmapThresholdBytes,
+            @Value("${app.skills.load-parallelism:0}") int loadParallelism,
+            @Value("${app.skills.index-enabled:true}") boolean indexEnabled) {
         this.builtinProviders = new ConcurrentHashMap<>();
         this.dynamicProviders = new ConcurrentHashMap<>();
         this.objectMapper = objectMapper;
+        this.contentCache = new SkillContentCache(contentCacheMaxBytes, mmapThresholdBytes);
         this.localSkillRoot = Paths.get(localSkillDir).toAbsolutePath().normalize();
+        this.indexWriter = Executors.newSingleThreadExecutor(daemonThreads("skill-index-writer"));
+        this.searchIndex = new SkillSearchIndex(indexWriter, SkillRegistry::indexedContent);
         for (SkillProvider provider : providers) {
             this.builtinProviders.put(key(provider.skillName(), provider.version()), provider);
+            this.builtinByName.put(provider);
         }
         log.info("[Skill] Registered {} builtin skill(s): {}", builtinProviders.size(),
                 builtinProviders.values().stream().map(p -> p.skillName() + "@" + p.version()).toList());
-        loadDynamicProvidersFromDisk();
+        this.indexEnabled = indexEnabled;
+        this.loadedFromIndex = indexEnabled && loadFromIndex();
+        if (!loadedFromIndex) {
+            loadDynamicProvidersFromDisk(loadParallelism > 0 ? loadParallelism : Runtime.getRuntime().availableProcessors());
+            scheduleIndexWrite();
+        }
     }
 
     public List<SkillProvider> list() {
         return listEntries().stream().map(SkillEntry::provider).toList();
     }
 
+    /** Bumped whenever a dynamic skill is added, replaced or removed. */
+    public long version() {
+        return catalogVersion.get();
+    }
+
     public Path localSkillRoot() {
         return localSkillRoot;
     }
@@ -72,13 +146,107 @@ public class SkillRegistry {
                 .map(this::resolveOne)
                 .filter(provider -> provider != null)
                 .toList();
-        log.debug("[Skill] Resolved {}/{} skill refs: {}",
-                resolved.size(), skillRefs.size(),
-                resolved.stream().map(p -> p.skillName() + "@" + p.version()).toList());
+        if (log.isDebugEnabled()) {
+            log.debug("[Skill] Resolved {}/{} skill refs: {}",
+                    resolved.size(), skillRefs.size(),
+                    resolved.stream().map(p -> p.skillName() + "@" + p.version()).toList());
+        }
         return resolved;
     }
 
-    public SkillProvider upsertDynamic(String skillName, String version, String content) {
+    /**
+     * Like {@link #resolve(List)}, but expands {@value #AUTO_SELECT_REF} (or {@code @auto:N}) into
+     * the skills whose name and SKILL.md best match {@code message}, ranked by BM25. Auto-selected
+     * skills are appended after the explicit ones and never duplicate a name already selected.
+     */
+    public List<SkillProvider> resolve(List<String> skillRefs, String message) {
+        if (skillRefs == null || skillRefs.stream().noneMatch(SkillRegistry::isAutoSelectRef)) {
+            return resolve(skillRefs);
+        }
+        int limit = 0;
+        List<String> explicitRefs = new ArrayList<>();
+        for (String ref : skillRefs) {
+            if (isAutoSelectRef(ref)) {
+                limit = Math.max(limit, autoSelectLimit(ref.trim()));
+            }
+            else {
+                explicitRefs.add(ref);
+            }
+        }
+        List<SkillProvider> resolved = new ArrayList<>(resolve(explicitRefs));
+        Set<String> names = new HashSet<>();
+        resolved.forEach(provider -> names.add(provider.skillName()));
+        List<String> autoSelected = new ArrayList<>();
+        awaitSearchIndexBuilt();
+        for (SkillProvider hit : searchIndex.search(message, limit + names.size())) {
+            if (autoSelected.size() < limit && names.add(hit.skillName())) {
+                // The version that scored, as long as it is still registered.
+                SkillProvider provider = resolveOne(hit.skillName() + "@" + hit.version());
+                if (provider != null) {
+                    resolved.add(provider);
+                    autoSelected.add(hit.skillName() + "@" + provider.version());
+                }
+            }
+        }
+        log.info("[Skill] Auto-selected {} skill(s): {}", autoSelected.size(), autoSelected);
+        return resolved;
+    }
+
+    /**
+     * Seeds the search index with the whole catalog on first use and waits for it. Seeding holds
+     * the registry lock, like every catalog change, so later changes are queued after the seed.
+     */
+    private void awaitSearchIndexBuilt() {
+        Future<?> built = searchIndexBuilt;
+        if (built == null) {
+            synchronized (this) {
+                if (searchIndexBuilt == null) {
+                    long start = System.nanoTime();
+                    builtinProviders.forEach((key, provider) -> searchIndex.put("builtin:" + key, provider));
+                    dynamicProviders.forEach((key, provider) -> searchIndex.put("dynamic:" + key, provider));
+                    searchIndexBuilt = indexWriter.submit(() -> log.info("[Skill] Built search index of {} skill(s) in {}ms",
+                            searchIndex.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+                }
+                built = searchIndexBuilt;
+            }
+        }
+        try {
+            built.get();
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        catch (ExecutionException ex) {
+            throw new IllegalStateException("Search index build failed", ex.getCause());
+        }
+    }
+
+    private static boolean isAutoSelectRef(String ref) {
+        if (ref == null) {
+            return false;
+        }
+        String trimmed = ref.trim();
+        return trimmed.equals(AUTO_SELECT_REF) || trimmed.startsWith(AUTO_SELECT_REF + ":");
+    }
+
+    private static int autoSelectLimit(String ref) {
+        if (ref.equals(AUTO_SELECT_REF)) {
+            return DEFAULT_AUTO_SELECT;
+        }
+        try {
+            int limit = Integer.parseInt(ref.substring(AUTO_SELECT_REF.length() + 1));
+            if (limit >= 1) {
+                return Math.min(limit, MAX_AUTO_SELECT);
+            }
+        }
+        catch (NumberFormatException ignored) {
+            // Reported below.
+        }
+        throw new IllegalArgumentException("Invalid skill ref '" + ref + "': expected " + AUTO_SELECT_REF + " or "
+                + AUTO_SELECT_REF + ":N with N >= 1");
+    }
+
+    public synchronized SkillProvider upsertDynamic(String skillName, String version, String content) {
         String safeName = skillName == null ? "" : skillName.trim();
         String safeVersion = version == null || version.isBlank() ? "1.0.0" : version.trim();
         if (safeName.isBlank()) {
@@ -87,35 +255,57 @@ public class SkillRegistry {
         if (content == null || content.isBlank()) {
             throw new IllegalArgumentException("content is required");
         }
-        SkillProvider provider = new DynamicSkillProvider(safeName, safeVersion, content);
-        dynamicProviders.put(key(safeName, safeVersion), provider);
-        persistDynamicSkill(provider);
+        SkillProvider existing = dynamicProviders.get(key(safeName, safeVersion));
+        if (existing != null && isUnchanged(existing, content)) {
+            log.debug("[Skill] Dynamic skill unchanged: {}@{}", safeName, safeVersion);
+            return existing;
+        }
+        Path contentPath = persistDynamicSkill(safeName, safeVersion, content);
+        contentCache.put(contentPath, content);
+        SkillProvider provider = new DiskSkillProvider(safeName, safeVersion, contentPath, contentCache);
+        putDynamic(provider);
+        catalogVersion.incrementAndGet();
+        scheduleIndexWrite();
         log.info("[Skill] Saved dynamic skill: {}@{}, contentLength={}", safeName, safeVersion, content.length());
         return provider;
     }
 
-    public boolean deleteDynamic(String skillName, String version) {
+    /** Compares sizes before reading the stored body, so a changed skill usually costs one stat. */
+    private static boolean isUnchanged(SkillProvider existing, String content) {
+        try {
+            return existing.contentBytes() == content.getBytes(StandardCharsets.UTF_8).length
+                    && content.equals(existing.content());
+        }
+        catch (UncheckedIOException ex) {
+            return false;
+        }
+    }
+
+    public synchronized boolean deleteDynamic(String skillName, String version) {
         if (skillName == null || skillName.isBlank()) {
             return false;
         }
         if (version == null || version.isBlank()) {
-            String prefix = skillName.trim() + "@";
             boolean removed = false;
-            for (String k : List.copyOf(dynamicProviders.keySet())) {
-                if (k.startsWith(prefix)) {
-                    SkillProvider provider = dynamicProviders.remove(k);
-                    if (provider != null) {
-                        deleteDynamicSkillFiles(provider.skillName(), provider.version());
-                        log.info("[Skill] Deleted dynamic skill: {}@{}", provider.skillName(), provider.version());
-                    }
+            for (SkillProvider versioned : dynamicByName.versions(skillName.trim())) {
+                SkillProvider provider = removeDynamic(key(versioned.skillName(), versioned.version()));
+                if (provider != null) {
+                    deleteDynamicSkillFiles(provider.skillName(), provider.version());
+                    log.info("[Skill] Deleted dynamic skill: {}@{}", provider.skillName(), provider.version());
                     removed = true;
                 }
             }
+            if (removed) {
+                catalogVersion.incrementAndGet();
+                scheduleIndexWrite();
+            }
             return removed;
         }
-        SkillProvider removed = dynamicProviders.remove(key(skillName.trim(), version.trim()));
+        SkillProvider removed = removeDynamic(key(skillName.trim(), version.trim()));
         if (removed != null) {
+            catalogVersion.incrementAndGet();
             deleteDynamicSkillFiles(removed.skillName(), removed.version());
+            scheduleIndexWrite();
             log.info("[Skill] Deleted dynamic skill: {}@{}", removed.skillName(), removed.version());
             return true;
         }
@@ -138,29 +328,134 @@ public class SkillRegistry {
             return builtinProviders.get(key(name, version));
         }
 
-        SkillProvider latestDynamic = latestByName(dynamicProviders, ref);
+        SkillProvider latestDynamic = dynamicByName.latest(ref);
         if (latestDynamic != null) {
             return latestDynamic;
         }
-        return latestByName(builtinProviders, ref);
+        return builtinByName.latest(ref);
+    }
+
+    /**
+     * Re-reads only the skill directories affected by {@code changedPaths} (files or directories
+     * under the local skill root, existing or deleted). Each skill is swapped with a single map
+     * write, so readers see either the old or the new provider. Returns the number of skills
+     * added, replaced or removed.
+     */
+    public synchronized int applyDiskChanges(Collection<Path> changedPaths) {
+        Set<Path> dirs = new LinkedHashSet<>();
+        for (Path changed : changedPaths) {
+            Path path = changed.toAbsolutePath().normalize();
+            if (path.startsWith(localSkillRoot) && !path.startsWith(SkillIndexFile.indexDir(localSkillRoot))) {
+                collectSkillDirs(path, dirs);
+            }
+        }
+        int applied = 0;
+        boolean catalogChanged = false;
+        for (Path dir : dirs) {
+            ReloadOutcome outcome = reloadSkillDir(dir);
+            if (outcome != ReloadOutcome.UNCHANGED) {
+                applied++;
+                catalogChanged |= outcome != ReloadOutcome.CONTENT;
+            }
+        }
+        if (catalogChanged) {
+            catalogVersion.incrementAndGet();
+        }
+        if (applied > 0) {
+            log.info("[Skill] Applied {} on-disk skill change(s) from {} path(s)", applied, changedPaths.size());
+            scheduleIndexWrite();
+        }
+        return applied;
+    }
+
+    private void collectSkillDirs(Path path, Set<Path> dirs) {
+        boolean directory = Files.isDirectory(path);
+        if (directory) {
+            // A directory moved or copied in whole produces a single event; find the skills inside it.
+            try (var stream = Files.walk(path)) {
+                stream.filter(p -> p.getFileName().toString().equals("skill.meta.json"))
+                        .forEach(meta -> dirs.add(meta.getParent()));
+            }
+            catch (IOException ex) {
+                log.warn("[Skill] Failed to scan changed directory {}: {}", path, ex.getMessage());
+            }
+        }
+        if (directory || !Files.exists(path)) {
+            // Skills loaded from below a changed or deleted directory may be gone now.
+            skillDirs.keySet().stream().filter(dir -> dir.startsWith(path)).forEach(dirs::add);
+        }
+        for (Path dir = Files.isDirectory(path) ? path : path.getParent();
+             dir != null && dir.startsWith(localSkillRoot) && !dir.equals(localSkillRoot);
+             dir = dir.getParent()) {
+            if (skillDirs.containsKey(dir) || Files.exists(dir.resolve("skill.meta.json"))) {
+                dirs.add(dir);
+                return;
+            }
+        }
     }
 
-    private SkillProvider latestByName(Map<String, SkillProvider> map, String name) {
-        return map.values().stream()
-                .filter(provider -> provider.skillName().equals(name))
-                .max((a, b) -> compareVersion(a.version(), b.version()))
-                .orElse(null);
+    private ReloadOutcome reloadSkillDir(Path dir) {
+        String oldKey = skillDirs.get(dir);
+        Path metaPath = dir.resolve("skill.meta.json");
+        DiskSkillProvider fresh = Files.exists(metaPath) ? readSkillMeta(metaPath) : null;
+        contentCache.invalidate(dir.resolve("SKILL.md"));
+        if (fresh == null) {
+            if (oldKey != null && removeDynamicFrom(dir, oldKey)) {
+                log.info("[Skill] Removed on-disk skill: {}", oldKey);
+                return ReloadOutcome.REMOVED;
+            }
+            return ReloadOutcome.UNCHANGED;
+        }
+        String newKey = key(fresh.skillName(), fresh.version());
+        if (oldKey != null && !oldKey.equals(newKey)) {
+            removeDynamicFrom(dir, oldKey);
+        }
+        putDynamic(fresh);
+        if (newKey.equals(oldKey)) {
+            log.debug("[Skill] Reloaded on-disk skill: {}", newKey);
+            return ReloadOutcome.CONTENT;
+        }
+        log.info("[Skill] Loaded on-disk skill: {}", newKey);
+        return ReloadOutcome.CATALOG;
     }
 
-    private int compareVersion(String left, String right) {
-        return normalizeVersion(left).compareTo(normalizeVersion(right));
+    private boolean removeDynamicFrom(Path dir, String key) {
+        if (dynamicProviders.get(key) instanceof DiskSkillProvider disk && disk.contentPath().getParent().equals(dir)) {
+            removeDynamic(key);
+            return true;
+        }
+        skillDirs.remove(dir, key);
+        return false;
     }
 
-    private String normalizeVersion(String version) {
-        if (version == null) {
-            return "0";
+    private void putDynamic(SkillProvider provider) {
+        String key = key(provider.skillName(), provider.version());
+        SkillProvider previous = dynamicProviders.put(key, provider);
+        if (previous instanceof DiskSkillProvider disk) {
+            skillDirs.remove(disk.contentPath().getParent(), key);
+        }
+        if (provider instanceof DiskSkillProvider disk) {
+            skillDirs.put(disk.contentPath().getParent(), key);
+        }
+        dynamicByName.put(provider);
+        if (searchIndexBuilt != null) {
+            searchIndex.put("dynamic:" + key, provider);
         }
-        return version.toLowerCase(Locale.ROOT).replace("v", "");
+    }
+
+    private SkillProvider removeDynamic(String key) {
+        SkillProvider removed = dynamicProviders.remove(key);
+        if (removed != null) {
+            dynamicByName.remove(removed);
+            if (searchIndexBuilt != null) {
+                searchIndex.remove("dynamic:" + key);
+            }
+            if (removed instanceof DiskSkillProvider disk) {
+                skillDirs.remove(disk.contentPath().getParent(), key);
+                contentCache.invalidate(disk.contentPath());
+            }
+        }
+        return removed;
     }
 
     private String key(String name, String version) {
@@ -176,20 +471,14 @@ public class SkillRegistry {
         // 1. Check skills/runtime/{name}/{version}/ — standard dynamic skill location
         Path dir = resolveSkillVersionDir(name, version);
         if (dir != null) {
-            // Check run.py / skill.py directly in the version dir
-            Path runPy = dir.resolve("run.py");
-            if (Files.exists(runPy)) {
-                return Optional.of(runPy);
+            SkillIndexFile.Entry indexed = indexEntries.get(dir);
+            if (indexed != null && !indexed.script().isEmpty() && Files.exists(dir.resolve(indexed.script()))) {
+                return Optional.of(dir.resolve(indexed.script()));
             }
-            Path skillPy = dir.resolve("skill.py");
-            if (Files.exists(skillPy)) {
-                return Optional.of(skillPy);
-            }
-            // Check scripts/ subdirectory (e.g. scripts/search.py)
-            Optional<Path> inScripts = findFirstPyIn(dir.resolve("scripts"));
-            if (inScripts.isPresent()) {
-                log.debug("[Skill] Found Python script for {} at {}", name, inScripts.get());
-                return inScripts;
+            Optional<Path> script = findScriptInVersionDir(dir);
+            if (script.isPresent()) {
+                log.debug("[Skill] Found Python script for {} at {}", name, script.get());
+                return script;
             }
         }
 
@@ -214,6 +503,19 @@ public class SkillRegistry {
         return Optional.empty();
     }
 
+    /** run.py / skill.py directly in the version dir, else the first script under scripts/. */
+    private Optional<Path> findScriptInVersionDir(Path dir) {
+        Path runPy = dir.resolve("run.py");
+        if (Files.exists(runPy)) {
+            return Optional.of(runPy);
+        }
+        Path skillPy = dir.resolve("skill.py");
+        if (Files.exists(skillPy)) {
+            return Optional.of(skillPy);
+        }
+        return findFirstPyIn(dir.resolve("scripts"));
+    }
+
     private Optional<Path> findFirstPyIn(Path dir) {
         if (!Files.exists(dir) || !Files.isDirectory(dir)) {
             return Optional.empty();
@@ -242,7 +544,7 @@ public class SkillRegistry {
         }
         try (var stream = Files.list(nameDir)) {
             return stream.filter(Files::isDirectory)
-                    .max((a, b) -> compareVersion(a.getFileName().toString(), b.getFileName().toString()))
+                    .max((a, b) -> SkillVersion.compare(a.getFileName().toString(), b.getFileName().toString()))
                     .orElse(null);
         }
         catch (IOException ex) {
@@ -250,7 +552,15 @@ public class SkillRegistry {
         }
     }
 
-    private void loadDynamicProvidersFromDisk() {
+    /**
+     * Meta files are parsed on a bounded pool while the walk is still listing directories; results
+     * are registered in walk order on the calling thread, so duplicates resolve as before.
+     */
+    private void loadDynamicProvidersFromDisk(int parallelism) {
+        long start = System.nanoTime();
+        ExecutorService pool = parallelism > 1 ? Executors.newFixedThreadPool(parallelism, daemonThreads("skill-loader")) : null;
+        Executor executor = pool != null ? pool : Runnable::run;
+        List<CompletableFuture<DiskSkillProvider>> pending = new ArrayList<>();
         try {
             if (!Files.exists(localSkillRoot)) {
                 Files.createDirectories(localSkillRoot);
@@ -259,48 +569,177 @@ public class SkillRegistry {
             }
             try (var stream = Files.walk(localSkillRoot)) {
                 stream.filter(path -> path.getFileName().toString().equals("skill.meta.json"))
-                        .forEach(this::loadOneSkillMetaFile);
+                        .forEach(metaPath -> pending.add(CompletableFuture.supplyAsync(() -> readSkillMeta(metaPath), executor)));
             }
-            log.info("[Skill] Loaded {} dynamic skill(s) from disk: {}", dynamicProviders.size(), localSkillRoot);
         }
         catch (IOException ex) {
             throw new IllegalStateException("Failed to initialize local skills directory: " + localSkillRoot, ex);
         }
+        finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
+        for (CompletableFuture<DiskSkillProvider> future : pending) {
+            DiskSkillProvider provider = future.join();
+            if (provider != null) {
+                putDynamic(provider);
+                log.debug("[Skill] Loaded from disk: {}@{}", provider.skillName(), provider.version());
+            }
+        }
+        log.info("[Skill] Loaded {} dynamic skill(s) from disk in {}ms ({} thread(s)): {}", dynamicProviders.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), Math.max(1, parallelism), localSkillRoot);
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger seq = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, prefix + "-" + seq.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // ── Binary index ────────────────────────────────────────
+
+    private boolean loadFromIndex() {
+        long start = System.nanoTime();
+        Optional<List<SkillIndexFile.Entry>> entries = SkillIndexFile.load(localSkillRoot);
+        if (entries.isEmpty()) {
+            return false;
+        }
+        for (SkillIndexFile.Entry entry : entries.get()) {
+            Path dir = localSkillRoot.resolve(entry.dir()).normalize();
+            putDynamic(new DiskSkillProvider(entry.skillName(), entry.version(), dir.resolve("SKILL.md"), contentCache));
+            indexEntries.put(dir, entry);
+        }
+        log.info("[Skill] Loaded {} dynamic skill(s) from index in {}ms: {}", dynamicProviders.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), localSkillRoot);
+        return true;
+    }
+
+    /** Coalesces index rewrites onto one background thread; SKILL.md hashing stays off the caller's path. */
+    private void scheduleIndexWrite() {
+        if (indexEnabled && !indexWriter.isShutdown() && indexWriteQueued.compareAndSet(false, true)) {
+            indexWriter.execute(() -> {
+                indexWriteQueued.set(false);
+                writeIndex();
+            });
+        }
+    }
+
+    /** Writes the index now, after any queued background write; for tests and tooling. */
+    void writeIndexNow() {
+        if (!indexEnabled) {
+            return;
+        }
+        try {
+            indexWriter.submit(this::writeIndex).get();
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        catch (ExecutionException ex) {
+            throw new IllegalStateException("Failed to write skill index", ex.getCause());
+        }
+    }
+
+    /** Waits until every search index update queued so far is applied; for tests and tooling. */
+    void awaitSearchIndex() {
+        try {
+            indexWriter.submit(() -> { }).get();
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        catch (ExecutionException ex) {
+            throw new IllegalStateException("Search index update failed", ex.getCause());
+        }
+    }
+
+    /** Lets a queued index write finish so the next start does not find a half-updated library stale. */
+    @Override
+    public void destroy() throws InterruptedException {
+        indexWriter.shutdown();
+        if (!indexWriter.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("[Skill] Index writer did not finish within 10s; the next start may rebuild the index");
+            indexWriter.shutdownNow();
+        }
+    }
+
+    boolean searchIndexBuilt() {
+        return searchIndexBuilt != null;
+    }
+
+    boolean loadedFromIndex() {
+        return loadedFromIndex;
     }
 
-    private void loadOneSkillMetaFile(Path metaPath) {
+    private void writeIndex() {
+        long start = System.nanoTime();
+        try {
+            Map<String, SkillIndexFile.Directory> directories = SkillIndexFile.directories(localSkillRoot);
+            List<SkillIndexFile.Entry> entries = new ArrayList<>();
+            Map<Path, SkillIndexFile.Entry> written = new HashMap<>();
+            for (SkillProvider provider : dynamicProviders.values()) {
+                if (provider instanceof DiskSkillProvider disk && Files.exists(disk.contentPath())) {
+                    Path dir = disk.contentPath().getParent();
+                    String script = findScriptInVersionDir(dir).map(path -> dir.relativize(path).toString()).orElse("");
+                    SkillIndexFile.Entry entry = SkillIndexFile.describe(
+                            localSkillRoot, disk.skillName(), disk.version(), dir, script, indexEntries.get(dir));
+                    entries.add(entry);
+                    written.put(dir, entry);
+                }
+            }
+            SkillIndexFile.write(localSkillRoot, entries, directories);
+            indexEntries.keySet().retainAll(written.keySet());
+            indexEntries.putAll(written);
+            log.debug("[Skill] Wrote index of {} skill(s) in {}ms", entries.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+        catch (IOException | RuntimeException ex) {
+            log.warn("[Skill] Failed to write skill index under {}: {}", localSkillRoot, ex.getMessage());
+        }
+    }
+
+    /** Provider for a meta file, or null (logged) if it is unreadable or has no SKILL.md next to it. */
+    private DiskSkillProvider readSkillMeta(Path metaPath) {
         try {
             JsonSkillMeta meta = objectMapper.readValue(Files.readString(metaPath, StandardCharsets.UTF_8), JsonSkillMeta.class);
+            if (meta.skillName() == null || meta.skillName().isBlank()) {
+                log.warn("[Skill] Meta at {} has no skillName, skipping", metaPath);
+                return null;
+            }
             Path contentPath = metaPath.getParent().resolve("SKILL.md");
             if (!Files.exists(contentPath)) {
                 log.warn("[Skill] Missing SKILL.md for meta at {}, skipping", metaPath);
-                return;
+                return null;
             }
-            String content = Files.readString(contentPath, StandardCharsets.UTF_8);
-            SkillProvider provider = new DynamicSkillProvider(meta.skillName(), meta.version(), content);
-            dynamicProviders.put(key(provider.skillName(), provider.version()), provider);
-            log.debug("[Skill] Loaded from disk: {}@{}", meta.skillName(), meta.version());
+            String version = meta.version() == null || meta.version().isBlank() ? "1.0.0" : meta.version().trim();
+            return new DiskSkillProvider(meta.skillName().trim(), version, contentPath, contentCache);
         }
         catch (Exception ex) {
             log.warn("[Skill] Failed to load skill from {}: {}", metaPath, ex.getMessage());
+            return null;
         }
     }
 
-    private void persistDynamicSkill(SkillProvider provider) {
+    private Path persistDynamicSkill(String skillName, String version, String content) {
         try {
-            Path skillDir = localSkillDir(provider.skillName(), provider.version());
+            Path skillDir = localSkillDir(skillName, version);
             Files.createDirectories(skillDir);
             Path contentPath = skillDir.resolve("SKILL.md");
             Path metaPath = skillDir.resolve("skill.meta.json");
-            Files.writeString(contentPath, provider.content(), StandardCharsets.UTF_8);
+            Files.writeString(contentPath, content, StandardCharsets.UTF_8);
 
             ObjectNode meta = objectMapper.createObjectNode();
-            meta.put("skillName", provider.skillName());
-            meta.put("version", provider.version());
+            meta.put("skillName", skillName);
+            meta.put("version", version);
             Files.writeString(metaPath, objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(meta), StandardCharsets.UTF_8);
+            return contentPath;
         }
         catch (IOException ex) {
-            throw new IllegalStateException("Failed to persist skill locally: " + provider.skillName(), ex);
+            throw new IllegalStateException("Failed to persist skill locally: " + skillName, ex);
         }
     }
 
@@ -347,13 +786,82 @@ public class SkillRegistry {
         return sanitized;
     }
 
+    /** skillName → versions in {@link SkillVersion} order; the newest version is the last entry. */
+    private static final class NameIndex {
+        private final Map<String, NavigableMap<String, SkillProvider>> byName = new ConcurrentHashMap<>();
+
+        void put(SkillProvider provider) {
+            byName.compute(provider.skillName(), (name, versions) -> {
+                NavigableMap<String, SkillProvider> target =
+                        versions == null ? new ConcurrentSkipListMap<>(SkillVersion.ORDER) : versions;
+                target.put(provider.version(), provider);
+                return target;
+            });
+        }
+
+        void remove(SkillProvider provider) {
+            byName.computeIfPresent(provider.skillName(), (name, versions) -> {
+                versions.remove(provider.version());
+                return versions.isEmpty() ? null : versions;
+            });
+        }
+
+        SkillProvider latest(String name) {
+            NavigableMap<String, SkillProvider> versions = byName.get(name);
+            if (versions == null) {
+                return null;
+            }
+            Map.Entry<String, SkillProvider> newest = versions.lastEntry();
+            return newest == null ? null : newest.getValue();
+        }
+
+        List<SkillProvider> versions(String name) {
+            NavigableMap<String, SkillProvider> versions = byName.get(name);
+            return versions == null ? List.of() : List.copyOf(versions.values());
+        }
+    }
+
+    private enum ReloadOutcome {
+        UNCHANGED, CONTENT, CATALOG, REMOVED
+    }
+
     public record SkillEntry(SkillProvider provider, String source, boolean editable) {
     }
 
     public record SkillImportResult(int imported, List<String> errors, List<String> skillNames) {
     }
 
-    private record DynamicSkillProvider(String skillName, String version, String content) implements SkillProvider {
+    /** Text to index for {@code provider}; disk skills are read directly so indexing leaves the content cache alone. */
+    private static String indexedContent(SkillProvider provider) {
+        if (provider instanceof DiskSkillProvider disk) {
+            try {
+                return Files.readString(disk.contentPath(), StandardCharsets.UTF_8);
+            }
+            catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+        return provider.content();
+    }
+
+    /** Dynamic skill whose SKILL.md stays on disk until {@link #content()} is first called. */
+    private record DiskSkillProvider(String skillName, String version, Path contentPath, SkillContentCache cache)
+            implements SkillProvider {
+
+        @Override
+        public String content() {
+            return cache.get(contentPath);
+        }
+
+        @Override
+        public long contentBytes() {
+            try {
+                return Files.size(contentPath);
+            }
+            catch (IOException ex) {
+                return Long.MAX_VALUE;
+            }
+        }
     }
 
     private record JsonSkillMeta(String skillName, String version) {
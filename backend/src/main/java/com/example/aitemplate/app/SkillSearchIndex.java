@@ -0,0 +1,236 @@
+package com.example.aitemplate.app;
+
+import com.example.aitemplate.core.skill.SkillProvider;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In-process BM25 inverted index over skill names and SKILL.md bodies, used to auto-select skills
+ * for a message. Name terms count {@value #NAME_WEIGHT} times so a skill called {@code pdf-report}
+ * outranks one that mentions PDFs in passing. Latin text is split into lower-cased words; CJK runs,
+ * which have no spaces, are indexed as overlapping character bigrams.
+ *
+ * <p>Updates are queued and applied on the single-threaded {@code executor}: SKILL.md bodies are
+ * read and tokenized there, outside the index lock, so searches never wait for file reads and
+ * see each change shortly after it was made. Bodies come from {@code contentReader}, which should
+ * bypass the skill content cache so indexing thousands of skills does not evict it.
+ */
+final class SkillSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SkillSearchIndex.class);
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int NAME_WEIGHT = 3;
+
+    private final Executor executor;
+    private final Function<SkillProvider, String> contentReader;
+    /** Queued changes by document key; a {@code null} provider means removal. Guarded by itself. */
+    private final Map<String, SkillProvider> pending = new LinkedHashMap<>();
+    private boolean drainQueued;
+    private final Map<String, Document> documents = new HashMap<>();
+    /** Term → document key → term frequency. */
+    private final Map<String, Map<String, Integer>> postings = new HashMap<>();
+    private long totalLength;
+
+    SkillSearchIndex(Executor executor, Function<SkillProvider, String> contentReader) {
+        this.executor = executor;
+        this.contentReader = contentReader;
+    }
+
+    void put(String key, SkillProvider provider) {
+        enqueue(key, provider);
+    }
+
+    void remove(String key) {
+        enqueue(key, null);
+    }
+
+    /**
+     * The {@code limit} best-matching skills, best first: for each skill name the version whose
+     * document scored highest, so callers get the provider that matched rather than the latest one.
+     */
+    synchronized List<SkillProvider> search(String query, int limit) {
+        if (limit <= 0 || documents.isEmpty() || query == null) {
+            return List.of();
+        }
+        double averageLength = (double) totalLength / documents.size();
+        Map<String, Double> scores = new HashMap<>();
+        for (String term : new LinkedHashSet<>(tokenize(query))) {
+            Map<String, Integer> posting = postings.get(term);
+            if (posting == null) {
+                continue;
+            }
+            double idf = Math.log(1 + (documents.size() - posting.size() + 0.5) / (posting.size() + 0.5));
+            for (Map.Entry<String, Integer> hit : posting.entrySet()) {
+                int tf = hit.getValue();
+                double norm = K1 * (1 - B + B * documents.get(hit.getKey()).length() / averageLength);
+                scores.merge(hit.getKey(), idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+            }
+        }
+        // Several versions of one skill are separate documents; a name ranks by its best version.
+        Map<String, Map.Entry<String, Double>> byName = new HashMap<>();
+        scores.forEach((key, score) -> byName.merge(documents.get(key).provider().skillName(), Map.entry(key, score),
+                (a, b) -> b.getValue() > a.getValue() ? b : a));
+        Comparator<Map.Entry<String, Double>> byScore = Map.Entry.comparingByValue();
+        PriorityQueue<Map.Entry<String, Double>> top = new PriorityQueue<>(byScore);
+        for (Map.Entry<String, Double> best : byName.values()) {
+            top.add(best);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        List<Map.Entry<String, Double>> ranked = new ArrayList<>(top);
+        ranked.sort(byScore.reversed().thenComparing(entry -> documents.get(entry.getKey()).provider().skillName()));
+        return ranked.stream().map(entry -> documents.get(entry.getKey()).provider()).toList();
+    }
+
+    synchronized int size() {
+        return documents.size();
+    }
+
+    private void enqueue(String key, SkillProvider provider) {
+        synchronized (pending) {
+            pending.put(key, provider);
+            if (drainQueued) {
+                return;
+            }
+            drainQueued = true;
+        }
+        executor.execute(this::drain);
+    }
+
+    /** Tokenizes the queued documents without holding the index lock, then swaps them in. */
+    private void drain() {
+        Map<String, SkillProvider> batch;
+        synchronized (pending) {
+            batch = new LinkedHashMap<>(pending);
+            pending.clear();
+            drainQueued = false;
+        }
+        Map<String, Map<String, Integer>> tokenized = new HashMap<>();
+        batch.forEach((key, provider) -> {
+            if (provider != null) {
+                tokenized.put(key, terms(provider));
+            }
+        });
+        synchronized (this) {
+            batch.forEach((key, provider) -> {
+                unindex(key);
+                if (provider != null) {
+                    index(key, provider, tokenized.get(key));
+                }
+            });
+        }
+        log.debug("[Skill] Search index applied {} change(s), {} document(s)", batch.size(), size());
+    }
+
+    private Map<String, Integer> terms(SkillProvider provider) {
+        Map<String, Integer> terms = new HashMap<>();
+        for (String term : tokenize(provider.skillName())) {
+            terms.merge(term, NAME_WEIGHT, Integer::sum);
+        }
+        try {
+            for (String term : tokenize(contentReader.apply(provider))) {
+                terms.merge(term, 1, Integer::sum);
+            }
+        }
+        catch (UncheckedIOException ex) {
+            log.warn("[Skill] Indexing {}@{} by name only: {}", provider.skillName(), provider.version(), ex.getMessage());
+        }
+        return terms;
+    }
+
+    private void index(String key, SkillProvider provider, Map<String, Integer> terms) {
+        int length = terms.values().stream().mapToInt(Integer::intValue).sum();
+        terms.forEach((term, tf) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(key, tf));
+        documents.put(key, new Document(provider, Set.copyOf(terms.keySet()), length));
+        totalLength += length;
+    }
+
+    private void unindex(String key) {
+        Document removed = documents.remove(key);
+        if (removed == null) {
+            return;
+        }
+        for (String term : removed.terms()) {
+            Map<String, Integer> posting = postings.get(term);
+            posting.remove(key);
+            if (posting.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= removed.length();
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        StringBuilder word = new StringBuilder();
+        int previousCjk = -1;
+        boolean cjkRunEmitted = false;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (isCjk(codePoint)) {
+                flushWord(word, tokens);
+                if (previousCjk >= 0) {
+                    tokens.add(new StringBuilder().appendCodePoint(previousCjk).appendCodePoint(codePoint).toString());
+                    cjkRunEmitted = true;
+                }
+                previousCjk = codePoint;
+                continue;
+            }
+            flushCjk(previousCjk, cjkRunEmitted, tokens);
+            previousCjk = -1;
+            cjkRunEmitted = false;
+            if (Character.isLetterOrDigit(codePoint)) {
+                word.appendCodePoint(Character.toLowerCase(codePoint));
+            }
+            else {
+                flushWord(word, tokens);
+            }
+        }
+        flushCjk(previousCjk, cjkRunEmitted, tokens);
+        flushWord(word, tokens);
+        return tokens;
+    }
+
+    /** A lone CJK character produced no bigram; index it on its own. */
+    private static void flushCjk(int previousCjk, boolean runEmitted, List<String> tokens) {
+        if (previousCjk >= 0 && !runEmitted) {
+            tokens.add(new String(Character.toChars(previousCjk)));
+        }
+    }
+
+    private static void flushWord(StringBuilder word, List<String> tokens) {
+        if (word.length() > 1) {
+            tokens.add(word.toString());
+        }
+        word.setLength(0);
+    }
+
+    private static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+
+    private record Document(SkillProvider provider, Set<String> terms, int length) {
+    }
+}
@@ -3,6 +3,8 @@ package com.example.aitemplate.app;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.URLEncoder;
 import java.net.http.HttpClient;
@@ -12,87 +14,360 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 @Service
 public class SkillSourceImportService {
 
     private static final Logger log = LoggerFactory.getLogger(SkillSourceImportService.class);
+    /** Redirect stubs are a single relative path; anything larger is a real asset. */
+    private static final int MAX_REDIRECT_BYTES = 1024;
+    private static final Duration ARCHIVE_TIMEOUT = Duration.ofMinutes(5);
+    private static final List<String> ARCHIVE_SUFFIXES = List.of(".zip", ".tar.gz", ".tgz", ".tar");
     private static final Pattern SLUG_PATTERN = Pattern.compile("^([A-Za-z0-9_.-]+)/([A-Za-z0-9_.-]+)(?:@([A-Za-z0-9_.-]+))?$");
 
     private final SkillRegistry skillRegistry;
     private final ObjectMapper objectMapper;
     private final HttpClient httpClient;
+    private final SkillImportProperties importProperties;
+    private final SkillImportCache cache;
+    private final GitHubHosts hosts;
+    /** Start times of the imports in progress; eviction keeps every cache entry they may still use. */
+    private final Queue<Long> activeImports = new ConcurrentLinkedQueue<>();
+
+    @Autowired
+    public SkillSourceImportService(
+            SkillRegistry skillRegistry, ObjectMapper objectMapper, SkillImportProperties importProperties) {
+        this(skillRegistry, objectMapper, importProperties, GitHubHosts.PUBLIC);
+    }
 
-    public SkillSourceImportService(SkillRegistry skillRegistry, ObjectMapper objectMapper) {
+    SkillSourceImportService(
+            SkillRegistry skillRegistry, ObjectMapper objectMapper, SkillImportProperties importProperties, GitHubHosts hosts) {
         this.skillRegistry = skillRegistry;
         this.objectMapper = objectMapper;
+        this.importProperties = importProperties;
+        this.hosts = hosts;
+        this.cache = new SkillImportCache(Paths.get(importProperties.cacheDir()));
         this.httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
     }
 
+    /**
+     * Imports skills from {@code owner/repo[@skill]}, a GitHub or skills.sh URL, or a local
+     * {@code .zip}/{@code .tar.gz}/{@code .tgz}/{@code .tar} archive inside
+     * {@code app.skills.import.local-dir}. Remote repositories are read
+     * file by file through the raw host, or as one zip archive when {@code app.skills.import.archive}
+     * is enabled. Raw imports are incremental: GitHub API calls are conditional on the last ETag, files
+     * are looked up by blob SHA in the {@link SkillImportCache} before being fetched, and files that
+     * already hold the listed blob are not rewritten.
+     */
     public SkillRegistry.SkillImportResult importFromSource(String source) {
         log.info("[Import] Starting skill import from source: {}", source);
         String normalized = normalizeSource(source);
-        RepoRef repo = parseRepoRef(normalized);
+        Path localArchive = localArchivePath(normalized);
+        RepoRef repo = localArchive != null ? localRepoRef(localArchive) : parseRepoRef(normalized);
         log.info("[Import] Resolved target: owner={}, repo={}, skillHint={}", repo.owner(), repo.repo(), repo.skillHint());
 
         List<String> errors = new ArrayList<>();
         List<String> importedNames = new ArrayList<>();
-        int imported = 0;
+        SkillAssetDownloader downloader = new SkillAssetDownloader(httpClient, importProperties);
+        Long started = System.currentTimeMillis();
+        activeImports.add(started);
         try {
-            String defaultBranch = fetchDefaultBranch(repo.owner(), repo.repo());
-            log.info("[Import] Repository default branch: {}", defaultBranch);
+            if (localArchive != null) {
+                importFromArchive(repo, localArchive, importedNames, errors);
+            }
+            else {
+                String defaultBranch = fetchDefaultBranch(repo.owner(), repo.repo());
+                log.info("[Import] Repository default branch: {}", defaultBranch);
+                if (importProperties.archive()) {
+                    Path archive = downloadArchive(repo, defaultBranch);
+                    try {
+                        importFromArchive(repo, archive, importedNames, errors);
+                    }
+                    finally {
+                        Files.deleteIfExists(archive);
+                    }
+                }
+                else {
+                    importFromRawFiles(repo, defaultBranch, downloader, importedNames, errors);
+                }
+            }
+        }
+        catch (Exception ex) {
+            log.error("[Import] Import source failed for '{}': {}", source, ex.getMessage(), ex);
+            errors.add("Import source failed: " + ex.getMessage());
+        }
+        finally {
+            activeImports.remove(started);
+        }
+
+        evictCache();
 
-            // Fetch the full tree once — used for both SKILL.md and .py discovery
-            List<String> allPaths = fetchAllBlobPaths(repo.owner(), repo.repo(), defaultBranch);
-            List<String> skillPaths = filterSkillMdPaths(allPaths, repo.skillHint());
+        SkillAssetDownloader.Progress progress = downloader.progress();
+        log.info("[Import] Completed: imported={}, errors={}, assetsDownloaded={}, assetBytes={}, assetRetries={}",
+                importedNames.size(), errors.size(), progress.completed(), progress.bytes(), progress.retries());
+        return new SkillRegistry.SkillImportResult(importedNames.size(), errors, importedNames);
+    }
 
-            if (skillPaths.isEmpty()) {
-                log.warn("[Import] No SKILL.md files found in {}/{}", repo.owner(), repo.repo());
-                errors.add("No SKILL.md found in source: " + source);
-                return new SkillRegistry.SkillImportResult(0, errors, List.of());
+    /**
+     * Evicts down to the budget, keeping entries used since the oldest import still running (or
+     * since now, covering imports that start meanwhile). One second of slack covers file systems
+     * that store coarse modification times.
+     */
+    private void evictCache() {
+        long keepUsedSince = activeImports.stream().mapToLong(Long::longValue).min().orElse(Long.MAX_VALUE);
+        keepUsedSince = Math.min(keepUsedSince, System.currentTimeMillis()) - 1000;
+        try {
+            long freed = cache.evict(importProperties.cacheMaxBytes(), FileTime.fromMillis(keepUsedSince));
+            if (freed > 0) {
+                log.info("[Import] Evicted {} bytes from the import cache", freed);
             }
-            log.info("[Import] Found {} SKILL.md file(s) to process: {}", skillPaths.size(), skillPaths);
+        }
+        catch (IOException ex) {
+            log.warn("[Import] Import cache eviction failed: {}", ex.getMessage());
+        }
+    }
 
+    /**
+     * Imports file by file through the raw host. Every SKILL.md and redirect candidate is requested
+     * up front, and each skill's changed assets are requested as soon as the skill is planned, so
+     * downloads for different skills overlap; the downloader's global and per-host limits bound them.
+     * Skills are still saved and their assets installed in tree order.
+     */
+    private void importFromRawFiles(
+            RepoRef repo, String branch, SkillAssetDownloader downloader, List<String> importedNames, List<String> errors)
+            throws IOException, InterruptedException {
+        // Fetch the full tree once — used for both SKILL.md and .py discovery
+        Map<String, RemoteBlob> blobs = fetchAllBlobs(repo.owner(), repo.repo(), branch);
+        List<String> allPaths = List.copyOf(blobs.keySet());
+        List<String> skillPaths = findSkillPaths(repo, allPaths, errors);
+
+        RawFetches fetches = new RawFetches(downloader, repo, branch, blobs);
+        for (String path : skillPaths) {
+            fetches.fetch(path);
+            for (String assetPath : directAssetPaths(path, allPaths)) {
+                if (blobs.get(assetPath).size() <= MAX_REDIRECT_BYTES) {
+                    fetches.fetch(assetPath);
+                }
+            }
+        }
+        List<PlannedAssets> planned = new ArrayList<>();
+        for (String path : skillPaths) {
+            log.debug("[Import] Fetching file: {}", path);
+            try {
+                Path skillMd = await(fetches.fetch(path));
+                SkillDoc skillDoc = saveSkill(repo, path, Files.readString(skillMd, StandardCharsets.UTF_8),
+                        importedNames, skillPaths.size());
+
+                // Also download script/data assets from the same directory tree
+                planned.add(planSkillAssets(fetches, path, skillDoc.skillName(), skillDoc.version()));
+            }
+            catch (Exception ex) {
+                log.warn("[Import] Failed to import {}: {}", path, ex.getMessage());
+                errors.add("Failed to import " + path + ": " + ex.getMessage());
+            }
+        }
+        for (PlannedAssets assets : planned) {
+            installSkillAssets(fetches, assets, errors);
+        }
+    }
+
+    /**
+     * Imports from an archive on disk in two passes over it: the first reads every SKILL.md and the
+     * small files next to them (to recognise redirect stubs), the second streams the planned
+     * assets straight into the skill directories. Nothing but those small files is held in memory.
+     * Entry sizes come from the archive and are not trusted: an unknown size counts as too large,
+     * and every read is capped by the bytes actually streamed.
+     */
+    private void importFromArchive(RepoRef repo, Path archiveFile, List<String> importedNames, List<String> errors)
+            throws IOException {
+        long start = System.nanoTime();
+        try (SkillArchive archive = SkillArchive.open(archiveFile)) {
+            Map<String, Long> files = archive.files();
+            List<String> allPaths = List.copyOf(files.keySet());
+            log.info("[Import] Opened archive {} ({} file(s))", archiveFile, allPaths.size());
+            List<String> skillPaths = findSkillPaths(repo, allPaths, errors);
+
+            Set<String> smallFiles = new HashSet<>(skillPaths);
+            for (String skillPath : skillPaths) {
+                directAssetPaths(skillPath, allPaths).stream()
+                        .filter(asset -> files.get(asset) >= 0 && files.get(asset) <= MAX_REDIRECT_BYTES)
+                        .forEach(smallFiles::add);
+            }
+            // Read one byte past each cap, so an understated size shows up as an over-long read.
+            Set<String> skillPathSet = Set.copyOf(skillPaths);
+            Map<String, byte[]> smallContent = new HashMap<>();
+            archive.extract(smallFiles, (path, in) -> {
+                long cap = skillPathSet.contains(path) ? importProperties.maxAssetBytes() : MAX_REDIRECT_BYTES;
+                byte[] bytes = in.readNBytes((int) Math.min(cap + 1, Integer.MAX_VALUE - 8));
+                if (bytes.length <= cap) {
+                    smallContent.put(path, bytes);
+                }
+            });
+
+            // Source path -> every file it is copied to; one source can serve several skills.
+            Map<String, List<Path>> targets = new LinkedHashMap<>();
             for (String path : skillPaths) {
-                log.debug("[Import] Fetching file: {}", path);
                 try {
-                    String fileContent = fetchRawFile(repo.owner(), repo.repo(), defaultBranch, path);
-                    SkillDoc skillDoc = parseSkillDoc(repo, path, fileContent);
-                    log.info("[Import] Parsed skill: {}@{} (contentLength={})",
-                            skillDoc.skillName(), skillDoc.version(), skillDoc.content().length());
-                    skillRegistry.upsertDynamic(skillDoc.skillName(), skillDoc.version(), skillDoc.content());
-                    importedNames.add(skillDoc.skillName() + "@" + skillDoc.version());
-                    imported++;
-                    log.info("[Import] Saved skill {}/{}: {}@{}",
-                            imported, skillPaths.size(), skillDoc.skillName(), skillDoc.version());
-
-                    // Also download script/data assets from the same directory tree
-                    downloadSkillAssets(repo, defaultBranch, path, allPaths, skillDoc.skillName(), skillDoc.version(), errors);
+                    byte[] skillMd = smallContent.get(path);
+                    if (skillMd == null) {
+                        throw new IOException("SKILL.md exceeds " + importProperties.maxAssetBytes() + " bytes");
+                    }
+                    SkillDoc skillDoc = saveSkill(repo, path, new String(skillMd, StandardCharsets.UTF_8),
+                            importedNames, skillPaths.size());
+                    Map<String, String> redirects = new HashMap<>();
+                    for (String asset : directAssetPaths(path, allPaths)) {
+                        String redirect = parseRedirect(smallContent.get(asset));
+                        if (redirect != null) {
+                            redirects.put(asset, redirect);
+                        }
+                    }
+                    Path skillVersionDir = skillRegistry.skillVersionDir(skillDoc.skillName(), skillDoc.version());
+                    buildCopyPlan(path, allPaths, redirects, skillDoc.skillName(), skillDoc.version())
+                            .forEach((rel, source) -> {
+                                long size = files.get(source);
+                                if (size < 0 || size > importProperties.maxAssetBytes()) {
+                                    log.warn("[Import] Skipping asset {}: size {} unknown or over max-asset-bytes", source, size);
+                                    errors.add("Skipped asset " + source + ": exceeds " + importProperties.maxAssetBytes() + " bytes");
+                                    return;
+                                }
+                                targets.computeIfAbsent(source, k -> new ArrayList<>())
+                                        .add(skillVersionDir.resolve(rel.replace('/', java.io.File.separatorChar)));
+                            });
                 }
                 catch (Exception ex) {
                     log.warn("[Import] Failed to import {}: {}", path, ex.getMessage());
                     errors.add("Failed to import " + path + ": " + ex.getMessage());
                 }
             }
+
+            // Capped again while streaming: the declared size may understate the entry.
+            archive.extract(targets.keySet(), importProperties.maxAssetBytes(), (source, in) -> {
+                List<Path> outputs = targets.get(source);
+                try {
+                    installAsset(in, outputs.get(0));
+                    for (int i = 1; i < outputs.size(); i++) {
+                        installAsset(outputs.get(0), outputs.get(i));
+                    }
+                }
+                catch (IOException ex) {
+                    log.warn("[Import] Failed to extract asset {}: {}", source, ex.getMessage());
+                    errors.add("Failed to extract asset " + source + ": " + ex.getMessage());
+                }
+            });
+            log.info("[Import] Extracted {} asset file(s) from archive in {}ms", targets.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
         }
-        catch (Exception ex) {
-            log.error("[Import] Import source failed for '{}': {}", source, ex.getMessage(), ex);
-            errors.add("Import source failed: " + ex.getMessage());
+    }
+
+    private List<String> findSkillPaths(RepoRef repo, List<String> allPaths, List<String> errors) {
+        List<String> skillPaths = filterSkillMdPaths(allPaths, repo.skillHint());
+        if (skillPaths.isEmpty()) {
+            log.warn("[Import] No SKILL.md files found in {}/{}", repo.owner(), repo.repo());
+            errors.add("No SKILL.md found in source: " + repo.owner() + "/" + repo.repo());
+        }
+        else {
+            log.info("[Import] Found {} SKILL.md file(s) to process: {}", skillPaths.size(), skillPaths);
+        }
+        return skillPaths;
+    }
+
+    private SkillDoc saveSkill(RepoRef repo, String path, String fileContent, List<String> importedNames, int total) {
+        SkillDoc skillDoc = parseSkillDoc(repo, path, fileContent);
+        log.info("[Import] Parsed skill: {}@{} (contentLength={})",
+                skillDoc.skillName(), skillDoc.version(), skillDoc.content().length());
+        skillRegistry.upsertDynamic(skillDoc.skillName(), skillDoc.version(), skillDoc.content());
+        importedNames.add(skillDoc.skillName() + "@" + skillDoc.version());
+        log.info("[Import] Saved skill {}/{}: {}@{}", importedNames.size(), total, skillDoc.skillName(), skillDoc.version());
+        return skillDoc;
+    }
+
+    /** Streams the repository zip for {@code branch} to a temp file; the caller deletes it. */
+    private Path downloadArchive(RepoRef repo, String branch) throws IOException, InterruptedException {
+        URI uri = URI.create(hosts.codeload() + "/" + encode(repo.owner()) + "/" + encode(repo.repo())
+                + "/zip/" + encode(branch));
+        Path archive = Files.createTempFile("skill-import-", ".zip");
+        log.info("[Import] Downloading archive: {}", uri);
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(uri)
+                .timeout(ARCHIVE_TIMEOUT)
+                .header("User-Agent", "ai-template-importer")
+                .GET()
+                .build();
+        try {
+            HttpResponse<Path> response = httpClient.send(request, HttpResponse.BodyHandlers.ofFile(archive));
+            if (response.statusCode() >= 400) {
+                throw new IOException("archive download failed: " + response.statusCode());
+            }
+            log.info("[Import] Downloaded archive ({} bytes)", Files.size(archive));
+            return archive;
+        }
+        catch (IOException | InterruptedException | RuntimeException ex) {
+            Files.deleteIfExists(archive);
+            throw ex;
+        }
+    }
+
+    /**
+     * The source as a local archive path, or {@code null} if it names a remote repository. Relative
+     * paths resolve against {@code local-dir}; the real path, with symlinks resolved, must lie inside it.
+     */
+    private Path localArchivePath(String source) {
+        String lower = source.toLowerCase(Locale.ROOT);
+        boolean archiveName = ARCHIVE_SUFFIXES.stream().anyMatch(lower::endsWith);
+        if (!archiveName || lower.startsWith("http://") || lower.startsWith("https://")) {
+            return null;
+        }
+        if (importProperties.localDir() == null) {
+            throw new IllegalArgumentException("Local archive imports are disabled; set app.skills.import.local-dir");
+        }
+        try {
+            Path root = Paths.get(importProperties.localDir()).toRealPath();
+            Path path = root.resolve(lower.startsWith("file:") ? Paths.get(URI.create(source)) : Paths.get(source));
+            Path real = Files.isRegularFile(path) ? path.toRealPath() : null;
+            // Same answer for missing and out-of-root files, so the endpoint cannot probe the file system.
+            if (real == null || !real.startsWith(root)) {
+                throw new IllegalArgumentException("Archive not found in app.skills.import.local-dir: " + source);
+            }
+            return real;
+        }
+        catch (IOException ex) {
+            throw new IllegalArgumentException("Archive file not readable: " + source, ex);
         }
+    }
 
-        log.info("[Import] Completed: imported={}, errors={}", imported, errors.size());
-        return new SkillRegistry.SkillImportResult(imported, errors, importedNames);
+    /** Skills from a local archive are named {@code local/<archive name>/<path>} unless front-matter names them. */
+    private RepoRef localRepoRef(Path archive) {
+        String name = archive.getFileName().toString();
+        for (String suffix : ARCHIVE_SUFFIXES) {
+            if (name.toLowerCase(Locale.ROOT).endsWith(suffix)) {
+                name = name.substring(0, name.length() - suffix.length());
+                break;
+            }
+        }
+        return new RepoRef("local", name, null);
     }
 
     /**
@@ -100,30 +375,225 @@ public class SkillSourceImportService {
      * and persist them byte-for-byte into the runtime skill directory.
      *
      * This keeps script + data dependencies together and avoids corrupting binary assets.
+     * Only files small enough to be redirect stubs (by the size in the tree) are read up front;
+     * after planning, a target that already holds the listed blob is left alone, and every other
+     * source is taken from the blob cache or, on a miss, requested from {@code fetches} without
+     * waiting for it. {@link #installSkillAssets} later replaces the targets from the cached files
+     * via {@link #installAsset(Path, Path)}, so no asset is ever held in memory.
+     */
+    private PlannedAssets planSkillAssets(RawFetches fetches, String skillMdPath, String skillName, String version)
+            throws InterruptedException {
+        List<String> allPaths = List.copyOf(fetches.blobs().keySet());
+        long start = System.nanoTime();
+        Map<String, String> redirects = new HashMap<>();
+        for (String assetPath : directAssetPaths(skillMdPath, allPaths)) {
+            if (fetches.blobs().get(assetPath).size() <= MAX_REDIRECT_BYTES) {
+                String redirect = relativeRedirect(fetches.fetch(assetPath));
+                if (redirect != null) {
+                    redirects.put(assetPath, redirect);
+                }
+            }
+        }
+
+        Map<String, String> copyPlan = buildCopyPlan(skillMdPath, allPaths, redirects, skillName, version);
+        Path skillVersionDir = skillRegistry.skillVersionDir(skillName, version);
+        SkillAssetManifest manifest = SkillAssetManifest.load(skillVersionDir);
+        Map<String, Path> changed = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : copyPlan.entrySet()) {
+            Path targetFile = skillVersionDir.resolve(entry.getKey().replace('/', java.io.File.separatorChar));
+            String sourcePath = entry.getValue();
+            try {
+                RemoteBlob blob = fetches.blobs().get(sourcePath);
+                if (manifest.holds(entry.getKey(), targetFile, blob.sha(), blob.size())) {
+                    continue;
+                }
+            }
+            catch (IOException ex) {
+                log.debug("[Import] Could not compare {} with {}: {}", targetFile, sourcePath, ex.getMessage());
+            }
+            changed.put(entry.getKey(), targetFile);
+            fetches.fetch(sourcePath);
+        }
+        return new PlannedAssets(skillName, version, copyPlan, changed, manifest, start);
+    }
+
+    private void installSkillAssets(RawFetches fetches, PlannedAssets assets, List<String> errors)
+            throws InterruptedException {
+        int saved = 0;
+        for (Map.Entry<String, Path> entry : assets.changed().entrySet()) {
+            String sourcePath = assets.copyPlan().get(entry.getKey());
+            Path targetFile = entry.getValue();
+            try {
+                Path content = await(fetches.fetch(sourcePath));
+                installAsset(content, targetFile);
+                assets.manifest().record(entry.getKey(), targetFile, fetches.blobs().get(sourcePath).sha());
+                saved++;
+                log.debug("[Import] Saved asset: {} -> {} ({} bytes)", sourcePath, targetFile, Files.size(targetFile));
+            }
+            catch (IOException ex) {
+                log.warn("[Import] Failed to download asset {}: {}", sourcePath, ex.getMessage());
+                errors.add("Failed to download asset " + sourcePath + ": " + ex.getMessage());
+            }
+        }
+        assets.manifest().retainAll(assets.copyPlan().keySet());
+        try {
+            assets.manifest().write();
+        }
+        catch (IOException ex) {
+            log.warn("[Import] Could not write the asset manifest for {}@{}: {}", assets.skillName(), assets.version(),
+                    ex.getMessage());
+        }
+        if (!assets.copyPlan().isEmpty()) {
+            log.info("[Import] Saved {}/{} changed asset(s) for {}@{} ({} unchanged) in {}ms", saved,
+                    assets.changed().size(), assets.skillName(), assets.version(),
+                    assets.copyPlan().size() - assets.changed().size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - assets.start()));
+        }
+    }
+
+    /**
+     * Target-relative path → source path for every asset of one skill, the targets that need
+     * writing, and the manifest of blobs installed there.
      */
-    private void downloadSkillAssets(
-            RepoRef repo,
-            String branch,
-            String skillMdPath,
-            List<String> allPaths,
-            String skillName,
-            String version,
-            List<String> errors) {
+    private record PlannedAssets(String skillName, String version, Map<String, String> copyPlan,
+            Map<String, Path> changed, SkillAssetManifest manifest, long start) {
+    }
+
+    /** Raw-host downloads of one import, started once per blob SHA and shared by every path that lists it. */
+    private final class RawFetches {
+        private final SkillAssetDownloader downloader;
+        private final RepoRef repo;
+        private final String branch;
+        private final Map<String, RemoteBlob> blobs;
+        private final Map<String, CompletableFuture<Path>> bySha = new HashMap<>();
+
+        RawFetches(SkillAssetDownloader downloader, RepoRef repo, String branch, Map<String, RemoteBlob> blobs) {
+            this.downloader = downloader;
+            this.repo = repo;
+            this.branch = branch;
+            this.blobs = blobs;
+        }
+
+        Map<String, RemoteBlob> blobs() {
+            return blobs;
+        }
+
+        /** The download of {@code path}, started on first request; later requests for the same blob share it. */
+        CompletableFuture<Path> fetch(String path) throws InterruptedException {
+            RemoteBlob blob = blobs.get(path);
+            CompletableFuture<Path> fetch = bySha.get(blob.sha());
+            if (fetch == null) {
+                fetch = fetchBlob(downloader, repo, branch, path, blob);
+                bySha.put(blob.sha(), fetch);
+            }
+            return fetch;
+        }
+    }
+
+    /**
+     * Cached file holding one tree entry. On a miss the entry is streamed to a temp file through
+     * {@code downloader}, capped at {@code max-asset-bytes}, and committed to the cache only if its
+     * git blob SHA matches the tree; anything else fails the download.
+     */
+    private CompletableFuture<Path> fetchBlob(
+            SkillAssetDownloader downloader, RepoRef repo, String branch, String path, RemoteBlob blob)
+            throws InterruptedException {
+        Optional<Path> cached = cache.blob(blob.sha());
+        if (cached.isPresent()) {
+            log.debug("[Import] Blob cache hit: {} ({})", path, blob.sha());
+            return CompletableFuture.completedFuture(cached.get());
+        }
+        if (blob.size() > importProperties.maxAssetBytes()) {
+            return CompletableFuture.failedFuture(
+                    new SkillAssetDownloader.AssetTooLargeException(blob.size(), importProperties.maxAssetBytes()));
+        }
+        Path temp;
+        try {
+            temp = cache.newTempFile();
+        }
+        catch (IOException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+        return downloader.fetchToFile(rawFileUri(repo.owner(), repo.repo(), branch, path), temp,
+                        importProperties.maxAssetBytes(), () -> SkillImportCache.gitBlobDigest(blob.size()))
+                .thenApply(download -> {
+                    try {
+                        if (!download.digest().equals(blob.sha())) {
+                            throw new IOException("checksum mismatch: expected blob " + blob.sha() + ", got " + download.digest());
+                        }
+                        return cache.commitBlob(blob.sha(), temp);
+                    }
+                    catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                })
+                .whenComplete((committed, error) -> {
+                    if (error != null) {
+                        deleteQuietly(temp);
+                    }
+                });
+    }
+
+    /**
+     * Replaces {@code target} with the content of {@code source} via a temp file in the target's
+     * directory, so readers see either the old file or the complete new one.
+     */
+    private void installAsset(Path source, Path target) throws IOException {
+        try (InputStream in = Files.newInputStream(source)) {
+            installAsset(in, target);
+        }
+    }
+
+    private void installAsset(InputStream content, Path target) throws IOException {
+        ensureParentDirectory(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), ".import-", ".tmp");
+        try {
+            Files.copy(content, temp, StandardCopyOption.REPLACE_EXISTING);
+            SkillImportCache.moveIntoPlace(temp, target);
+        }
+        finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        }
+        catch (IOException ex) {
+            log.debug("[Import] Could not delete {}: {}", file, ex.getMessage());
+        }
+    }
+
+    private List<String> directAssetPaths(String skillMdPath, List<String> allPaths) {
         String skillDir = skillMdPath.contains("/")
                 ? skillMdPath.substring(0, skillMdPath.lastIndexOf('/') + 1)
                 : "";
-        List<String> directAssetPaths = allPaths.stream()
+        return allPaths.stream()
                 .filter(p -> p.startsWith(skillDir) && !p.equals(skillMdPath))
                 .toList();
+    }
+
+    /**
+     * Relative target path → repository source path for the assets of one skill. Files next to
+     * SKILL.md are copied as they are; a redirect stub (asset path → relative target in
+     * {@code redirects}) is replaced by the files it points to. The first source wins a target.
+     */
+    private Map<String, String> buildCopyPlan(
+            String skillMdPath, List<String> allPaths, Map<String, String> redirects, String skillName, String version) {
+        String skillDir = skillMdPath.contains("/")
+                ? skillMdPath.substring(0, skillMdPath.lastIndexOf('/') + 1)
+                : "";
+        List<String> directAssetPaths = directAssetPaths(skillMdPath, allPaths);
         if (directAssetPaths.isEmpty()) {
             log.debug("[Import] No script/data assets found alongside {}", skillMdPath);
-            return;
+            return Map.of();
         }
 
         Map<String, String> copyPlan = new LinkedHashMap<>();
         for (String assetPath : directAssetPaths) {
             String rel = assetPath.substring(skillDir.length());
-            String redirect = tryReadRelativeRedirect(repo, branch, assetPath);
+            String redirect = redirects.get(assetPath);
             if (redirect == null) {
                 copyPlan.putIfAbsent(rel, assetPath);
                 continue;
@@ -148,26 +618,10 @@ public class SkillSourceImportService {
 
         if (copyPlan.isEmpty()) {
             log.warn("[Import] Found assets for {}@{} but no downloadable files after resolving redirects", skillName, version);
-            return;
+            return Map.of();
         }
         log.info("[Import] Found {} asset file(s) for {}@{} after redirect resolution", copyPlan.size(), skillName, version);
-
-        Path skillVersionDir = skillRegistry.skillVersionDir(skillName, version);
-        for (Map.Entry<String, String> entry : copyPlan.entrySet()) {
-            String relativePath = entry.getKey();
-            String sourcePath = entry.getValue();
-            try {
-                byte[] content = fetchRawFileBytes(repo.owner(), repo.repo(), branch, sourcePath);
-                Path targetFile = skillVersionDir.resolve(relativePath.replace('/', java.io.File.separatorChar));
-                ensureParentDirectory(targetFile.getParent());
-                Files.write(targetFile, content);
-                log.info("[Import] Saved asset: {} -> {} ({} bytes)", sourcePath, targetFile, content.length);
-            }
-            catch (Exception ex) {
-                log.warn("[Import] Failed to download asset {}: {}", sourcePath, ex.getMessage());
-                errors.add("Failed to download asset " + sourcePath + ": " + ex.getMessage());
-            }
-        }
+        return copyPlan;
     }
 
     private void ensureParentDirectory(Path dir) throws IOException {
@@ -184,25 +638,44 @@ public class SkillSourceImportService {
         Files.createDirectories(dir);
     }
 
-    private String tryReadRelativeRedirect(RepoRef repo, String branch, String assetPath) {
+    /** Target of a redirect stub, or {@code null} if the asset is a regular file or failed to download. */
+    private String relativeRedirect(CompletableFuture<Path> download) throws InterruptedException {
         try {
-            String content = fetchRawFile(repo.owner(), repo.repo(), branch, assetPath).trim();
-            if (content.isBlank()) {
-                return null;
-            }
-            // Some skill repos use tiny text files as path redirects:
-            // scripts -> ../../../src/xxx/scripts
-            if (content.contains("\n") || content.contains("\r")) {
-                return null;
-            }
-            if (content.startsWith("../") || content.startsWith("./")) {
-                return content.replace('\\', '/');
-            }
+            Path file = await(download);
+            return Files.size(file) > MAX_REDIRECT_BYTES ? null : parseRedirect(Files.readAllBytes(file));
+        }
+        catch (IOException ex) {
             return null;
         }
-        catch (Exception ex) {
+    }
+
+    private static String parseRedirect(byte[] bytes) {
+        if (bytes == null || bytes.length > MAX_REDIRECT_BYTES) {
             return null;
         }
+        String content = new String(bytes, StandardCharsets.UTF_8).trim();
+        if (content.isBlank()) {
+            return null;
+        }
+        // Some skill repos use tiny text files as path redirects:
+        // scripts -> ../../../src/xxx/scripts
+        if (content.contains("\n") || content.contains("\r")) {
+            return null;
+        }
+        if (content.startsWith("../") || content.startsWith("./")) {
+            return content.replace('\\', '/');
+        }
+        return null;
+    }
+
+    private static <T> T await(CompletableFuture<T> download) throws IOException, InterruptedException {
+        try {
+            return download.get();
+        }
+        catch (ExecutionException ex) {
+            Throwable cause = ex.getCause() instanceof UncheckedIOException unchecked ? unchecked.getCause() : ex.getCause();
+            throw cause instanceof IOException io ? io : new IOException(cause);
+        }
     }
 
     private List<String> resolveRedirectedBlobPaths(List<String> allPaths, String redirectFilePath, String redirect) {
@@ -259,7 +732,7 @@ public class SkillSourceImportService {
     }
 
     private String fetchDefaultBranch(String owner, String repo) throws IOException, InterruptedException {
-        String url = "https://api.github.com/repos/" + encode(owner) + "/" + encode(repo);
+        String url = hosts.api() + "/repos/" + encode(owner) + "/" + encode(repo);
         log.debug("[Import] GET {}", url);
         JsonNode node = getJson(url);
         JsonNode branch = node.get("default_branch");
@@ -269,24 +742,25 @@ public class SkillSourceImportService {
         return branch.asText();
     }
 
-    /** Fetch all blob paths from the repo tree. */
-    private List<String> fetchAllBlobPaths(String owner, String repo, String branch)
+    /** Fetch all blobs from the repo tree: path → SHA and size, in tree order. */
+    private Map<String, RemoteBlob> fetchAllBlobs(String owner, String repo, String branch)
             throws IOException, InterruptedException {
-        String url = "https://api.github.com/repos/" + encode(owner) + "/" + encode(repo)
+        String url = hosts.api() + "/repos/" + encode(owner) + "/" + encode(repo)
                 + "/git/trees/" + encode(branch) + "?recursive=1";
         log.debug("[Import] GET tree: {}", url);
         JsonNode root = getJson(url);
         JsonNode tree = root.get("tree");
         if (tree == null || !tree.isArray()) {
-            return List.of();
+            return Map.of();
         }
-        List<String> paths = new ArrayList<>();
+        Map<String, RemoteBlob> blobs = new LinkedHashMap<>();
         for (JsonNode entry : tree) {
             if ("blob".equals(entry.path("type").asText())) {
-                paths.add(entry.path("path").asText(""));
+                blobs.put(entry.path("path").asText(""),
+                        new RemoteBlob(entry.path("sha").asText(""), entry.path("size").asLong(Long.MAX_VALUE)));
             }
         }
-        return paths;
+        return blobs;
     }
 
     private List<String> filterSkillMdPaths(List<String> allPaths, String skillHint) {
@@ -303,28 +777,9 @@ public class SkillSourceImportService {
                 .toList();
     }
 
-    private String fetchRawFile(String owner, String repo, String branch, String path)
-            throws IOException, InterruptedException {
-        byte[] bytes = fetchRawFileBytes(owner, repo, branch, path);
-        return new String(bytes, StandardCharsets.UTF_8);
-    }
-
-    private byte[] fetchRawFileBytes(String owner, String repo, String branch, String path)
-            throws IOException, InterruptedException {
-        String url = "https://raw.githubusercontent.com/" + encode(owner) + "/" + encode(repo)
-                + "/" + encode(branch) + "/" + path;
-        log.debug("[Import] GET raw: {}", url);
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(url))
-                .timeout(Duration.ofSeconds(20))
-                .header("Accept", "*/*")
-                .GET()
-                .build();
-        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
-        if (response.statusCode() >= 400) {
-            throw new IOException("raw fetch failed: " + response.statusCode());
-        }
-        return response.body();
+    private URI rawFileUri(String owner, String repo, String branch, String path) {
+        return URI.create(hosts.raw() + "/" + encode(owner) + "/" + encode(repo)
+                + "/" + encode(branch) + "/" + path);
     }
 
     private SkillDoc parseSkillDoc(RepoRef repo, String path, String markdown) {
@@ -372,18 +827,33 @@ public class SkillSourceImportService {
         return normalized;
     }
 
+    /**
+     * GitHub API GET, conditional on the ETag of the last response for {@code url}: a
+     * {@code 304 Not Modified} (which GitHub does not count against the rate limit) replays the
+     * cached body.
+     */
     private JsonNode getJson(String url) throws IOException, InterruptedException {
-        HttpRequest request = HttpRequest.newBuilder()
+        Optional<SkillImportCache.CachedResponse> cached = cache.response(url);
+        HttpRequest.Builder request = HttpRequest.newBuilder()
                 .uri(URI.create(url))
                 .timeout(Duration.ofSeconds(20))
                 .header("Accept", "application/vnd.github+json")
                 .header("User-Agent", "ai-template-importer")
-                .GET()
-                .build();
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+                .GET();
+        cached.ifPresent(response -> request.header("If-None-Match", response.etag()));
+        HttpResponse<String> response =
+                httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        if (response.statusCode() == 304 && cached.isPresent()) {
+            log.debug("[Import] Not modified: {}", url);
+            return objectMapper.readTree(cached.get().body());
+        }
         if (response.statusCode() >= 400) {
             throw new IOException("GitHub API failed: " + response.statusCode());
         }
+        Optional<String> etag = response.headers().firstValue("ETag");
+        if (etag.isPresent()) {
+            cache.storeResponse(url, etag.get(), response.body());
+        }
         return objectMapper.readTree(response.body());
     }
 
@@ -396,4 +866,14 @@ public class SkillSourceImportService {
 
     private record SkillDoc(String skillName, String version, String content) {
     }
+
+    /** A file in the remote tree: its git blob SHA and size in bytes. */
+    private record RemoteBlob(String sha, long size) {
+    }
+
+    /** Base URLs of the GitHub API, raw file and archive hosts; tests point them at a local server. */
+    record GitHubHosts(String api, String raw, String codeload) {
+        static final GitHubHosts PUBLIC = new GitHubHosts(
+                "https://api.github.com", "https://raw.githubusercontent.com", "https://codeload.github.com");
+    }
 }
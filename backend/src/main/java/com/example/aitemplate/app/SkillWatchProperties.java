@@ -0,0 +1,26 @@
+package com.example.aitemplate.app;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Watching {@code app.skills.local-dir} for on-disk changes. Events are applied once the directory
+ * has been quiet for {@code debounce}; {@code maxDelay} caps how long a steady stream of events
+ * can postpone that.
+ */
+@ConfigurationProperties(prefix = "app.skills.watch")
+public record SkillWatchProperties(Boolean enabled, Duration debounce, Duration maxDelay) {
+
+    public SkillWatchProperties {
+        enabled = enabled == null || enabled;
+        debounce = debounce == null || debounce.isNegative() ? Duration.ofMillis(500) : debounce;
+        maxDelay = maxDelay == null ? Duration.ofSeconds(5) : maxDelay;
+        if (maxDelay.compareTo(debounce) < 0) {
+            maxDelay = debounce;
+        }
+    }
+
+    public static SkillWatchProperties defaults() {
+        return new SkillWatchProperties(null, null, null);
+    }
+}
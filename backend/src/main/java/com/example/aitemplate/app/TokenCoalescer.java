@@ -0,0 +1,104 @@
+package com.example.aitemplate.app;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Merges consecutive token chunks of a tagged chat stream into larger items.
+ *
+ * <p>The first token passes through untouched so time-to-first-token is unchanged. Later tokens
+ * are buffered until the buffer reaches {@code maxChars} or {@code flushInterval} elapses since
+ * the first buffered chunk. Non-token items (tool calls, skill events, ...) flush the buffer and keep
+ * their position in the stream.
+ */
+public final class TokenCoalescer {
+
+    private TokenCoalescer() {
+    }
+
+    public static Flux<String> coalesce(
+            Flux<String> items, Predicate<String> isToken, int maxChars, Duration flushInterval) {
+        return coalesce(items, isToken, maxChars, flushInterval, Schedulers.parallel());
+    }
+
+    static Flux<String> coalesce(
+            Flux<String> items, Predicate<String> isToken, int maxChars, Duration flushInterval, Scheduler timer) {
+        return Flux.create(sink -> {
+            Buffer buffer = new Buffer(sink, isToken, maxChars, flushInterval, timer);
+            Disposable upstream = items.subscribe(
+                    buffer::onNext,
+                    error -> {
+                        buffer.flush();
+                        sink.error(error);
+                    },
+                    () -> {
+                        buffer.flush();
+                        sink.complete();
+                    });
+            sink.onDispose(() -> {
+                upstream.dispose();
+                buffer.cancelTimer();
+            });
+        });
+    }
+
+    private static final class Buffer {
+        private final FluxSink<String> sink;
+        private final Predicate<String> isToken;
+        private final int maxChars;
+        private final Duration flushInterval;
+        private final Scheduler timer;
+        private final StringBuilder pending = new StringBuilder();
+        private boolean firstTokenSent;
+        private Disposable scheduledFlush;
+
+        Buffer(FluxSink<String> sink, Predicate<String> isToken, int maxChars, Duration flushInterval, Scheduler timer) {
+            this.sink = sink;
+            this.isToken = isToken;
+            this.maxChars = maxChars;
+            this.flushInterval = flushInterval;
+            this.timer = timer;
+        }
+
+        synchronized void onNext(String item) {
+            if (!isToken.test(item)) {
+                flush();
+                sink.next(item);
+                return;
+            }
+            if (!firstTokenSent) {
+                firstTokenSent = true;
+                sink.next(item);
+                return;
+            }
+            pending.append(item);
+            if (pending.length() >= maxChars || flushInterval.isZero()) {
+                flush();
+            } else if (scheduledFlush == null) {
+                scheduledFlush = timer.schedule(this::flush, flushInterval.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+
+        synchronized void flush() {
+            cancelTimer();
+            if (pending.length() > 0) {
+                String frame = pending.toString();
+                pending.setLength(0);
+                sink.next(frame);
+            }
+        }
+
+        synchronized void cancelTimer() {
+            if (scheduledFlush != null) {
+                scheduledFlush.dispose();
+                scheduledFlush = null;
+            }
+        }
+    }
+}
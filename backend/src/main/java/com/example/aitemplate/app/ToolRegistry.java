@@ -18,6 +18,11 @@ public class ToolRegistry {
         this.toolMap = this.tools.stream().collect(Collectors.toUnmodifiableMap(ToolAdapter::toolName, Function.identity()));
     }
 
+    /** Tools are fixed at startup, so the catalog never changes version. */
+    public long version() {
+        return 1;
+    }
+
     public List<ToolAdapter> list() {
         return tools;
     }
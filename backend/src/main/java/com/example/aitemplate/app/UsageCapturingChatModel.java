@@ -0,0 +1,69 @@
+package com.example.aitemplate.app;
+
+import com.example.aitemplate.core.chat.TokenUsage;
+import com.example.aitemplate.plugins.model.SpringAiUsage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import reactor.core.publisher.Flux;
+
+/**
+ * Decorates the Spring {@link ChatModel} handed to an agent run and sums the usage of every
+ * model round-trip the agent makes (a ReAct loop usually makes several). The number of
+ * round-trips is kept as the run's step count.
+ */
+final class UsageCapturingChatModel implements ChatModel {
+
+    private final ChatModel delegate;
+    private final AtomicReference<TokenUsage> total = new AtomicReference<>(TokenUsage.empty());
+    private final AtomicInteger calls = new AtomicInteger();
+
+    UsageCapturingChatModel(ChatModel delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        calls.incrementAndGet();
+        ChatResponse response = delegate.call(prompt);
+        add(SpringAiUsage.from(response));
+        return response;
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(Prompt prompt) {
+        // Streamed chunks report cumulative usage; only the last reported value counts.
+        calls.incrementAndGet();
+        AtomicReference<TokenUsage> last = new AtomicReference<>(TokenUsage.empty());
+        return delegate.stream(prompt)
+                .doOnNext(response -> {
+                    TokenUsage usage = SpringAiUsage.from(response);
+                    if (usage.reported()) {
+                        last.set(usage);
+                    }
+                })
+                .doOnComplete(() -> add(last.get()));
+    }
+
+    @Override
+    public ChatOptions getDefaultOptions() {
+        return delegate.getDefaultOptions();
+    }
+
+    TokenUsage usage() {
+        return total.get();
+    }
+
+    int calls() {
+        return calls.get();
+    }
+
+    private void add(TokenUsage usage) {
+        if (usage.reported()) {
+            total.accumulateAndGet(usage, TokenUsage::plus);
+        }
+    }
+}
@@ -3,10 +3,21 @@ package com.example.aitemplate.core.chat;
 import jakarta.validation.constraints.NotBlank;
 import java.util.List;
 
+/**
+ * @param skills   skill refs ({@code name} or {@code name@version}); {@code @auto} or {@code @auto:N}
+ *                 additionally selects the skills most relevant to {@code message}
+ * @param jsonMode ask the model for a single JSON object (provider JSON response format);
+ *                 only honoured by adapters whose capabilities advertise {@code jsonMode}
+ */
 public record ChatCommand(
         @NotBlank String conversationId,
         @NotBlank String modelId,
         @NotBlank String message,
         List<String> tools,
-        List<String> skills
-) {}
+        List<String> skills,
+        boolean jsonMode
+) {
+    public ChatCommand(String conversationId, String modelId, String message, List<String> tools, List<String> skills) {
+        this(conversationId, modelId, message, tools, skills, false);
+    }
+}
@@ -2,9 +2,17 @@ package com.example.aitemplate.core.chat;
 
 import java.util.List;
 
-public record ChatResult(String content, List<ToolCallInfo> toolCalls) {
+public record ChatResult(String content, List<ToolCallInfo> toolCalls, TokenUsage usage) {
+
+    public ChatResult {
+        usage = usage == null ? TokenUsage.empty() : usage;
+    }
 
     public ChatResult(String content) {
-        this(content, List.of());
+        this(content, List.of(), TokenUsage.empty());
+    }
+
+    public ChatResult(String content, List<ToolCallInfo> toolCalls) {
+        this(content, toolCalls, TokenUsage.empty());
     }
 }
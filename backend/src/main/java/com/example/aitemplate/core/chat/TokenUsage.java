@@ -0,0 +1,40 @@
+package com.example.aitemplate.core.chat;
+
+/**
+ * Token counts reported by a provider for one call (or summed over an agent run).
+ * {@code cachedTokens} is the part of {@code promptTokens} served from the provider's prompt cache.
+ */
+public record TokenUsage(int promptTokens, int completionTokens, int cachedTokens) {
+
+    private static final TokenUsage EMPTY = new TokenUsage(0, 0, 0);
+
+    public static TokenUsage empty() {
+        return EMPTY;
+    }
+
+    public static TokenUsage of(Integer promptTokens, Integer completionTokens, Integer cachedTokens) {
+        return new TokenUsage(
+                promptTokens == null ? 0 : promptTokens,
+                completionTokens == null ? 0 : completionTokens,
+                cachedTokens == null ? 0 : cachedTokens);
+    }
+
+    public int totalTokens() {
+        return promptTokens + completionTokens;
+    }
+
+    /** True when the provider reported anything at all. */
+    public boolean reported() {
+        return promptTokens > 0 || completionTokens > 0;
+    }
+
+    public TokenUsage plus(TokenUsage other) {
+        if (other == null) {
+            return this;
+        }
+        return new TokenUsage(
+                promptTokens + other.promptTokens,
+                completionTokens + other.completionTokens,
+                cachedTokens + other.cachedTokens);
+    }
+}
@@ -1,8 +1,16 @@
 package com.example.aitemplate.core.model;
 
-public record CapabilitySet(boolean chat, boolean tools, boolean jsonMode, boolean vision) {
+public record CapabilitySet(boolean chat, boolean tools, boolean jsonMode, boolean vision, boolean embeddings) {
+
+    public CapabilitySet(boolean chat, boolean tools, boolean jsonMode, boolean vision) {
+        this(chat, tools, jsonMode, vision, false);
+    }
 
     public static CapabilitySet chatOnly() {
         return new CapabilitySet(true, false, false, false);
     }
+
+    public static CapabilitySet embeddingOnly() {
+        return new CapabilitySet(false, false, false, false, true);
+    }
 }
@@ -0,0 +1,30 @@
+package com.example.aitemplate.core.model;
+
+import java.util.List;
+
+/**
+ * Text embedding model, registered alongside {@link ModelAdapter}s.
+ *
+ * <p>{@link #embed(List)} receives a whole batch and must return one vector per input, in order;
+ * callers should go through {@code EmbeddingService}, which batches concurrent requests and caches results.
+ */
+public interface EmbeddingAdapter {
+    String provider();
+
+    String modelId();
+
+    int dimensions();
+
+    /** Largest batch the provider accepts in one call. */
+    default int maxBatchSize() {
+        return 64;
+    }
+
+    default CapabilitySet capabilities() {
+        return CapabilitySet.embeddingOnly();
+    }
+
+    HealthStatus health();
+
+    List<float[]> embed(List<String> texts);
+}
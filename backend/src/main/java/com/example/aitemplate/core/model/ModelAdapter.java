@@ -2,6 +2,9 @@ package com.example.aitemplate.core.model;
 
 import com.example.aitemplate.core.chat.ChatCommand;
 import com.example.aitemplate.core.chat.ChatResult;
+import com.example.aitemplate.core.chat.TokenUsage;
+import java.net.URI;
+import java.util.function.Consumer;
 import reactor.core.publisher.Flux;
 
 public interface ModelAdapter {
@@ -16,4 +19,17 @@ public interface ModelAdapter {
     ChatResult invoke(ChatCommand command);
 
     Flux<String> stream(ChatCommand command);
+
+    /**
+     * Same text stream as {@link #stream(ChatCommand)}. Adapters that know the token usage of the
+     * answer hand it to {@code usageSink} once, before the stream completes; the default reports none.
+     */
+    default Flux<String> stream(ChatCommand command, Consumer<TokenUsage> usageSink) {
+        return stream(command);
+    }
+
+    /** Provider base URL, used to pre-open connections at startup; null for in-process models. */
+    default URI endpoint() {
+        return null;
+    }
 }
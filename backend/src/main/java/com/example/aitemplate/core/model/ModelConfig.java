@@ -9,7 +9,18 @@ public record ModelConfig(
         String modelName,
         boolean enabled,
         CapabilitySet capabilities,
-        int sortOrder) {
+        int sortOrder,
+        int requestsPerMinute,
+        int tokensPerMinute) {
+
+    /** Config without client-side rate limits (0 = unlimited). */
+    public ModelConfig(
+            String modelId, String provider, String displayName, String baseUrl,
+            String apiKey, String modelName, boolean enabled,
+            CapabilitySet capabilities, int sortOrder) {
+        this(modelId, provider, displayName, baseUrl, apiKey, modelName,
+                enabled, capabilities, sortOrder, 0, 0);
+    }
 
     public static ModelConfig openAiCompatible(
             String modelId, String displayName, String baseUrl,
@@ -0,0 +1,19 @@
+package com.example.aitemplate.core.model;
+
+/**
+ * Raised when a request cannot obtain a client-side rate-limit permit for a model
+ * before its queue deadline, or when the model's wait queue is already full.
+ */
+public class ModelThrottledException extends RuntimeException {
+
+    private final String modelId;
+
+    public ModelThrottledException(String modelId, String message) {
+        super(message);
+        this.modelId = modelId;
+    }
+
+    public String modelId() {
+        return modelId;
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.aitemplate.core.skill;
 
+import java.nio.charset.StandardCharsets;
+
 public interface SkillProvider {
     String skillName();
 
@@ -7,6 +9,11 @@ public interface SkillProvider {
 
     String content();
 
+    /** Size of {@link #content()} in UTF-8 bytes; file-backed providers answer without reading the body. */
+    default long contentBytes() {
+        return content().getBytes(StandardCharsets.UTF_8).length;
+    }
+
     default String augmentUserPrompt(String prompt) {
         return prompt;
     }
@@ -0,0 +1,116 @@
+package com.example.aitemplate.core.skill;
+
+import java.util.Comparator;
+import java.util.Locale;
+
+/**
+ * Semantic-version ordering for skill versions: {@code 1.10.0 > 1.9.0}, a release sorts above
+ * its pre-releases ({@code 1.0.0 > 1.0.0-rc.1}) and build metadata is ignored. A leading
+ * {@code v} is allowed and missing segments count as 0. Versions that compare equal but are
+ * spelled differently ({@code 1.0} vs {@code 1.0.0}, {@code v1.0.0} vs {@code 1.0.0},
+ * {@code 1.0.0-RC1} vs {@code 1.0.0-rc1}) fall back to the order of the raw strings, so the
+ * comparator is consistent with {@code equals} and safe as a sorted-map key order.
+ */
+public final class SkillVersion {
+
+    public static final Comparator<String> ORDER = SkillVersion::compare;
+    private static final Comparator<String> RAW_ORDER = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    private SkillVersion() {
+    }
+
+    public static int compare(String left, String right) {
+        String a = normalize(left);
+        String b = normalize(right);
+        int semantic = compareSemantic(a, b);
+        if (semantic != 0) {
+            return semantic;
+        }
+        int normalized = a.compareTo(b);
+        return normalized != 0 ? normalized : RAW_ORDER.compare(left, right);
+    }
+
+    private static int compareSemantic(String a, String b) {
+        int plusA = a.indexOf('+');
+        int plusB = b.indexOf('+');
+        String coreA = plusA < 0 ? a : a.substring(0, plusA);
+        String coreB = plusB < 0 ? b : b.substring(0, plusB);
+        int dashA = coreA.indexOf('-');
+        int dashB = coreB.indexOf('-');
+        int release = compareIdentifiers(
+                (dashA < 0 ? coreA : coreA.substring(0, dashA)).split("\\."),
+                (dashB < 0 ? coreB : coreB.substring(0, dashB)).split("\\."),
+                true);
+        if (release != 0) {
+            return release;
+        }
+        if (dashA < 0 || dashB < 0) {
+            // No pre-release ranks higher than any pre-release.
+            return Boolean.compare(dashA < 0, dashB < 0);
+        }
+        return compareIdentifiers(coreA.substring(dashA + 1).split("\\."), coreB.substring(dashB + 1).split("\\."), false);
+    }
+
+    /**
+     * Release segments pad with 0 ({@code 1.2 == 1.2.0}); pre-release identifiers follow SemVer,
+     * where the shorter list ranks lower when all shared identifiers are equal.
+     */
+    private static int compareIdentifiers(String[] a, String[] b, boolean padWithZero) {
+        int length = Math.max(a.length, b.length);
+        for (int i = 0; i < length; i++) {
+            if (!padWithZero && (i >= a.length || i >= b.length)) {
+                return Integer.compare(a.length, b.length);
+            }
+            String left = i < a.length ? a[i] : "0";
+            String right = i < b.length ? b[i] : "0";
+            int result = compareIdentifier(left, right);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    /** Numeric identifiers compare numerically and rank below alphanumeric ones. */
+    private static int compareIdentifier(String left, String right) {
+        boolean numericLeft = isNumeric(left);
+        boolean numericRight = isNumeric(right);
+        if (numericLeft && numericRight) {
+            String a = stripLeadingZeros(left);
+            String b = stripLeadingZeros(right);
+            return a.length() != b.length() ? Integer.compare(a.length(), b.length()) : a.compareTo(b);
+        }
+        if (numericLeft != numericRight) {
+            return numericLeft ? -1 : 1;
+        }
+        return left.compareTo(right);
+    }
+
+    private static boolean isNumeric(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (!Character.isDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String stripLeadingZeros(String digits) {
+        int i = 0;
+        while (i < digits.length() - 1 && digits.charAt(i) == '0') {
+            i++;
+        }
+        return digits.substring(i);
+    }
+
+    private static String normalize(String version) {
+        if (version == null || version.isBlank()) {
+            return "0";
+        }
+        String trimmed = version.trim().toLowerCase(Locale.ROOT);
+        return trimmed.startsWith("v") ? trimmed.substring(1) : trimmed;
+    }
+}
@@ -38,6 +38,12 @@ public class ModelConfigEntity {
     @TableField("sort_order")
     private int sortOrder;
 
+    @TableField("requests_per_minute")
+    private int requestsPerMinute;
+
+    @TableField("tokens_per_minute")
+    private int tokensPerMinute;
+
     public ModelConfigEntity() {}
 
     public String getModelId() { return modelId; }
@@ -67,9 +73,16 @@ public class ModelConfigEntity {
     public int getSortOrder() { return sortOrder; }
     public void setSortOrder(int sortOrder) { this.sortOrder = sortOrder; }
 
+    public int getRequestsPerMinute() { return requestsPerMinute; }
+    public void setRequestsPerMinute(int requestsPerMinute) { this.requestsPerMinute = requestsPerMinute; }
+
+    public int getTokensPerMinute() { return tokensPerMinute; }
+    public void setTokensPerMinute(int tokensPerMinute) { this.tokensPerMinute = tokensPerMinute; }
+
     public ModelConfig toDomain() {
         return new ModelConfig(modelId, provider, displayName, baseUrl,
-                apiKey, modelName, enabled, capabilities, sortOrder);
+                apiKey, modelName, enabled, capabilities, sortOrder,
+                requestsPerMinute, tokensPerMinute);
     }
 
     public static ModelConfigEntity fromDomain(ModelConfig config) {
@@ -83,6 +96,8 @@ public class ModelConfigEntity {
         entity.enabled = config.enabled();
         entity.capabilities = config.capabilities();
         entity.sortOrder = config.sortOrder();
+        entity.requestsPerMinute = config.requestsPerMinute();
+        entity.tokensPerMinute = config.tokensPerMinute();
         return entity;
     }
 }
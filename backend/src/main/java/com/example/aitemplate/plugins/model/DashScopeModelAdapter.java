@@ -4,17 +4,23 @@ import com.alibaba.dashscope.aigc.generation.Generation;
 import com.alibaba.dashscope.aigc.generation.GenerationParam;
 import com.alibaba.dashscope.aigc.generation.GenerationResult;
 import com.alibaba.dashscope.common.Message;
+import com.alibaba.dashscope.common.ResponseFormat;
 import com.alibaba.dashscope.common.Role;
 import com.alibaba.dashscope.exception.ApiException;
 import com.alibaba.dashscope.exception.InputRequiredException;
 import com.alibaba.dashscope.exception.NoApiKeyException;
+import com.alibaba.dashscope.utils.Constants;
 import com.example.aitemplate.app.SettingsService;
 import com.example.aitemplate.core.chat.ChatCommand;
 import com.example.aitemplate.core.chat.ChatResult;
+import com.example.aitemplate.core.chat.TokenUsage;
 import com.example.aitemplate.core.model.CapabilitySet;
 import com.example.aitemplate.core.model.HealthStatus;
 import com.example.aitemplate.core.model.ModelAdapter;
+import java.net.URI;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Flux;
@@ -60,6 +66,12 @@ public class DashScopeModelAdapter implements ModelAdapter {
         return (key == null || key.isBlank()) ? HealthStatus.DOWN : HealthStatus.UP;
     }
 
+    /** The SDK talks through its own OkHttp pool, so warming this endpoint mainly primes the JVM DNS cache. */
+    @Override
+    public URI endpoint() {
+        return URI.create(Constants.baseHttpApiUrl);
+    }
+
     @Override
     public ChatResult invoke(ChatCommand command) {
         String apiKey = getApiKey();
@@ -68,11 +80,11 @@ public class DashScopeModelAdapter implements ModelAdapter {
                     "DashScope API key is not configured. Please set it in Settings.");
         }
         Generation client = new Generation();
-        GenerationParam param = baseParam(command.message(), apiKey).build();
+        GenerationParam param = baseParam(command, apiKey).build();
         try {
             GenerationResult completion = client.call(param);
             String content = extractContent(completion);
-            return new ChatResult(content == null ? "" : content);
+            return new ChatResult(content == null ? "" : content, List.of(), extractUsage(completion));
         } catch (ApiException | NoApiKeyException | InputRequiredException ex) {
             throw new IllegalArgumentException("DashScope call failed: " + ex.getMessage(), ex);
         }
@@ -80,34 +92,70 @@ public class DashScopeModelAdapter implements ModelAdapter {
 
     @Override
     public Flux<String> stream(ChatCommand command) {
+        return stream(command, usage -> { });
+    }
+
+    @Override
+    public Flux<String> stream(ChatCommand command, Consumer<TokenUsage> usageSink) {
         String apiKey = getApiKey();
         if (apiKey == null || apiKey.isBlank()) {
             return Flux.error(new IllegalStateException(
                     "DashScope API key is not configured. Please set it in Settings."));
         }
         Generation client = new Generation();
-        GenerationParam param = baseParam(command.message(), apiKey).incrementalOutput(true).build();
+        GenerationParam param = baseParam(command, apiKey).incrementalOutput(true).build();
         try {
+            // With incremental output every chunk repeats the cumulative usage; the last one wins.
+            AtomicReference<TokenUsage> usage = new AtomicReference<>(TokenUsage.empty());
             return Flux.from(client.streamCall(param))
+                    .doOnNext(result -> {
+                        TokenUsage chunkUsage = extractUsage(result);
+                        if (chunkUsage.reported()) {
+                            usage.set(chunkUsage);
+                        }
+                    })
                     .map(this::extractContent)
                     .filter(text -> text != null && !text.isEmpty())
-                    .onErrorResume(ex -> Flux.just(invoke(command).content()));
+                    .doOnComplete(() -> usageSink.accept(usage.get()))
+                    .onErrorResume(ex -> invokeAsStream(command, usageSink));
         } catch (ApiException | NoApiKeyException | InputRequiredException ex) {
-            return Flux.just(invoke(command).content());
+            return invokeAsStream(command, usageSink);
         }
     }
 
-    private GenerationParam.GenerationParamBuilder<?, ?> baseParam(String message, String apiKey) {
+    private Flux<String> invokeAsStream(ChatCommand command, Consumer<TokenUsage> usageSink) {
+        ChatResult result = invoke(command);
+        usageSink.accept(result.usage());
+        return Flux.just(result.content());
+    }
+
+    private TokenUsage extractUsage(GenerationResult result) {
+        if (result == null || result.getUsage() == null) {
+            return TokenUsage.empty();
+        }
+        return TokenUsage.of(result.getUsage().getInputTokens(), result.getUsage().getOutputTokens(), null);
+    }
+
+    private GenerationParam.GenerationParamBuilder<?, ?> baseParam(ChatCommand command, String apiKey) {
         Message userMessage = Message.builder()
                 .role(Role.USER.getValue())
-                .content(message)
+                .content(command.message())
                 .build();
 
-        return GenerationParam.builder()
+        GenerationParam.GenerationParamBuilder<?, ?> builder = GenerationParam.builder()
                 .apiKey(apiKey)
                 .model(modelName)
-                .resultFormat("message")
-                .messages(List.of(userMessage));
+                .resultFormat("message");
+        if (!command.jsonMode()) {
+            return builder.messages(List.of(userMessage));
+        }
+        Message systemMessage = Message.builder()
+                .role(Role.SYSTEM.getValue())
+                .content(JsonMode.SYSTEM_HINT)
+                .build();
+        return builder
+                .responseFormat(ResponseFormat.from(ResponseFormat.JSON_OBJECT))
+                .messages(List.of(systemMessage, userMessage));
     }
 
     private String extractContent(GenerationResult result) {
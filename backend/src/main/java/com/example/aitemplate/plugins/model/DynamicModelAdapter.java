@@ -2,53 +2,80 @@ package com.example.aitemplate.plugins.model;
 
 import com.example.aitemplate.core.chat.ChatCommand;
 import com.example.aitemplate.core.chat.ChatResult;
+import com.example.aitemplate.core.chat.TokenUsage;
 import com.example.aitemplate.core.model.CapabilitySet;
 import com.example.aitemplate.core.model.HealthStatus;
 import com.example.aitemplate.core.model.ModelAdapter;
 import com.example.aitemplate.core.model.ModelConfig;
+import java.net.URI;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.model.ChatResponse;
 import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.ai.openai.OpenAiChatModel;
 import org.springframework.ai.openai.OpenAiChatOptions;
 import org.springframework.ai.openai.api.OpenAiApi;
 import reactor.core.publisher.Flux;
 
+/**
+ * OpenAI-compatible model configured at runtime.
+ *
+ * <p>The adapter instance lives as long as its modelId; {@link #reconfigure(ModelConfig)} swaps the
+ * config atomically and only rebuilds the transport ({@code OpenAiApi} + {@code OpenAiChatModel})
+ * when the base URL or API key change. The model name travels with each prompt, so renames and
+ * model switches are option swaps. Every request pins the transport it started on, so in-flight
+ * calls and streams finish on the old one while new requests use the new one.
+ */
 public class DynamicModelAdapter implements ModelAdapter {
 
-    private final ModelConfig config;
-    private final OpenAiChatModel chatModel;
+    private static final Logger log = LoggerFactory.getLogger(DynamicModelAdapter.class);
+
+    public enum Change {
+        /** Nothing differs. */
+        NONE,
+        /** Only fields the transport does not see (display name, limits, flags, ...). */
+        METADATA,
+        /** Request options (model name) changed; transport reused. */
+        OPTIONS,
+        /** Base URL or API key changed; a new transport was built. */
+        TRANSPORT
+    }
+
+    private final ProviderHttpClient httpClient;
+    private final AtomicReference<State> state;
 
     public DynamicModelAdapter(ModelConfig config) {
-        this.config = config;
-        OpenAiApi api = OpenAiApi.builder()
-                .baseUrl(config.baseUrl())
-                .apiKey(config.apiKey())
-                .build();
-        OpenAiChatOptions options = OpenAiChatOptions.builder()
-                .model(config.modelName())
-                .build();
-        this.chatModel = OpenAiChatModel.builder()
-                .openAiApi(api)
-                .defaultOptions(options)
-                .build();
+        this(config, new ProviderHttpClient());
+    }
+
+    public DynamicModelAdapter(ModelConfig config, ProviderHttpClient httpClient) {
+        this.httpClient = httpClient;
+        this.state = new AtomicReference<>(new State(config, new Transport(config, httpClient)));
     }
 
     @Override
     public String provider() {
-        return config.provider();
+        return config().provider();
     }
 
     @Override
     public String modelId() {
-        return config.modelId();
+        return config().modelId();
     }
 
     @Override
     public CapabilitySet capabilities() {
-        return config.capabilities();
+        return config().capabilities();
     }
 
     @Override
     public HealthStatus health() {
+        ModelConfig config = config();
         if (config.apiKey() == null || config.apiKey().isBlank()) {
             return HealthStatus.DOWN;
         }
@@ -58,22 +85,159 @@ public class DynamicModelAdapter implements ModelAdapter {
         return HealthStatus.UP;
     }
 
+    @Override
+    public URI endpoint() {
+        return toUri(config().baseUrl());
+    }
+
     @Override
     public ChatResult invoke(ChatCommand command) {
-        Prompt prompt = new Prompt(command.message());
-        String text = chatModel.call(prompt).getResult().getOutput().getText();
-        return new ChatResult(text == null ? "" : text);
+        State current = state.get();
+        Prompt prompt = new Prompt(JsonMode.messages(command), JsonMode.apply(OpenAiChatOptions.builder()
+                .model(current.config().modelName()), command.jsonMode())
+                .build());
+        current.transport().begin();
+        try {
+            ChatResponse response = current.transport().chatModel().call(prompt);
+            String text = response.getResult().getOutput().getText();
+            return new ChatResult(text == null ? "" : text, List.of(), SpringAiUsage.from(response));
+        }
+        finally {
+            current.transport().end();
+        }
     }
 
     @Override
     public Flux<String> stream(ChatCommand command) {
-        Prompt prompt = new Prompt(command.message());
-        return chatModel.stream(prompt)
-                .map(response -> response.getResult().getOutput().getText())
-                .filter(text -> text != null && !text.isEmpty());
+        return stream(command, usage -> { });
+    }
+
+    @Override
+    public Flux<String> stream(ChatCommand command, Consumer<TokenUsage> usageSink) {
+        return Flux.defer(() -> {
+            State current = state.get();
+            Prompt prompt = new Prompt(JsonMode.messages(command), JsonMode.apply(OpenAiChatOptions.builder()
+                    .model(current.config().modelName())
+                    .streamUsage(true), command.jsonMode())
+                    .build());
+            AtomicReference<TokenUsage> usage = new AtomicReference<>(TokenUsage.empty());
+            current.transport().begin();
+            // Deferred so that a synchronous throw becomes an error signal and still reaches doFinally.
+            return Flux.defer(() -> current.transport().chatModel().stream(prompt))
+                    .doOnNext(response -> {
+                        TokenUsage chunkUsage = SpringAiUsage.from(response);
+                        if (chunkUsage.reported()) {
+                            usage.set(chunkUsage);
+                        }
+                    })
+                    // The usage-only chunk that closes the stream carries no generation.
+                    .map(response -> response.getResult() == null ? "" : response.getResult().getOutput().getText())
+                    .filter(text -> text != null && !text.isEmpty())
+                    .doOnComplete(() -> usageSink.accept(usage.get()))
+                    .doFinally(signal -> current.transport().end());
+        });
     }
 
     public ModelConfig config() {
-        return config;
+        return state.get().config();
+    }
+
+    /** Applies {@code updated} in place; the transport is rebuilt only if its connection settings changed. */
+    public Change reconfigure(ModelConfig updated) {
+        if (!Objects.equals(updated.modelId(), modelId())) {
+            throw new IllegalArgumentException(
+                    "Cannot reconfigure model " + modelId() + " with config for " + updated.modelId());
+        }
+        while (true) {
+            State current = state.get();
+            ModelConfig old = current.config();
+            Change change = diff(old, updated);
+            if (change == Change.NONE) {
+                return change;
+            }
+            Transport transport = change == Change.TRANSPORT ? new Transport(updated, httpClient) : current.transport();
+            if (state.compareAndSet(current, new State(updated, transport))) {
+                if (change == Change.TRANSPORT) {
+                    current.transport().retire();
+                }
+                log.info("[Model] Reconfigured {} ({})", updated.modelId(), change);
+                return change;
+            }
+        }
+    }
+
+    /** Requests currently running on the active transport. */
+    public int inFlight() {
+        return state.get().transport().inFlight.get();
+    }
+
+    static Change diff(ModelConfig old, ModelConfig updated) {
+        if (!Objects.equals(old.baseUrl(), updated.baseUrl()) || !Objects.equals(old.apiKey(), updated.apiKey())) {
+            return Change.TRANSPORT;
+        }
+        if (!Objects.equals(old.modelName(), updated.modelName())) {
+            return Change.OPTIONS;
+        }
+        return old.equals(updated) ? Change.NONE : Change.METADATA;
+    }
+
+    private static URI toUri(String baseUrl) {
+        if (baseUrl == null || baseUrl.isBlank()) {
+            return null;
+        }
+        try {
+            return URI.create(baseUrl);
+        }
+        catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private record State(ModelConfig config, Transport transport) {
+    }
+
+    /** Client stack bound to one base URL + API key; connections come from the shared provider pool. */
+    private static final class Transport {
+        private final String modelId;
+        private final OpenAiChatModel chatModel;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile boolean retired;
+
+        Transport(ModelConfig config, ProviderHttpClient httpClient) {
+            this.modelId = config.modelId();
+            URI endpoint = toUri(config.baseUrl());
+            OpenAiApi api = OpenAiApi.builder()
+                    .baseUrl(config.baseUrl())
+                    .apiKey(config.apiKey())
+                    .restClientBuilder(httpClient.restClientBuilder(endpoint))
+                    .webClientBuilder(httpClient.webClientBuilder(endpoint))
+                    .build();
+            this.chatModel = OpenAiChatModel.builder()
+                    .openAiApi(api)
+                    .defaultOptions(OpenAiChatOptions.builder().model(config.modelName()).build())
+                    .build();
+        }
+
+        OpenAiChatModel chatModel() {
+            return chatModel;
+        }
+
+        void begin() {
+            inFlight.incrementAndGet();
+        }
+
+        void end() {
+            if (inFlight.decrementAndGet() == 0 && retired) {
+                log.info("[Model] Retired transport of {} drained", modelId);
+            }
+        }
+
+        void retire() {
+            retired = true;
+            int remaining = inFlight.get();
+            if (remaining > 0) {
+                log.info("[Model] Retiring transport of {} with {} request(s) still in flight", modelId, remaining);
+            }
+        }
     }
 }
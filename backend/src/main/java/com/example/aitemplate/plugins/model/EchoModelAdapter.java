@@ -2,15 +2,22 @@ package com.example.aitemplate.plugins.model;
 
 import com.example.aitemplate.core.chat.ChatCommand;
 import com.example.aitemplate.core.chat.ChatResult;
+import com.example.aitemplate.core.chat.TokenUsage;
 import com.example.aitemplate.core.model.CapabilitySet;
 import com.example.aitemplate.core.model.HealthStatus;
 import com.example.aitemplate.core.model.ModelAdapter;
+import com.google.gson.Gson;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Flux;
 
 @Component
 public class EchoModelAdapter implements ModelAdapter {
 
+    private static final Gson GSON = new Gson();
+
     @Override
     public String provider() {
         return "local";
@@ -23,7 +30,7 @@ public class EchoModelAdapter implements ModelAdapter {
 
     @Override
     public CapabilitySet capabilities() {
-        return CapabilitySet.chatOnly();
+        return new CapabilitySet(true, false, true, false);
     }
 
     @Override
@@ -33,12 +40,32 @@ public class EchoModelAdapter implements ModelAdapter {
 
     @Override
     public ChatResult invoke(ChatCommand command) {
-        return new ChatResult("echo: " + command.message());
+        String content = content(command);
+        return new ChatResult(content, List.of(), usageFor(command, content));
     }
 
     @Override
     public Flux<String> stream(ChatCommand command) {
-        String[] tokens = ("echo: " + command.message()).split(" ");
-        return Flux.fromArray(tokens).map(token -> token + " ");
+        return stream(command, usage -> { });
+    }
+
+    @Override
+    public Flux<String> stream(ChatCommand command, Consumer<TokenUsage> usageSink) {
+        String content = content(command);
+        return Flux.fromArray(content.split(" "))
+                .map(token -> token + " ")
+                .doOnComplete(() -> usageSink.accept(usageFor(command, content)));
+    }
+
+    private String content(ChatCommand command) {
+        if (command.jsonMode()) {
+            return GSON.toJson(Map.of("echo", command.message()));
+        }
+        return "echo: " + command.message();
+    }
+
+    private TokenUsage usageFor(ChatCommand command, String content) {
+        return new TokenUsage(
+                SpringAiUsage.approximateTokens(command.message()), SpringAiUsage.approximateTokens(content), 0);
     }
 }
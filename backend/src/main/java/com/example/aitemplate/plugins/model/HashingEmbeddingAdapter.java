@@ -0,0 +1,105 @@
+package com.example.aitemplate.plugins.model;
+
+import com.example.aitemplate.core.model.EmbeddingAdapter;
+import com.example.aitemplate.core.model.HealthStatus;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Deterministic offline embedder: feature-hashes lower-cased words and character trigrams
+ * into a fixed-size, L2-normalized vector. Texts sharing vocabulary land close together,
+ * which is enough for tests and local demos of retrieval and semantic caching.
+ */
+@Component
+public class HashingEmbeddingAdapter implements EmbeddingAdapter {
+
+    private final int dimensions;
+
+    public HashingEmbeddingAdapter(@Value("${app.embeddings.hashing-dimensions:256}") int dimensions) {
+        if (dimensions < 1) {
+            throw new IllegalArgumentException("Hashing embedder dimensions must be positive: " + dimensions);
+        }
+        this.dimensions = dimensions;
+    }
+
+    @Override
+    public String provider() {
+        return "local";
+    }
+
+    @Override
+    public String modelId() {
+        return "local-hashing";
+    }
+
+    @Override
+    public int dimensions() {
+        return dimensions;
+    }
+
+    @Override
+    public int maxBatchSize() {
+        return 1024;
+    }
+
+    @Override
+    public HealthStatus health() {
+        return HealthStatus.UP;
+    }
+
+    @Override
+    public List<float[]> embed(List<String> texts) {
+        List<float[]> vectors = new ArrayList<>(texts.size());
+        for (String text : texts) {
+            vectors.add(embed(text));
+        }
+        return vectors;
+    }
+
+    private float[] embed(String text) {
+        float[] vector = new float[dimensions];
+        String normalized = text == null ? "" : text.toLowerCase(Locale.ROOT);
+        for (String word : normalized.split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            add(vector, "w:" + word, 1.0f);
+            String padded = "^" + word + "$";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                add(vector, "t:" + padded.substring(i, i + 3), 0.5f);
+            }
+        }
+        double norm = 0;
+        for (float v : vector) {
+            norm += v * v;
+        }
+        if (norm > 0) {
+            float scale = (float) (1 / Math.sqrt(norm));
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] *= scale;
+            }
+        }
+        return vector;
+    }
+
+    private void add(float[] vector, String feature, float weight) {
+        long hash = fnv1a(feature);
+        int index = (int) Long.remainderUnsigned(hash, dimensions);
+        // The sign bit keeps colliding features from only ever adding up.
+        vector[index] += ((hash >>> 63) == 0 ? weight : -weight);
+    }
+
+    /** 64-bit FNV-1a over UTF-8; stable across JVMs, unlike {@link String#hashCode()} mixing. */
+    private static long fnv1a(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.aitemplate.plugins.model;
+
+import com.example.aitemplate.core.chat.ChatCommand;
+import java.util.List;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.openai.OpenAiChatOptions;
+import org.springframework.ai.openai.api.ResponseFormat;
+
+/** Shared wiring for {@link ChatCommand#jsonMode()} on OpenAI-compatible adapters. */
+public final class JsonMode {
+
+    /** OpenAI-style JSON mode rejects prompts that never mention JSON, so the hint is always sent. */
+    public static final String SYSTEM_HINT = "Respond with a single valid JSON object and nothing else.";
+
+    private JsonMode() {
+    }
+
+    public static OpenAiChatOptions.Builder apply(OpenAiChatOptions.Builder options, boolean jsonMode) {
+        if (jsonMode) {
+            options.responseFormat(ResponseFormat.builder().type(ResponseFormat.Type.JSON_OBJECT).build());
+        }
+        return options;
+    }
+
+    public static List<Message> messages(ChatCommand command) {
+        if (!command.jsonMode()) {
+            return List.of(new UserMessage(command.message()));
+        }
+        return List.of(new SystemMessage(SYSTEM_HINT), new UserMessage(command.message()));
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.aitemplate.plugins.model;
+
+import com.example.aitemplate.core.model.EmbeddingAdapter;
+import com.example.aitemplate.core.model.HealthStatus;
+import java.util.List;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnBean(name = "openAiEmbeddingModel")
+public class OpenAiEmbeddingAdapter implements EmbeddingAdapter {
+
+    private final EmbeddingModel embeddingModel;
+    private final String modelId;
+    private final int dimensions;
+    private final String configuredApiKey;
+
+    public OpenAiEmbeddingAdapter(
+            @Qualifier("openAiEmbeddingModel") EmbeddingModel embeddingModel,
+            @Value("${app.embeddings.openai-id:openai-embedding}") String modelId,
+            // Spring AI's dimensions() probes the provider with a request; take it from config instead.
+            @Value("${app.embeddings.openai-dimensions:1536}") int dimensions,
+            @Value("${spring.ai.openai.api-key:}") String configuredApiKey) {
+        this.embeddingModel = embeddingModel;
+        this.modelId = modelId;
+        this.dimensions = dimensions;
+        this.configuredApiKey = configuredApiKey;
+    }
+
+    @Override
+    public String provider() {
+        return "openai";
+    }
+
+    @Override
+    public String modelId() {
+        return modelId;
+    }
+
+    @Override
+    public int dimensions() {
+        return dimensions;
+    }
+
+    @Override
+    public int maxBatchSize() {
+        return 256;
+    }
+
+    @Override
+    public HealthStatus health() {
+        if (configuredApiKey == null || configuredApiKey.isBlank()
+                || configuredApiKey.equals("placeholder-key")) {
+            return HealthStatus.DOWN;
+        }
+        return HealthStatus.UP;
+    }
+
+    @Override
+    public List<float[]> embed(List<String> texts) {
+        return embeddingModel.embed(texts);
+    }
+}
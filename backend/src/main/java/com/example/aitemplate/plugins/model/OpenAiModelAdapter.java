@@ -2,11 +2,19 @@ package com.example.aitemplate.plugins.model;
 
 import com.example.aitemplate.core.chat.ChatCommand;
 import com.example.aitemplate.core.chat.ChatResult;
+import com.example.aitemplate.core.chat.TokenUsage;
 import com.example.aitemplate.core.model.CapabilitySet;
 import com.example.aitemplate.core.model.HealthStatus;
 import com.example.aitemplate.core.model.ModelAdapter;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import org.springframework.ai.chat.model.ChatResponse;
 import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.ai.openai.OpenAiChatModel;
+import org.springframework.ai.openai.OpenAiChatOptions;
+import org.springframework.ai.openai.api.OpenAiApi;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
@@ -20,14 +28,37 @@ public class OpenAiModelAdapter implements ModelAdapter {
     private final OpenAiChatModel chatModel;
     private final String modelId;
     private final String configuredApiKey;
+    private final String baseUrl;
 
     public OpenAiModelAdapter(
             @Qualifier("openAiChatModel") OpenAiChatModel chatModel,
             @Value("${app.models.openai-id:openai-gpt-4o}") String modelId,
-            @Value("${spring.ai.openai.api-key:}") String configuredApiKey) {
-        this.chatModel = chatModel;
+            @Value("${spring.ai.openai.api-key:}") String configuredApiKey,
+            @Value("${spring.ai.openai.base-url:https://api.openai.com}") String baseUrl,
+            ProviderHttpClient httpClient) {
+        this.chatModel = onProviderClient(chatModel, configuredApiKey, baseUrl, httpClient);
         this.modelId = modelId;
         this.configuredApiKey = configuredApiKey;
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * Copy of the auto-configured model whose API client runs on the provider pool, so the warm-up
+     * connections are reused; the shared Boot RestClient/WebClient builders are left untouched.
+     */
+    private static OpenAiChatModel onProviderClient(
+            OpenAiChatModel chatModel, String apiKey, String baseUrl, ProviderHttpClient httpClient) {
+        if (apiKey == null || apiKey.isBlank() || baseUrl == null || baseUrl.isBlank()) {
+            return chatModel;
+        }
+        URI endpoint = URI.create(baseUrl);
+        OpenAiApi api = OpenAiApi.builder()
+                .baseUrl(baseUrl)
+                .apiKey(apiKey)
+                .restClientBuilder(httpClient.restClientBuilder(endpoint))
+                .webClientBuilder(httpClient.webClientBuilder(endpoint))
+                .build();
+        return chatModel.mutate().openAiApi(api).build();
     }
 
     @Override
@@ -54,18 +85,40 @@ public class OpenAiModelAdapter implements ModelAdapter {
         return HealthStatus.UP;
     }
 
+    @Override
+    public URI endpoint() {
+        return baseUrl == null || baseUrl.isBlank() ? null : URI.create(baseUrl);
+    }
+
     @Override
     public ChatResult invoke(ChatCommand command) {
-        Prompt prompt = new Prompt(command.message());
-        String text = chatModel.call(prompt).getResult().getOutput().getText();
-        return new ChatResult(text == null ? "" : text);
+        Prompt prompt = new Prompt(JsonMode.messages(command),
+                JsonMode.apply(OpenAiChatOptions.builder(), command.jsonMode()).build());
+        ChatResponse response = chatModel.call(prompt);
+        String text = response.getResult().getOutput().getText();
+        return new ChatResult(text == null ? "" : text, List.of(), SpringAiUsage.from(response));
     }
 
     @Override
     public Flux<String> stream(ChatCommand command) {
-        Prompt prompt = new Prompt(command.message());
+        return stream(command, usage -> { });
+    }
+
+    @Override
+    public Flux<String> stream(ChatCommand command, Consumer<TokenUsage> usageSink) {
+        Prompt prompt = new Prompt(JsonMode.messages(command),
+                JsonMode.apply(OpenAiChatOptions.builder().streamUsage(true), command.jsonMode()).build());
+        AtomicReference<TokenUsage> usage = new AtomicReference<>(TokenUsage.empty());
         return chatModel.stream(prompt)
-                .map(response -> response.getResult().getOutput().getText())
-                .filter(text -> text != null && !text.isEmpty());
+                .doOnNext(response -> {
+                    TokenUsage chunkUsage = SpringAiUsage.from(response);
+                    if (chunkUsage.reported()) {
+                        usage.set(chunkUsage);
+                    }
+                })
+                // The usage-only chunk that closes the stream carries no generation.
+                .map(response -> response.getResult() == null ? "" : response.getResult().getOutput().getText())
+                .filter(text -> text != null && !text.isEmpty())
+                .doOnComplete(() -> usageSink.accept(usage.get()));
     }
 }
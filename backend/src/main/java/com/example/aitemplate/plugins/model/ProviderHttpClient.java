@@ -0,0 +1,53 @@
+package com.example.aitemplate.plugins.model;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.client.reactive.JdkClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * JDK {@link HttpClient}s shared by the HTTP-based model adapters, so calls and streams to the
+ * same provider reuse one connection pool, and connections opened by the startup warm-up are
+ * the ones real requests get. Only the adapters use it; other RestClient/WebClient users keep
+ * Boot's defaults.
+ *
+ * <p>HTTPS endpoints negotiate HTTP/2 through ALPN. Plain {@code http://} endpoints (local
+ * gateways, proxies) stay on HTTP/1.1, since the JDK client would otherwise try an h2c upgrade
+ * that many of them reject.
+ */
+@Component
+public class ProviderHttpClient {
+
+    private final HttpClient http2;
+    private final HttpClient http1;
+
+    public ProviderHttpClient() {
+        this.http2 = newClient(HttpClient.Version.HTTP_2);
+        this.http1 = newClient(HttpClient.Version.HTTP_1_1);
+    }
+
+    /** The client for {@code endpoint}: HTTP/2 for https, HTTP/1.1 otherwise. */
+    public HttpClient client(URI endpoint) {
+        return endpoint != null && "https".equalsIgnoreCase(endpoint.getScheme()) ? http2 : http1;
+    }
+
+    public RestClient.Builder restClientBuilder(URI endpoint) {
+        return RestClient.builder().requestFactory(new JdkClientHttpRequestFactory(client(endpoint)));
+    }
+
+    public WebClient.Builder webClientBuilder(URI endpoint) {
+        return WebClient.builder().clientConnector(new JdkClientHttpConnector(client(endpoint)));
+    }
+
+    private static HttpClient newClient(HttpClient.Version version) {
+        return HttpClient.newBuilder()
+                .version(version)
+                .connectTimeout(Duration.ofSeconds(10))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+}
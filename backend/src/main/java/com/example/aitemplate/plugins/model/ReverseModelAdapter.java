@@ -2,9 +2,12 @@ package com.example.aitemplate.plugins.model;
 
 import com.example.aitemplate.core.chat.ChatCommand;
 import com.example.aitemplate.core.chat.ChatResult;
+import com.example.aitemplate.core.chat.TokenUsage;
 import com.example.aitemplate.core.model.CapabilitySet;
 import com.example.aitemplate.core.model.HealthStatus;
 import com.example.aitemplate.core.model.ModelAdapter;
+import java.util.List;
+import java.util.function.Consumer;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Flux;
 
@@ -33,13 +36,26 @@ public class ReverseModelAdapter implements ModelAdapter {
 
     @Override
     public ChatResult invoke(ChatCommand command) {
-        return new ChatResult(reverse(command.message()));
+        String content = reverse(command.message());
+        return new ChatResult(content, List.of(), usageFor(command, content));
     }
 
     @Override
     public Flux<String> stream(ChatCommand command) {
-        String[] tokens = reverse(command.message()).split(" ");
-        return Flux.fromArray(tokens).map(token -> token + " ");
+        return stream(command, usage -> { });
+    }
+
+    @Override
+    public Flux<String> stream(ChatCommand command, Consumer<TokenUsage> usageSink) {
+        String content = reverse(command.message());
+        return Flux.fromArray(content.split(" "))
+                .map(token -> token + " ")
+                .doOnComplete(() -> usageSink.accept(usageFor(command, content)));
+    }
+
+    private TokenUsage usageFor(ChatCommand command, String content) {
+        return new TokenUsage(
+                SpringAiUsage.approximateTokens(command.message()), SpringAiUsage.approximateTokens(content), 0);
     }
 
     private String reverse(String value) {
@@ -0,0 +1,256 @@
+package com.example.aitemplate.plugins.model;
+
+import com.example.aitemplate.core.chat.ChatCommand;
+import com.example.aitemplate.core.chat.ChatResult;
+import com.example.aitemplate.core.chat.TokenUsage;
+import com.example.aitemplate.core.model.CapabilitySet;
+import com.example.aitemplate.core.model.HealthStatus;
+import com.example.aitemplate.core.model.ModelAdapter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import reactor.core.publisher.Flux;
+
+/**
+ * Virtual model that spreads requests over a pool of equivalent member adapters.
+ *
+ * <p>Members are looked up by modelId on every request, so dynamic models can join or leave
+ * the pool (or be disabled) without rebuilding the router. The pick is driven by live
+ * per-member stats: latency EWMA (full call for {@code invoke}, first chunk for {@code stream}),
+ * in-flight count and error-rate EWMA.
+ */
+public class RoutingModelAdapter implements ModelAdapter {
+
+    public enum Strategy {
+        /** Sample two random members and take the one with the lower load score. */
+        POWER_OF_TWO_CHOICES,
+        /** Take the member with the fewest in-flight requests, load score breaks ties. */
+        LEAST_OUTSTANDING
+    }
+
+    private static final double LATENCY_ALPHA = 0.3;
+    private static final double ERROR_ALPHA = 0.2;
+
+    private final String modelId;
+    private final List<String> memberIds;
+    private final Strategy strategy;
+    private final Function<String, ModelAdapter> memberLookup;
+    private final Map<String, MemberStats> stats = new ConcurrentHashMap<>();
+
+    public RoutingModelAdapter(
+            String modelId,
+            List<String> memberIds,
+            Strategy strategy,
+            Function<String, ModelAdapter> memberLookup) {
+        if (memberIds == null || memberIds.isEmpty()) {
+            throw new IllegalArgumentException("Router " + modelId + " requires at least one member");
+        }
+        this.modelId = modelId;
+        this.memberIds = List.copyOf(memberIds);
+        this.strategy = strategy == null ? Strategy.POWER_OF_TWO_CHOICES : strategy;
+        this.memberLookup = memberLookup;
+    }
+
+    @Override
+    public String provider() {
+        return "router";
+    }
+
+    @Override
+    public String modelId() {
+        return modelId;
+    }
+
+    @Override
+    public CapabilitySet capabilities() {
+        return resolveMembers().stream()
+                .findFirst()
+                .map(ModelAdapter::capabilities)
+                .orElse(CapabilitySet.chatOnly());
+    }
+
+    @Override
+    public HealthStatus health() {
+        List<ModelAdapter> members = resolveMembers();
+        long up = members.stream().filter(m -> m.health() == HealthStatus.UP).count();
+        if (up == 0) {
+            return HealthStatus.DOWN;
+        }
+        return up == memberIds.size() ? HealthStatus.UP : HealthStatus.DEGRADED;
+    }
+
+    @Override
+    public ChatResult invoke(ChatCommand command) {
+        ModelAdapter member = choose();
+        MemberStats memberStats = statsFor(member.modelId());
+        long start = System.nanoTime();
+        memberStats.begin();
+        try {
+            ChatResult result = member.invoke(command);
+            memberStats.recordLatency(elapsedMs(start));
+            memberStats.recordOutcome(false);
+            return result;
+        }
+        catch (RuntimeException ex) {
+            memberStats.recordOutcome(true);
+            throw ex;
+        }
+        finally {
+            memberStats.end();
+        }
+    }
+
+    @Override
+    public Flux<String> stream(ChatCommand command) {
+        return stream(command, usage -> { });
+    }
+
+    @Override
+    public Flux<String> stream(ChatCommand command, Consumer<TokenUsage> usageSink) {
+        return Flux.defer(() -> {
+            ModelAdapter member = choose();
+            MemberStats memberStats = statsFor(member.modelId());
+            long start = System.nanoTime();
+            AtomicBoolean firstChunk = new AtomicBoolean(true);
+            memberStats.begin();
+            return member.stream(command, usageSink)
+                    .doOnNext(chunk -> {
+                        if (firstChunk.compareAndSet(true, false)) {
+                            memberStats.recordLatency(elapsedMs(start));
+                        }
+                    })
+                    .doOnComplete(() -> {
+                        if (firstChunk.get()) {
+                            memberStats.recordLatency(elapsedMs(start));
+                        }
+                        memberStats.recordOutcome(false);
+                    })
+                    .doOnError(ex -> memberStats.recordOutcome(true))
+                    .doFinally(signal -> memberStats.end());
+        });
+    }
+
+    public Strategy strategy() {
+        return strategy;
+    }
+
+    public List<String> memberIds() {
+        return memberIds;
+    }
+
+    /** Point-in-time view of the per-member routing stats, in configured member order. */
+    public List<MemberSnapshot> memberStats() {
+        List<MemberSnapshot> snapshots = new ArrayList<>();
+        for (String memberId : memberIds) {
+            MemberStats s = statsFor(memberId);
+            snapshots.add(new MemberSnapshot(
+                    memberId, s.inFlight.get(), s.latencyEwmaMs, s.errorRateEwma, s.requests.get()));
+        }
+        return snapshots;
+    }
+
+    private ModelAdapter choose() {
+        List<ModelAdapter> members = resolveMembers();
+        List<ModelAdapter> candidates = members.stream()
+                .filter(m -> m.health() != HealthStatus.DOWN)
+                .toList();
+        if (candidates.isEmpty()) {
+            candidates = members;
+        }
+        if (candidates.isEmpty()) {
+            throw new IllegalStateException("No available member model for router: " + modelId);
+        }
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+        return switch (strategy) {
+            case POWER_OF_TWO_CHOICES -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                int first = random.nextInt(candidates.size());
+                int second = random.nextInt(candidates.size() - 1);
+                if (second >= first) {
+                    second++;
+                }
+                ModelAdapter a = candidates.get(first);
+                ModelAdapter b = candidates.get(second);
+                yield statsFor(a.modelId()).score() <= statsFor(b.modelId()).score() ? a : b;
+            }
+            case LEAST_OUTSTANDING -> {
+                ModelAdapter best = null;
+                MemberStats bestStats = null;
+                for (ModelAdapter candidate : candidates) {
+                    MemberStats s = statsFor(candidate.modelId());
+                    if (best == null
+                            || s.inFlight.get() < bestStats.inFlight.get()
+                            || (s.inFlight.get() == bestStats.inFlight.get() && s.score() < bestStats.score())) {
+                        best = candidate;
+                        bestStats = s;
+                    }
+                }
+                yield best;
+            }
+        };
+    }
+
+    private List<ModelAdapter> resolveMembers() {
+        List<ModelAdapter> members = new ArrayList<>(memberIds.size());
+        for (String memberId : memberIds) {
+            ModelAdapter member = memberLookup.apply(memberId);
+            if (member != null && !(member instanceof RoutingModelAdapter)) {
+                members.add(member);
+            }
+        }
+        return members;
+    }
+
+    private MemberStats statsFor(String memberId) {
+        return stats.computeIfAbsent(memberId, __ -> new MemberStats());
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    public record MemberSnapshot(String modelId, int inFlight, double latencyEwmaMs, double errorRate, long requests) {
+    }
+
+    private static final class MemberStats {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicLong requests = new AtomicLong();
+        private volatile double latencyEwmaMs;
+        private volatile double errorRateEwma;
+
+        void begin() {
+            inFlight.incrementAndGet();
+            requests.incrementAndGet();
+        }
+
+        void end() {
+            inFlight.decrementAndGet();
+        }
+
+        synchronized void recordLatency(long latencyMs) {
+            latencyEwmaMs = latencyEwmaMs == 0
+                    ? latencyMs
+                    : LATENCY_ALPHA * latencyMs + (1 - LATENCY_ALPHA) * latencyEwmaMs;
+        }
+
+        synchronized void recordOutcome(boolean error) {
+            errorRateEwma = ERROR_ALPHA * (error ? 1 : 0) + (1 - ERROR_ALPHA) * errorRateEwma;
+        }
+
+        /** Lower is better: expected wait grows with latency and queue, and is inflated by failures. */
+        double score() {
+            double successRate = Math.max(0.05, 1 - errorRateEwma);
+            return (latencyEwmaMs + 1) * (inFlight.get() + 1) / successRate;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.aitemplate.plugins.model;
+
+import com.example.aitemplate.core.chat.TokenUsage;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.openai.api.OpenAiApi;
+
+/** Maps Spring AI response metadata to {@link TokenUsage}. */
+public final class SpringAiUsage {
+
+    private SpringAiUsage() {
+    }
+
+    public static TokenUsage from(ChatResponse response) {
+        if (response == null || response.getMetadata() == null) {
+            return TokenUsage.empty();
+        }
+        Usage usage = response.getMetadata().getUsage();
+        if (usage == null) {
+            return TokenUsage.empty();
+        }
+        Integer cached = null;
+        if (usage.getNativeUsage() instanceof OpenAiApi.Usage openAiUsage && openAiUsage.promptTokensDetails() != null) {
+            cached = openAiUsage.promptTokensDetails().cachedTokens();
+        }
+        return TokenUsage.of(usage.getPromptTokens(), usage.getCompletionTokens(), cached);
+    }
+
+    /** Whitespace word count; the local adapters use it as a stand-in for real tokenization. */
+    static int approximateTokens(String text) {
+        if (text == null || text.isBlank()) {
+            return 0;
+        }
+        return text.trim().split("\\s+").length;
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.aitemplate.plugins.model;
+
+import com.example.aitemplate.core.chat.ChatCommand;
+import com.example.aitemplate.core.chat.ChatResult;
+import com.example.aitemplate.core.chat.TokenUsage;
+import com.example.aitemplate.core.chat.ToolCallInfo;
+import com.example.aitemplate.core.model.CapabilitySet;
+import com.example.aitemplate.core.model.HealthStatus;
+import com.example.aitemplate.core.model.ModelAdapter;
+import com.google.gson.Gson;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Offline model that behaves like a slow, imperfect provider: configurable time-to-first-token,
+ * token rate, answer length, failure rate and tool-call emission. Meant for load-testing
+ * ChatService, SSE and memory without network access.
+ */
+@Component
+public class SyntheticModelAdapter implements ModelAdapter {
+
+    private static final Gson GSON = new Gson();
+    private static final String[] WORDS = {
+            "the", "model", "returns", "a", "synthetic", "answer", "with", "tokens",
+            "spaced", "at", "a", "steady", "rate", "for", "load", "testing"
+    };
+
+    private final SyntheticModelProperties properties;
+
+    public SyntheticModelAdapter(SyntheticModelProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public String provider() {
+        return "local";
+    }
+
+    @Override
+    public String modelId() {
+        return properties.modelId();
+    }
+
+    @Override
+    public CapabilitySet capabilities() {
+        return new CapabilitySet(true, properties.toolCallRate() > 0, true, false);
+    }
+
+    @Override
+    public HealthStatus health() {
+        return properties.errorRate() > 0 ? HealthStatus.DEGRADED : HealthStatus.UP;
+    }
+
+    @Override
+    public ChatResult invoke(ChatCommand command) {
+        Plan plan = plan(command);
+        int tokensBeforeEnd = plan.failAt() >= 0 ? plan.failAt() : plan.tokens() - 1;
+        try {
+            Thread.sleep(plan.ttft().toMillis() + plan.interval().toMillis() * tokensBeforeEnd);
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Synthetic call interrupted", ex);
+        }
+        if (plan.failAt() >= 0) {
+            throw new IllegalStateException("Synthetic provider error for model " + modelId());
+        }
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < plan.tokens(); i++) {
+            content.append(fragment(command, plan, i));
+        }
+        return new ChatResult(content.toString().trim(),
+                plan.toolCall() == null ? List.of() : List.of(plan.toolCall()), usage(command, plan));
+    }
+
+    @Override
+    public Flux<String> stream(ChatCommand command) {
+        return stream(command, usage -> { });
+    }
+
+    @Override
+    public Flux<String> stream(ChatCommand command, Consumer<TokenUsage> usageSink) {
+        return Flux.defer(() -> {
+            Plan plan = plan(command);
+            Flux<String> toolEvents = plan.toolCall() == null
+                    ? Flux.empty()
+                    : Flux.just("TOOL_CALL:" + GSON.toJson(plan.toolCall()));
+            Flux<String> tokens = Flux.range(0, plan.tokens())
+                    .concatMap(i -> {
+                        if (i == plan.failAt()) {
+                            return Mono.error(new IllegalStateException("Synthetic provider error for model " + modelId()));
+                        }
+                        return i == 0
+                                ? Mono.just(fragment(command, plan, i))
+                                : Mono.delay(plan.interval()).thenReturn(fragment(command, plan, i));
+                    });
+            return Mono.delay(plan.ttft())
+                    .thenMany(toolEvents.concatWith(tokens))
+                    .doOnComplete(() -> usageSink.accept(usage(command, plan)));
+        });
+    }
+
+    private TokenUsage usage(ChatCommand command, Plan plan) {
+        return new TokenUsage(SpringAiUsage.approximateTokens(command.message()), plan.tokens(), 0);
+    }
+
+    private Plan plan(ChatCommand command) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int tokens = random.nextInt(properties.minTokens(), properties.maxTokens() + 1);
+        int failAt = random.nextDouble() < properties.errorRate() ? random.nextInt(tokens) : -1;
+        ToolCallInfo toolCall = null;
+        if (random.nextDouble() < properties.toolCallRate()) {
+            toolCall = new ToolCallInfo("synthetic.lookup", command.message(), "synthetic tool output",
+                    random.nextLong(5, 50));
+        }
+        Duration interval = Duration.ofNanos((long) (1_000_000_000L / properties.tokensPerSecond()));
+        return new Plan(Duration.ofMillis(sampleTtftMs(random)), interval, tokens, failAt, toolCall);
+    }
+
+    private long sampleTtftMs(ThreadLocalRandom random) {
+        long mean = properties.ttftMeanMs();
+        long spread = properties.ttftSpreadMs();
+        return switch (properties.ttftDistribution()) {
+            case FIXED -> mean;
+            case UNIFORM -> Math.max(0, mean - spread + (long) (random.nextDouble() * 2 * spread));
+            case LOG_NORMAL -> {
+                if (mean == 0) {
+                    yield 0;
+                }
+                // Parameters chosen so the sample mean/stddev match ttftMeanMs/ttftSpreadMs.
+                double variance = Math.log(1 + (double) spread * spread / ((double) mean * mean));
+                double mu = Math.log(mean) - variance / 2;
+                yield Math.round(Math.exp(mu + Math.sqrt(variance) * random.nextGaussian()));
+            }
+        };
+    }
+
+    /** In JSON mode the tokens spell {@code {"items":[{"id":0,"word":"..."},...],"count":n}}. */
+    private String fragment(ChatCommand command, Plan plan, int index) {
+        if (!command.jsonMode()) {
+            return token(index);
+        }
+        String item = "{\"id\":" + index + ",\"word\":\"" + WORDS[index % WORDS.length] + "\"}";
+        StringBuilder fragment = new StringBuilder(index == 0 ? "{\"items\":[" : ",").append(item);
+        if (index == plan.tokens() - 1) {
+            fragment.append("],\"count\":").append(plan.tokens()).append('}');
+        }
+        return fragment.toString();
+    }
+
+    private String token(int index) {
+        return WORDS[index % WORDS.length] + " ";
+    }
+
+    private record Plan(Duration ttft, Duration interval, int tokens, int failAt, ToolCallInfo toolCall) {
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.aitemplate.plugins.model;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Knobs for {@link SyntheticModelAdapter}. Latency values are milliseconds; rates are 0..1.
+ *
+ * <p>{@code ttftSpreadMs} is interpreted per distribution: the half-width for UNIFORM and the
+ * standard deviation for LOG_NORMAL (giving a long right tail like real providers).
+ */
+@ConfigurationProperties(prefix = "app.models.synthetic")
+public record SyntheticModelProperties(
+        String modelId,
+        Distribution ttftDistribution,
+        Long ttftMeanMs,
+        Long ttftSpreadMs,
+        Double tokensPerSecond,
+        Integer minTokens,
+        Integer maxTokens,
+        Double errorRate,
+        Double toolCallRate) {
+
+    public enum Distribution {
+        FIXED,
+        UNIFORM,
+        LOG_NORMAL
+    }
+
+    public SyntheticModelProperties {
+        modelId = modelId == null || modelId.isBlank() ? "local-synthetic" : modelId;
+        ttftDistribution = ttftDistribution == null ? Distribution.LOG_NORMAL : ttftDistribution;
+        ttftMeanMs = ttftMeanMs == null ? 400L : Math.max(0, ttftMeanMs);
+        ttftSpreadMs = ttftSpreadMs == null ? 200L : Math.max(0, ttftSpreadMs);
+        tokensPerSecond = tokensPerSecond == null || tokensPerSecond <= 0 ? 40.0 : tokensPerSecond;
+        minTokens = minTokens == null ? 20 : Math.max(1, minTokens);
+        maxTokens = maxTokens == null ? 200 : Math.max(minTokens, maxTokens);
+        errorRate = errorRate == null ? 0.0 : Math.min(1, Math.max(0, errorRate));
+        toolCallRate = toolCallRate == null ? 0.0 : Math.min(1, Math.max(0, toolCallRate));
+    }
+
+    public static SyntheticModelProperties defaults() {
+        return new SyntheticModelProperties(null, null, null, null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,3 @@
+-- 模型客户端限流（0 表示不限）
+ALTER TABLE model_config ADD COLUMN requests_per_minute INT NOT NULL DEFAULT 0;
+ALTER TABLE model_config ADD COLUMN tokens_per_minute INT NOT NULL DEFAULT 0;
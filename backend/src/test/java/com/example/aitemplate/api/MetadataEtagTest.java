@@ -0,0 +1,80 @@
+package com.example.aitemplate.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import com.example.aitemplate.api.controller.MetadataController;
+import com.example.aitemplate.app.ModelRegistry;
+import com.example.aitemplate.app.SettingsService;
+import com.example.aitemplate.app.SkillRegistry;
+import com.example.aitemplate.app.ToolRegistry;
+import com.example.aitemplate.infra.db.ModelConfigRepository;
+import com.example.aitemplate.plugins.model.DashScopeModelAdapter;
+import com.example.aitemplate.plugins.model.EchoModelAdapter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+class MetadataEtagTest {
+
+    @TempDir
+    Path skillDir;
+
+    @Test
+    void revalidationReturns304UntilTheRegistryChanges() {
+        ModelConfigRepository repo = Mockito.mock(ModelConfigRepository.class);
+        when(repo.findAll()).thenReturn(List.of());
+        ObjectMapper mapper = new ObjectMapper();
+        SkillRegistry skills = new SkillRegistry(List.of(), skillDir.toString(), mapper);
+        MetadataController controller = new MetadataController(
+                new ModelRegistry(List.of(new EchoModelAdapter()), repo), new ToolRegistry(List.of()), skills, mapper);
+
+        ResponseEntity<byte[]> first = controller.skills(null);
+        String etag = first.getHeaders().getETag();
+        ResponseEntity<byte[]> revalidated = controller.skills("W/" + etag);
+
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertEquals("[]", new String(first.getBody()));
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidated.getStatusCode());
+        assertNull(revalidated.getBody());
+
+        skills.upsertDynamic("notes", "1.0.0", "# Notes");
+        ResponseEntity<byte[]> changed = controller.skills(etag);
+
+        assertEquals(HttpStatus.OK, changed.getStatusCode());
+        assertNotEquals(etag, changed.getHeaders().getETag());
+        assertEquals(HttpStatus.NOT_MODIFIED, controller.models(controller.models(null).getHeaders().getETag()).getStatusCode());
+    }
+
+    @Test
+    void modelsEtagFollowsHealthChangesOutsideTheRegistryVersion() {
+        ModelConfigRepository repo = Mockito.mock(ModelConfigRepository.class);
+        SettingsService settings = Mockito.mock(SettingsService.class);
+        ObjectMapper mapper = new ObjectMapper();
+        ModelRegistry models = new ModelRegistry(
+                List.of(new DashScopeModelAdapter(settings, "qwen-plus", "dashscope-qwen-plus")), repo);
+        MetadataController controller = new MetadataController(models, new ToolRegistry(List.of()),
+                new SkillRegistry(List.of(), skillDir.toString(), mapper), mapper);
+
+        ResponseEntity<byte[]> down = controller.models(null);
+        String etag = down.getHeaders().getETag();
+        assertTrue(new String(down.getBody()).contains("\"DOWN\""));
+
+        long version = models.version();
+        when(settings.getDashScopeApiKey()).thenReturn("sk-test");
+        ResponseEntity<byte[]> up = controller.models(etag);
+
+        assertEquals(version, models.version());
+        assertEquals(HttpStatus.OK, up.getStatusCode());
+        assertNotEquals(etag, up.getHeaders().getETag());
+        assertTrue(new String(up.getBody()).contains("\"UP\""));
+    }
+}
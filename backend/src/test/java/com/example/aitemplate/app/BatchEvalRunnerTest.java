@@ -0,0 +1,65 @@
+package com.example.aitemplate.app;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.example.aitemplate.plugins.model.EchoModelAdapter;
+import com.example.aitemplate.plugins.model.ReverseModelAdapter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BatchEvalRunnerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void resumesFromOutputCheckpointAfterTornWrite() throws Exception {
+        Path input = tempDir.resolve("input.jsonl");
+        Path output = tempDir.resolve("out/output.jsonl");
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            String model = i % 2 == 0 ? "local-echo" : "local-reverse";
+            lines.add("{\"id\":\"q" + i + "\",\"modelId\":\"" + model + "\",\"message\":\"hello " + i + "\"}");
+        }
+        lines.add("not json");
+        Files.write(input, lines, StandardCharsets.UTF_8);
+
+        BatchEvalRunner.Summary first = runner(input, output).runEvaluation();
+        assertEquals(6, first.succeeded());
+        assertEquals(1, first.failed());
+
+        // Simulate a crash: keep three results and a half-written fourth line.
+        List<String> written = Files.readAllLines(output, StandardCharsets.UTF_8);
+        Files.writeString(output, String.join("\n", written.subList(0, 3)) + "\n{\"index\":", StandardCharsets.UTF_8);
+
+        BatchEvalRunner.Summary resumed = runner(input, output).runEvaluation();
+        assertEquals(3, resumed.skipped());
+        assertEquals(4, resumed.succeeded() + resumed.failed());
+
+        ObjectMapper mapper = new ObjectMapper();
+        List<String> all = Files.readAllLines(output, StandardCharsets.UTF_8);
+        assertEquals(7, all.size());
+        assertEquals(7, all.stream().map(line -> {
+            try {
+                return mapper.readTree(line).get("index").asLong();
+            }
+            catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        }).distinct().count());
+    }
+
+    private BatchEvalRunner runner(Path input, Path output) {
+        ChatService chatService = TestChatServices.direct(tempDir.resolve("skills"),
+                new ModelUsageMetrics(ModelUsageProperties.empty()), new EchoModelAdapter(), new ReverseModelAdapter());
+        ChatBatchService batchService = new ChatBatchService(chatService, new ChatBatchProperties(4, Map.of(), null));
+        return new BatchEvalRunner(batchService, new ObjectMapper(), input.toString(), output.toString());
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.aitemplate.app;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.aitemplate.core.chat.ChatCommand;
+import com.example.aitemplate.plugins.model.EchoModelAdapter;
+import com.example.aitemplate.plugins.model.ReverseModelAdapter;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Flux;
+
+class ChatBatchServiceTest {
+
+    @TempDir
+    Path skillDir;
+
+    @Test
+    void runsEveryItemAndReportsFailuresPerItem() {
+        ChatBatchService batchService = new ChatBatchService(
+                TestChatServices.direct(skillDir, new ModelUsageMetrics(ModelUsageProperties.empty()),
+                        new EchoModelAdapter(), new ReverseModelAdapter()),
+                new ChatBatchProperties(2, Map.of("local-reverse", 1), null));
+
+        List<ChatBatchService.BatchTask> tasks = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            String modelId = i % 2 == 0 ? "local-echo" : "local-reverse";
+            tasks.add(ChatBatchService.BatchTask.of(i, "id-" + i,
+                    new ChatCommand("c" + i, modelId, "msg " + i, List.of(), List.of())));
+        }
+        tasks.add(ChatBatchService.BatchTask.of(20, "unknown",
+                new ChatCommand("c20", "no-such-model", "hi", List.of(), List.of())));
+        tasks.add(ChatBatchService.BatchTask.invalid(21, "bad-line", "Invalid NDJSON line"));
+
+        List<ChatBatchService.BatchOutcome> outcomes = batchService.run(Flux.fromIterable(tasks)).collectList().block();
+
+        assertEquals(22, outcomes.size());
+        assertEquals(20, outcomes.stream().filter(ChatBatchService.BatchOutcome::ok).count());
+        ChatBatchService.BatchOutcome echo = outcomes.stream()
+                .filter(o -> o.task().correlationId().equals("id-4")).findFirst().orElseThrow();
+        assertEquals("echo: msg 4", echo.result().content());
+        assertTrue(outcomes.stream().anyMatch(o -> o.task().correlationId().equals("unknown") && !o.ok()));
+        assertTrue(outcomes.stream().anyMatch(o -> o.task().correlationId().equals("bad-line") && !o.ok()));
+    }
+}
@@ -19,16 +19,28 @@ import com.example.aitemplate.core.tool.ToolResult;
 import com.example.aitemplate.core.tool.ToolRiskLevel;
 import com.example.aitemplate.infra.db.ModelConfigRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.file.Path;
 import java.util.List;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mockito;
 import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
 import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
 import org.springframework.beans.factory.ObjectProvider;
 import reactor.core.publisher.Flux;
 
 class ChatServiceTest {
 
+    @TempDir
+    Path skillDir;
+
     @Test
     void shouldFallbackToModelAdapterWhenAgentModelIsUnavailable() {
         ModelAdapter model = Mockito.mock(ModelAdapter.class);
@@ -72,6 +84,8 @@ class ChatServiceTest {
                 new ToolRegistry(List.of(tool)),
                 new SkillRegistry(List.of(skill), "target/test-skills-1", new ObjectMapper()),
                 mockMemory,
+                new ModelRateLimiter(ModelRateLimitProperties.defaults()),
+                new ModelUsageMetrics(ModelUsageProperties.empty()),
                 nullChatModelProvider(),
                 "");
 
@@ -153,6 +167,8 @@ class ChatServiceTest {
                 new ToolRegistry(List.of(tool)),
                 new SkillRegistry(List.of(), "target/test-skills-2", new ObjectMapper()),
                 mockMemory2,
+                new ModelRateLimiter(ModelRateLimitProperties.defaults()),
+                new ModelUsageMetrics(ModelUsageProperties.empty()),
                 nullChatModelProvider(),
                 "");
 
@@ -168,6 +184,91 @@ class ChatServiceTest {
         assertTrue(chunks.get(0).contains("never used"));
     }
 
+    @Test
+    void smallSkillsAreInlinedSoTheAgentSkipsTheReadSkillRoundTrip() {
+        ScriptedAgentModel inlined = new ScriptedAgentModel();
+        ChatResult direct = agentChatService(inlined, 4096).chat(summarizeCommand());
+        assertEquals("Key points first.", direct.content());
+        assertEquals(1, inlined.calls);
+        assertTrue(inlined.lastPromptText.contains("## Skill: team/default/summarize@1.0.0"));
+
+        ScriptedAgentModel onDemand = new ScriptedAgentModel();
+        ChatResult viaTool = agentChatService(onDemand, 0).chat(summarizeCommand());
+        assertEquals("Key points first.", viaTool.content());
+        assertEquals(2, onDemand.calls);
+    }
+
+    /** Calls read_skill on its first turn when the tool is offered, otherwise answers directly. */
+    private static final class ScriptedAgentModel implements ChatModel {
+        private int calls;
+        private String lastPromptText = "";
+
+        @Override
+        public ChatResponse call(Prompt prompt) {
+            calls++;
+            lastPromptText = prompt.getInstructions().stream().map(message -> String.valueOf(message.getText()))
+                    .reduce("", String::concat);
+            boolean offered = prompt.getOptions() instanceof ToolCallingChatOptions options
+                    && options.getToolCallbacks().stream().anyMatch(tool -> tool.getToolDefinition().name().equals("read_skill"));
+            AssistantMessage reply = offered && calls == 1
+                    ? AssistantMessage.builder().content("").toolCalls(List.of(new AssistantMessage.ToolCall(
+                            "call-1", "function", "read_skill", "{\"skill_name\":\"team/default/summarize\"}"))).build()
+                    : new AssistantMessage("Key points first.");
+            return new ChatResponse(List.of(new Generation(reply)));
+        }
+
+        @Override
+        public ChatOptions getDefaultOptions() {
+            return ToolCallingChatOptions.builder().build();
+        }
+    }
+
+    private static ChatCommand summarizeCommand() {
+        return new ChatCommand("c-inline", "test-agent", "Summarize: the build is green.", List.of(),
+                List.of("team/default/summarize"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private ChatService agentChatService(ChatModel chatModel, long inlineSkillMaxBytes) {
+        ModelAdapter model = Mockito.mock(ModelAdapter.class);
+        when(model.modelId()).thenReturn("test-agent");
+        when(model.provider()).thenReturn("openai");
+        when(model.capabilities()).thenReturn(CapabilitySet.chatOnly());
+        when(model.health()).thenReturn(HealthStatus.UP);
+        ModelConfigRepository modelConfigRepo = Mockito.mock(ModelConfigRepository.class);
+        when(modelConfigRepo.findAll()).thenReturn(List.of());
+        ChatMemory memory = Mockito.mock(ChatMemory.class);
+        when(memory.get(any())).thenReturn(List.of());
+        ObjectProvider<ChatModel> provider = Mockito.mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(chatModel);
+        SkillProvider skill = new SkillProvider() {
+            @Override
+            public String skillName() {
+                return "team/default/summarize";
+            }
+
+            @Override
+            public String version() {
+                return "1.0.0";
+            }
+
+            @Override
+            public String content() {
+                return "Return key points first.";
+            }
+        };
+        return new ChatService(
+                new ModelRegistry(List.of(model), modelConfigRepo),
+                new ToolRegistry(List.of()),
+                new SkillRegistry(List.of(skill), skillDir.toString(), new ObjectMapper()),
+                memory,
+                new ModelRateLimiter(ModelRateLimitProperties.defaults()),
+                new ModelUsageMetrics(ModelUsageProperties.empty()),
+                provider,
+                "",
+                inlineSkillMaxBytes);
+    }
+
     @SuppressWarnings("unchecked")
     private ObjectProvider<ChatModel> nullChatModelProvider() {
         ObjectProvider<ChatModel> provider = Mockito.mock(ObjectProvider.class);
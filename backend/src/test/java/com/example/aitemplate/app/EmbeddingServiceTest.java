@@ -0,0 +1,118 @@
+package com.example.aitemplate.app;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.aitemplate.core.model.EmbeddingAdapter;
+import com.example.aitemplate.core.model.HealthStatus;
+import com.example.aitemplate.plugins.model.HashingEmbeddingAdapter;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class EmbeddingServiceTest {
+
+    @Test
+    void concurrentCallersShareBatchesAndRepeatsHitTheCache() throws Exception {
+        CountingAdapter adapter = new CountingAdapter(new HashingEmbeddingAdapter(64));
+        EmbeddingService service = new EmbeddingService(List.of(adapter),
+                new EmbeddingProperties(16, Duration.ofMillis(50), 100));
+
+        int callers = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<float[]>> futures = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            String text = "document " + i;
+            futures.add(pool.submit(() -> {
+                start.await();
+                return service.embed("local-hashing", text);
+            }));
+        }
+        start.countDown();
+        for (Future<float[]> future : futures) {
+            assertEquals(64, future.get(5, TimeUnit.SECONDS).length);
+        }
+        pool.shutdown();
+
+        assertTrue(adapter.batchSizes.size() < callers, "expected merged batches, got " + adapter.batchSizes);
+        assertEquals(callers, adapter.batchSizes.stream().mapToInt(Integer::intValue).sum());
+
+        float[] again = service.embed("local-hashing", "document 3");
+        assertArrayEquals(futures.get(3).get(), again);
+        assertEquals(callers, adapter.batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertEquals(1, service.stats().cacheHits());
+    }
+
+    @Test
+    void hashingEmbedderIsDeterministicAndSimilarityFollowsVocabulary() {
+        HashingEmbeddingAdapter embedder = new HashingEmbeddingAdapter(256);
+        List<float[]> vectors = embedder.embed(List.of(
+                "weather forecast for Beijing", "Beijing weather forecast today", "python dataframe merge"));
+
+        assertArrayEquals(vectors.get(0), embedder.embed(List.of("weather forecast for Beijing")).get(0));
+        assertTrue(cosine(vectors.get(0), vectors.get(1)) > cosine(vectors.get(0), vectors.get(2)));
+        assertEquals(1.0, cosine(vectors.get(0), vectors.get(0)), 1e-5);
+    }
+
+    @Test
+    void unknownModelIsRejected() {
+        EmbeddingService service = new EmbeddingService(List.of(), EmbeddingProperties.defaults());
+        assertThrows(IllegalArgumentException.class, () -> service.embed("missing", "text"));
+    }
+
+    private static double cosine(float[] a, float[] b) {
+        double dot = 0;
+        double na = 0;
+        double nb = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            na += a[i] * a[i];
+            nb += b[i] * b[i];
+        }
+        return dot / Math.sqrt(na * nb);
+    }
+
+    private static final class CountingAdapter implements EmbeddingAdapter {
+        private final EmbeddingAdapter delegate;
+        private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+        CountingAdapter(EmbeddingAdapter delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String provider() {
+            return delegate.provider();
+        }
+
+        @Override
+        public String modelId() {
+            return delegate.modelId();
+        }
+
+        @Override
+        public int dimensions() {
+            return delegate.dimensions();
+        }
+
+        @Override
+        public HealthStatus health() {
+            return HealthStatus.UP;
+        }
+
+        @Override
+        public List<float[]> embed(List<String> texts) {
+            batchSizes.add(texts.size());
+            return delegate.embed(texts);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.aitemplate.app;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+class IncrementalJsonParserTest {
+
+    @Test
+    void emitsAGrowingDocumentAsValuesComplete() {
+        IncrementalJsonParser parser = new IncrementalJsonParser();
+        List<String> snapshots = new ArrayList<>();
+        for (String chunk : List.of("{\"na", "me\":\"Ad", "a\",", "\"tags\":[\"x\"", ",\"y\"],", "\"age\":3", "6}")) {
+            parser.feed(chunk).ifPresent(snapshots::add);
+        }
+
+        assertEquals(List.of(
+                "{\"name\":\"Ada\"}",
+                "{\"name\":\"Ada\",\"tags\":[\"x\"]}",
+                "{\"name\":\"Ada\",\"tags\":[\"x\",\"y\"]}",
+                "{\"name\":\"Ada\",\"tags\":[\"x\",\"y\"],\"age\":36}"), snapshots);
+        assertTrue(parser.finished());
+    }
+
+    @Test
+    void skipsLeadingFenceAndIgnoresTrailingText() {
+        IncrementalJsonParser parser = new IncrementalJsonParser();
+
+        assertEquals(Optional.empty(), parser.feed("```json\n"));
+        assertEquals(Optional.of("{\"ok\":true}"), parser.feed("{\"ok\":true}\n```"));
+        assertEquals(Optional.empty(), parser.feed("trailing"));
+    }
+
+    @Test
+    void malformedInputStopsParsingWithoutThrowing() {
+        IncrementalJsonParser parser = new IncrementalJsonParser();
+
+        assertEquals(Optional.of("{\"a\":1}"), parser.feed("{\"a\":1,"));
+        assertEquals(Optional.empty(), parser.feed("oops}"));
+        assertTrue(parser.finished());
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.aitemplate.app;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+import com.example.aitemplate.core.chat.ChatCommand;
+import com.example.aitemplate.core.chat.ChatResult;
+import com.example.aitemplate.core.model.CapabilitySet;
+import com.example.aitemplate.core.model.HealthStatus;
+import com.example.aitemplate.core.model.ModelAdapter;
+import com.example.aitemplate.infra.db.ModelConfigRepository;
+import com.example.aitemplate.plugins.model.EchoModelAdapter;
+import com.sun.net.httpserver.HttpServer;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import reactor.core.publisher.Flux;
+
+class ModelConnectionWarmerTest {
+
+    @Test
+    void warmsEachOriginOnceAndReportsPerAdapter() throws Exception {
+        AtomicInteger hits = new AtomicInteger();
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            hits.incrementAndGet();
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.start();
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+        try {
+            String live = "http://127.0.0.1:" + server.getAddress().getPort();
+            ModelConfigRepository repo = Mockito.mock(ModelConfigRepository.class);
+            when(repo.findAll()).thenReturn(List.of());
+            ModelRegistry registry = new ModelRegistry(List.of(
+                    new StubAdapter("a", live + "/v1", HealthStatus.UP),
+                    new StubAdapter("b", live + "/compatible-mode/v1", HealthStatus.UP),
+                    new StubAdapter("dead", "http://127.0.0.1:" + closedPort, HealthStatus.UP),
+                    new StubAdapter("no-key", "http://127.0.0.1:" + closedPort, HealthStatus.DOWN),
+                    new EchoModelAdapter()), repo);
+            ModelConnectionWarmer warmer = new ModelConnectionWarmer(registry,
+                    new ModelWarmupProperties(true, Duration.ofSeconds(3), Duration.ZERO), HttpClient.newHttpClient());
+
+            Map<String, ModelConnectionWarmer.AdapterWarmup> report = warmer.warmUp().stream()
+                    .collect(Collectors.toMap(ModelConnectionWarmer.AdapterWarmup::modelId, r -> r));
+
+            assertEquals(4, report.size());
+            assertEquals(ModelConnectionWarmer.Status.WARM, report.get("a").status());
+            assertEquals(404, report.get("b").httpStatus());
+            assertEquals(ModelConnectionWarmer.Status.FAILED, report.get("dead").status());
+            assertEquals(ModelConnectionWarmer.Status.SKIPPED, report.get("no-key").status());
+            assertEquals(1, hits.get());
+        }
+        finally {
+            server.stop(0);
+        }
+    }
+
+    private record StubAdapter(String modelId, String baseUrl, HealthStatus health) implements ModelAdapter {
+
+        @Override
+        public String provider() {
+            return "stub";
+        }
+
+        @Override
+        public CapabilitySet capabilities() {
+            return CapabilitySet.chatOnly();
+        }
+
+        @Override
+        public ChatResult invoke(ChatCommand command) {
+            return new ChatResult("");
+        }
+
+        @Override
+        public Flux<String> stream(ChatCommand command) {
+            return Flux.empty();
+        }
+
+        @Override
+        public URI endpoint() {
+            return URI.create(baseUrl);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.aitemplate.app;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+import com.example.aitemplate.core.model.ModelAdapter;
+import com.example.aitemplate.core.model.ModelThrottledException;
+import java.time.Duration;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class ModelRateLimiterTest {
+
+    @Test
+    void queuesUntilDeadlineThenThrottles() {
+        ModelRateLimiter limiter = new ModelRateLimiter(new ModelRateLimitProperties(
+                Map.of("m1", new ModelRateLimitProperties.Limit(2, 0)), 10, Duration.ofMillis(50)));
+        ModelAdapter adapter = adapter("m1");
+
+        limiter.acquire(adapter, 10);
+        limiter.acquire(adapter, 10);
+        assertThrows(ModelThrottledException.class, () -> limiter.acquire(adapter, 10));
+
+        ModelRateLimiter.RateLimitStats stats = limiter.stats().get(0);
+        assertEquals(2, stats.granted());
+        assertEquals(1, stats.throttled());
+        assertEquals(1, stats.rejected());
+        assertEquals(0, stats.queueDepth());
+    }
+
+    @Test
+    void unlimitedModelsBypassTheLimiter() {
+        ModelRateLimiter limiter = new ModelRateLimiter(ModelRateLimitProperties.defaults());
+        ModelAdapter adapter = adapter("free");
+
+        for (int i = 0; i < 1000; i++) {
+            limiter.acquire(adapter, 1_000);
+        }
+        assertEquals(0, limiter.stats().size());
+    }
+
+    private ModelAdapter adapter(String modelId) {
+        ModelAdapter adapter = Mockito.mock(ModelAdapter.class);
+        when(adapter.modelId()).thenReturn(modelId);
+        return adapter;
+    }
+}
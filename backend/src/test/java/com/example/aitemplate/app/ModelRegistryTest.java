@@ -0,0 +1,64 @@
+package com.example.aitemplate.app;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import com.example.aitemplate.core.model.CapabilitySet;
+import com.example.aitemplate.core.model.ModelAdapter;
+import com.example.aitemplate.core.model.ModelConfig;
+import com.example.aitemplate.infra.db.ModelConfigRepository;
+import com.example.aitemplate.plugins.model.EchoModelAdapter;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class ModelRegistryTest {
+
+    private static ModelConfig config(String modelId, String provider) {
+        return new ModelConfig(modelId, provider, modelId, "https://gw.example.com", "k", "m",
+                true, CapabilitySet.chatOnly(), 100);
+    }
+
+    @Test
+    void readsComeFromAVersionedSnapshotRebuiltOnMutation() {
+        ModelConfigRepository repo = Mockito.mock(ModelConfigRepository.class);
+        when(repo.findAll()).thenReturn(List.of());
+        ModelRegistry registry = new ModelRegistry(List.of(new EchoModelAdapter()), repo);
+        long initial = registry.version();
+
+        registry.upsertDynamic(config("zeta", "dashscope"));
+        registry.upsertDynamic(config("Alpha", "DashScope"));
+        List<ModelAdapter> list = registry.list();
+
+        assertEquals(initial + 2, registry.version());
+        assertSame(list, registry.list());
+        assertEquals(List.of("local-echo", "Alpha", "zeta"), list.stream().map(ModelAdapter::modelId).toList());
+        assertThrows(UnsupportedOperationException.class, () -> list.add(new EchoModelAdapter()));
+        assertEquals("Alpha", registry.firstEnabledByProvider("dashscope").orElseThrow().modelId());
+
+        registry.toggleEnabled("Alpha");
+
+        assertEquals(initial + 3, registry.version());
+        assertEquals("zeta", registry.firstEnabledByProvider("dashscope").orElseThrow().modelId());
+        assertEquals(3, registry.listAll().size());
+        assertThrows(IllegalArgumentException.class, () -> registry.getOrThrow("Alpha"));
+
+        registry.deleteDynamic("zeta");
+        assertTrue(registry.firstEnabledByProvider("dashscope").isEmpty());
+    }
+
+    @Test
+    void builtinsWinIdClashesWithStoredDynamicModels() {
+        ModelConfigRepository repo = Mockito.mock(ModelConfigRepository.class);
+        when(repo.findAll()).thenReturn(List.of(config("local-echo", "openai"), config("gw", "openai")));
+        EchoModelAdapter echo = new EchoModelAdapter();
+        ModelRegistry registry = new ModelRegistry(List.of(echo), repo);
+
+        assertSame(echo, registry.getOrThrow("local-echo"));
+        assertEquals(List.of("local-echo", "gw"), registry.list().stream().map(ModelAdapter::modelId).toList());
+        assertEquals(List.of("builtin", "dynamic"), registry.listAll().stream().map(ModelRegistry.ModelEntry::source).toList());
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.aitemplate.app;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.example.aitemplate.core.chat.ChatCommand;
+import com.example.aitemplate.core.chat.TokenUsage;
+import com.example.aitemplate.plugins.model.EchoModelAdapter;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ModelUsageMetricsTest {
+
+    @Test
+    void aggregatesTokensThroughputAndCost() {
+        ModelUsageMetrics metrics = new ModelUsageMetrics(new ModelUsageProperties(Map.of(
+                "m1", new ModelUsageProperties.Price(2.0, 8.0, 0.5))));
+
+        metrics.record("m1", new TokenUsage(1_000, 500, 400), 250);
+        metrics.record("m1", new TokenUsage(1_000, 500, 0), 250);
+        metrics.record("m1", TokenUsage.empty(), 10);
+
+        ModelUsageMetrics.UsageStats stats = metrics.snapshot().get(0);
+        assertEquals(3, stats.requests());
+        assertEquals(1, stats.unreportedRequests());
+        assertEquals(2_000, stats.promptTokens());
+        assertEquals(1_000, stats.completionTokens());
+        assertEquals(0.2, stats.cacheHitRatio(), 1e-9);
+        assertEquals(1_000 * 1000d / 510, stats.completionTokensPerSecond(), 1e-9);
+        // 1600 uncached * 2 + 400 cached * 0.5 + 1000 completion * 8, per million
+        assertEquals((1_600 * 2.0 + 400 * 0.5 + 1_000 * 8.0) / 1_000_000d, stats.estimatedCost(), 1e-12);
+    }
+
+    @Test
+    void directStreamReportsUsageOnceOutsideTheTextAndRecordsIt(@TempDir Path skillDir) {
+        ModelUsageMetrics metrics = new ModelUsageMetrics(ModelUsageProperties.empty());
+        ChatService chatService = TestChatServices.direct(skillDir, metrics, new EchoModelAdapter());
+
+        List<TokenUsage> reported = new ArrayList<>();
+        List<String> items = chatService.streamWithToolTrace(
+                new ChatCommand("c1", "local-echo", "USAGE: there", List.of(), List.of()), reported::add)
+                .collectList().block();
+
+        // A model chunk that happens to look like a metadata tag is still plain text.
+        assertEquals(List.of("echo: ", "USAGE: ", "there "), items);
+        assertEquals(1, reported.size());
+        assertEquals(2, reported.get(0).promptTokens());
+        assertEquals(3, reported.get(0).completionTokens());
+        assertEquals(3, metrics.snapshot().get(0).completionTokens());
+    }
+}
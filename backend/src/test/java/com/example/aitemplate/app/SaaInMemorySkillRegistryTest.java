@@ -0,0 +1,41 @@
+package com.example.aitemplate.app;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.example.aitemplate.core.skill.SkillProvider;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class SaaInMemorySkillRegistryTest {
+
+    private record CountingSkill(String skillName, String version, AtomicInteger reads) implements SkillProvider {
+
+        @Override
+        public String content() {
+            reads.incrementAndGet();
+            return "# " + skillName;
+        }
+    }
+
+    @Test
+    void registriesAreInternedPerSkillSetAndReadContentOnDemand() throws Exception {
+        AtomicInteger reads = new AtomicInteger();
+        SkillProvider alpha = new CountingSkill("alpha", "1.0.0", reads);
+        SkillProvider beta = new CountingSkill("beta", "2.0.0", reads);
+
+        SaaInMemorySkillRegistry registry = SaaInMemorySkillRegistry.of(List.of(alpha, beta));
+        assertSame(registry, SaaInMemorySkillRegistry.of(List.of(new CountingSkill("alpha", "1.0.0", reads), beta)));
+        assertNotSame(registry, SaaInMemorySkillRegistry.of(List.of(alpha)));
+        assertEquals(0, reads.get());
+
+        assertEquals("beta@2.0.0", registry.get("beta").orElseThrow().getDescription());
+        assertNull(registry.get("beta").orElseThrow().getFullContent());
+        assertEquals(List.of("alpha", "beta"), registry.listAll().stream().map(m -> m.getName()).toList());
+        assertEquals("# alpha", registry.readSkillContent("alpha"));
+        assertEquals(1, reads.get());
+    }
+}
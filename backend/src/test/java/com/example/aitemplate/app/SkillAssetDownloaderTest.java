@@ -0,0 +1,189 @@
+package com.example.aitemplate.app;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SkillAssetDownloaderTest {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final AtomicInteger flakyCalls = new AtomicInteger();
+    private final AtomicInteger largeCalls = new AtomicInteger();
+    private final AtomicInteger truncatedCalls = new AtomicInteger();
+    private HttpServer server;
+
+    @TempDir
+    Path downloadDir;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/slow/", exchange -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(100);
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            inFlight.decrementAndGet();
+            byte[] body = exchange.getRequestURI().getPath().getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.createContext("/flaky", exchange -> {
+            boolean fail = flakyCalls.incrementAndGet() == 1;
+            byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(fail ? 503 : 200, fail ? -1 : body.length);
+            if (!fail) {
+                exchange.getResponseBody().write(body);
+            }
+            exchange.close();
+        });
+        server.createContext("/large", exchange -> {
+            largeCalls.incrementAndGet();
+            boolean chunked = exchange.getRequestURI().getQuery() != null;
+            exchange.sendResponseHeaders(200, chunked ? 0 : 64 * 1024);
+            exchange.getResponseBody().write(new byte[64 * 1024]);
+            exchange.close();
+        });
+        server.createContext("/truncated", exchange -> {
+            if (truncatedCalls.incrementAndGet() == 1) {
+                // Promises 64 bytes, sends 32 and drops the connection.
+                exchange.sendResponseHeaders(200, 64);
+                exchange.getResponseBody().write(new byte[32]);
+                exchange.getResponseBody().flush();
+                exchange.close();
+                return;
+            }
+            byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.createContext("/missing", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void downloadsInParallelWithinThePerHostLimit() throws Exception {
+        SkillAssetDownloader downloader = downloader(new SkillImportProperties(16, 4, 3, Duration.ofMillis(10), null, null, null, null, null));
+        long start = System.nanoTime();
+        List<CompletableFuture<SkillAssetDownloader.FileDownload>> downloads = new ArrayList<>();
+        for (int i = 0; i < 24; i++) {
+            downloads.add(fetch(downloader, "/slow/" + i, Long.MAX_VALUE));
+        }
+        for (int i = 0; i < downloads.size(); i++) {
+            assertArrayEquals(("/slow/" + i).getBytes(StandardCharsets.UTF_8), Files.readAllBytes(downloads.get(i).get().file()));
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(maxInFlight.get() <= 4, "max in flight " + maxInFlight.get());
+        // 24 sequential requests take 2.4s; 4 at a time need 6 rounds of 100ms.
+        assertTrue(elapsedMs < 1_500, "elapsed " + elapsedMs + "ms");
+        assertEquals(24, downloader.progress().completed());
+    }
+
+    @Test
+    void retriesServerErrorsButNotClientErrors() throws Exception {
+        SkillAssetDownloader downloader = downloader(new SkillImportProperties(4, 4, 3, Duration.ofMillis(10), null, null, null, null, null));
+
+        assertArrayEquals("ok".getBytes(StandardCharsets.UTF_8),
+                Files.readAllBytes(fetch(downloader, "/flaky", Long.MAX_VALUE).get().file()));
+        ExecutionException missing = assertThrows(ExecutionException.class, () -> fetch(downloader, "/missing", Long.MAX_VALUE).get());
+        assertInstanceOf(IOException.class, missing.getCause());
+
+        SkillAssetDownloader.Progress progress = downloader.progress();
+        assertEquals(2, flakyCalls.get());
+        assertEquals(1, progress.retries());
+        assertEquals(1, progress.completed());
+        assertEquals(1, progress.failed());
+    }
+
+    @Test
+    void retryReplacesThePartialFileOfAFailedAttempt() throws Exception {
+        SkillAssetDownloader downloader = downloader(new SkillImportProperties(4, 4, 3, Duration.ofMillis(10), null, null, null, null, null));
+
+        SkillAssetDownloader.FileDownload download = fetch(downloader, "/truncated", Long.MAX_VALUE).get();
+
+        assertEquals(2, truncatedCalls.get());
+        assertArrayEquals("ok".getBytes(StandardCharsets.UTF_8), Files.readAllBytes(download.file()));
+        assertEquals(2, download.bytes());
+    }
+
+    @Test
+    void streamsToDiskWithADigestAndStopsAtTheSizeCap() throws Exception {
+        SkillAssetDownloader downloader = downloader(new SkillImportProperties(4, 4, 3, Duration.ofMillis(10), null, null, null, null, null));
+
+        SkillAssetDownloader.FileDownload download = fetch(downloader, "/large", 64 * 1024).get();
+        assertEquals(64 * 1024, download.bytes());
+        assertEquals(64 * 1024, Files.size(download.file()));
+        assertEquals(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(new byte[64 * 1024])),
+                download.digest());
+
+        // Rejected by Content-Length, and by counting when the body is chunked; neither is retried.
+        for (String path : List.of("/large", "/large?chunked")) {
+            ExecutionException tooLarge = assertThrows(ExecutionException.class, () -> fetch(downloader, path, 1024).get());
+            assertInstanceOf(SkillAssetDownloader.AssetTooLargeException.class, tooLarge.getCause());
+        }
+        assertEquals(3, largeCalls.get());
+        assertEquals(0, downloader.progress().retries());
+    }
+
+    private CompletableFuture<SkillAssetDownloader.FileDownload> fetch(
+            SkillAssetDownloader downloader, String path, long maxBytes) throws Exception {
+        return downloader.fetchToFile(uri(path), Files.createTempFile(downloadDir, "asset-", ".tmp"), maxBytes,
+                () -> {
+                    try {
+                        return MessageDigest.getInstance("SHA-256");
+                    }
+                    catch (Exception ex) {
+                        throw new IllegalStateException(ex);
+                    }
+                });
+    }
+
+    private static SkillAssetDownloader downloader(SkillImportProperties properties) {
+        return new SkillAssetDownloader(HttpClient.newHttpClient(), properties);
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + path);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.aitemplate.app;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SkillAssetManifestTest {
+
+    /** {@code printf 'hello\n' | git hash-object --stdin} */
+    private static final String HELLO_SHA = "ce013625030ba8dba906f756967f9e9ca394464a";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void trustsRecordedShasWhileSizeAndMtimeAreUnchanged() throws Exception {
+        Path file = Files.createDirectories(dir.resolve("scripts")).resolve("run.py");
+        Files.writeString(file, "hello\n");
+        SkillAssetManifest manifest = SkillAssetManifest.load(dir);
+        // Not recorded yet: hashed once, then recorded.
+        assertTrue(manifest.holds("scripts/run.py", file, HELLO_SHA, 6));
+        manifest.write();
+
+        // Same size and mtime: the recorded SHA is trusted without reading the file.
+        FileTime mtime = Files.getLastModifiedTime(file);
+        Files.writeString(file, "hallo\n");
+        Files.setLastModifiedTime(file, mtime);
+        assertTrue(SkillAssetManifest.load(dir).holds("scripts/run.py", file, HELLO_SHA, 6));
+
+        Files.setLastModifiedTime(file, FileTime.fromMillis(mtime.toMillis() + 5_000));
+        assertFalse(SkillAssetManifest.load(dir).holds("scripts/run.py", file, HELLO_SHA, 6));
+        assertFalse(SkillAssetManifest.load(dir).holds("scripts/run.py", file, "1".repeat(40), 6));
+
+        SkillAssetManifest emptied = SkillAssetManifest.load(dir);
+        emptied.retainAll(Set.of());
+        emptied.write();
+        assertFalse(Files.exists(dir.resolve(SkillAssetManifest.FILE_NAME)));
+    }
+}
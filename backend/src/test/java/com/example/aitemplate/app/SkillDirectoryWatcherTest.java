@@ -0,0 +1,63 @@
+package com.example.aitemplate.app;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.example.aitemplate.core.skill.SkillProvider;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SkillDirectoryWatcherTest {
+
+    @TempDir
+    Path skillDir;
+
+    @TempDir
+    Path stagingDir;
+
+    @Test
+    void appliesAddedEditedAndDeletedSkillsWithoutRestart() throws Exception {
+        SkillRegistry registry = new SkillRegistry(List.of(), skillDir.toString(), new ObjectMapper());
+        SkillDirectoryWatcher watcher = new SkillDirectoryWatcher(registry,
+                new SkillWatchProperties(true, Duration.ofMillis(50), Duration.ofSeconds(1)));
+        watcher.start();
+        try {
+            long initialVersion = registry.version();
+            Path staged = Files.createDirectories(stagingDir.resolve("2.0.0"));
+            Files.writeString(staged.resolve("SKILL.md"), "# v2");
+            Files.writeString(staged.resolve("skill.meta.json"), "{\"skillName\":\"ops\",\"version\":\"2.0.0\"}");
+            Files.createDirectories(skillDir.resolve("ops"));
+            Files.move(staged, skillDir.resolve("ops/2.0.0"));
+
+            awaitTrue(() -> !registry.resolve(List.of("ops")).isEmpty());
+            SkillProvider ops = registry.resolve(List.of("ops")).get(0);
+            assertEquals("# v2", ops.content());
+            // The catalog version is bumped after the new skill is published, so it can lag a poll.
+            awaitTrue(() -> registry.version() > initialVersion);
+
+            Files.writeString(skillDir.resolve("ops/2.0.0/SKILL.md"), "# v2 edited");
+            awaitTrue(() -> registry.resolve(List.of("ops")).get(0).content().equals("# v2 edited"));
+
+            Files.delete(skillDir.resolve("ops/2.0.0/skill.meta.json"));
+            awaitTrue(() -> registry.resolve(List.of("ops")).isEmpty());
+        }
+        finally {
+            watcher.destroy();
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Condition not met within 10s");
+            }
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.aitemplate.app;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SkillImportCacheTest {
+
+    /** {@code printf 'hello\n' | git hash-object --stdin} */
+    private static final String HELLO_SHA = "ce013625030ba8dba906f756967f9e9ca394464a";
+    private static final byte[] HELLO = "hello\n".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path root;
+
+    @Test
+    void commitsDownloadsUnderTheirGitSha() throws Exception {
+        SkillImportCache cache = new SkillImportCache(root.resolve("cache"));
+        assertEquals(Optional.empty(), cache.blob(HELLO_SHA));
+
+        Path download = cache.newTempFile();
+        Files.write(download, HELLO);
+        MessageDigest streamed = SkillImportCache.gitBlobDigest(HELLO.length);
+        streamed.update(HELLO);
+        assertEquals(HELLO_SHA, HexFormat.of().formatHex(streamed.digest()));
+        assertEquals(HELLO_SHA, SkillImportCache.gitBlobSha(download));
+
+        Path committed = cache.commitBlob(HELLO_SHA, download);
+        assertFalse(Files.exists(download));
+        assertEquals(Optional.of(committed), new SkillImportCache(root.resolve("cache")).blob(HELLO_SHA));
+        assertArrayEquals(HELLO, Files.readAllBytes(committed));
+        assertEquals(Optional.empty(), cache.blob(""));
+    }
+
+    @Test
+    void remembersTheLastEtagAndBodyPerUrl() throws Exception {
+        SkillImportCache cache = new SkillImportCache(root);
+        String url = "https://api.github.com/repos/demo/skills";
+
+        cache.storeResponse(url, "W/\"abc\"", "{\"default_branch\":\"main\"}\n");
+
+        SkillImportCache.CachedResponse cached = cache.response(url).orElseThrow();
+        assertEquals("W/\"abc\"", cached.etag());
+        assertEquals("{\"default_branch\":\"main\"}\n", cached.body());
+        assertEquals(Optional.empty(), cache.response(url + "/git/trees/main?recursive=1"));
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntriesBeyondTheBudget() throws Exception {
+        SkillImportCache cache = new SkillImportCache(root);
+        String older = "1".repeat(40);
+        String newer = "2".repeat(40);
+        Path olderBlob = commit(cache, older, 100);
+        Path newerBlob = commit(cache, newer, 100);
+        Files.setLastModifiedTime(olderBlob, FileTime.fromMillis(1_000));
+        Files.setLastModifiedTime(newerBlob, FileTime.fromMillis(2_000));
+        Path staleTemp = cache.newTempFile();
+        Files.setLastModifiedTime(staleTemp, FileTime.fromMillis(0));
+        // A hit counts as an access: the older blob becomes the most recently used one.
+        cache.blob(older);
+
+        assertEquals(100, cache.evict(150));
+        assertTrue(cache.blob(older).isPresent());
+        assertEquals(Optional.empty(), cache.blob(newer));
+        assertFalse(Files.exists(staleTemp));
+        assertEquals(0, cache.evict(150));
+    }
+
+    @Test
+    void evictionKeepsEntriesUsedByImportsStillRunning() throws Exception {
+        SkillImportCache cache = new SkillImportCache(root);
+        String idle = "1".repeat(40);
+        String inUse = "2".repeat(40);
+        Files.setLastModifiedTime(commit(cache, idle, 100), FileTime.fromMillis(1_000));
+        Files.setLastModifiedTime(commit(cache, inUse, 100), FileTime.fromMillis(2_000));
+        FileTime importStarted = FileTime.fromMillis(System.currentTimeMillis() - 60_000);
+        // Another import got this blob after it started and may still be copying it.
+        cache.blob(inUse);
+
+        assertEquals(100, cache.evict(0, importStarted));
+        assertEquals(Optional.empty(), cache.blob(idle));
+        assertTrue(cache.blob(inUse).isPresent());
+    }
+
+    @Test
+    void recognisesFilesThatAlreadyHoldABlob() throws Exception {
+        Path file = root.resolve("run.py");
+        assertFalse(SkillImportCache.holdsBlob(file, HELLO_SHA, HELLO.length));
+        Files.write(file, HELLO);
+        assertTrue(SkillImportCache.holdsBlob(file, HELLO_SHA, HELLO.length));
+        Files.writeString(file, "hallo\n");
+        assertFalse(SkillImportCache.holdsBlob(file, HELLO_SHA, HELLO.length));
+    }
+
+    private static Path commit(SkillImportCache cache, String sha, int size) throws Exception {
+        Path download = cache.newTempFile();
+        Files.write(download, new byte[size]);
+        return cache.commitBlob(sha, download);
+    }
+}
@@ -0,0 +1,277 @@
+package com.example.aitemplate.app;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.aitemplate.core.skill.SkillProvider;
+import com.example.aitemplate.core.skill.SkillVersion;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+class SkillRegistryTest {
+
+    @TempDir
+    Path skillDir;
+
+    private record TestSkill(String skillName, String version, String content) implements SkillProvider {
+    }
+
+    @Test
+    void versionsFollowSemverOrdering() {
+        List<String> versions = new ArrayList<>(List.of(
+                "1.10.0", "1.9.0", "v1.2", "1.0.0", "1.0.0-rc.1", "1.0.0-alpha", "1.0.0-rc.10", "2.0.0+build.7"));
+        versions.sort(SkillVersion.ORDER);
+
+        assertEquals(List.of("1.0.0-alpha", "1.0.0-rc.1", "1.0.0-rc.10", "1.0.0", "v1.2", "1.9.0", "1.10.0", "2.0.0+build.7"),
+                versions);
+        assertTrue(SkillVersion.compare("1.0", "1.0.0") != 0);
+        // Spellings that normalize alike are still distinct keys.
+        assertTrue(SkillVersion.compare("v1.0.0", "1.0.0") != 0);
+        assertTrue(SkillVersion.compare("1.0.0-RC1", "1.0.0-rc1") != 0);
+        assertEquals(0, SkillVersion.compare("v1.0.0", "v1.0.0"));
+
+        SkillRegistry registry = new SkillRegistry(List.of(), skillDir.toString(), new ObjectMapper());
+        registry.upsertDynamic("notes", "1.0.0", "# Plain");
+        registry.upsertDynamic("notes", "v1.0.0", "# Prefixed");
+        registry.deleteDynamic("notes", "1.0.0");
+        assertEquals("v1.0.0", registry.resolve(List.of("notes")).get(0).version());
+    }
+
+    @Test
+    void unversionedRefsResolveToTheNewestAndFollowDeletes() {
+        SkillRegistry registry = new SkillRegistry(
+                List.of(new TestSkill("notes", "3.0.0", "builtin")), skillDir.toString(), new ObjectMapper());
+        registry.upsertDynamic("notes", "1.9.0", "old");
+        registry.upsertDynamic("notes", "1.10.0", "new");
+
+        assertEquals("1.10.0", registry.resolve(List.of("notes")).get(0).version());
+        assertEquals("3.0.0", registry.resolve(List.of("notes@3.0.0")).get(0).version());
+
+        registry.deleteDynamic("notes", "1.10.0");
+        assertEquals("1.9.0", registry.resolve(List.of("notes")).get(0).version());
+
+        registry.deleteDynamic("notes", null);
+        assertEquals("3.0.0", registry.resolve(List.of("notes")).get(0).version());
+    }
+
+    @Test
+    void dynamicContentIsReadLazilyThroughAByteBoundedCache() throws Exception {
+        new SkillRegistry(List.of(), skillDir.toString(), new ObjectMapper()).upsertDynamic("big", "1.0.0", "x".repeat(300));
+        new SkillRegistry(List.of(), skillDir.toString(), new ObjectMapper()).upsertDynamic("small", "1.0.0", "y".repeat(100));
+
+        SkillRegistry reloaded = new SkillRegistry(List.of(), skillDir.toString(), new ObjectMapper(), 350, 200, 0, false);
+        SkillProvider big = reloaded.resolve(List.of("big")).get(0);
+        SkillProvider small = reloaded.resolve(List.of("small")).get(0);
+        Files.writeString(skillDir.resolve("big/1.0.0/SKILL.md"), "z".repeat(300));
+
+        assertEquals("z".repeat(300), big.content());
+        assertEquals("y".repeat(100), small.content());
+        // 400 bytes exceed the 350-byte budget, so "big" was evicted and is re-read from disk.
+        Files.writeString(skillDir.resolve("big/1.0.0/SKILL.md"), "w".repeat(300));
+        assertEquals("w".repeat(300), big.content());
+    }
+
+    @Test
+    void autoRefSelectsTheMostRelevantSkillsAndTracksUpdates() {
+        SkillRegistry registry = new SkillRegistry(
+                List.of(new TestSkill("pdf-report", "1.0.0", "Render tables and charts into a PDF report.")),
+                skillDir.toString(), new ObjectMapper());
+        registry.upsertDynamic("sql-tuning", "1.0.0", "Explain plans, indexes and slow SQL queries.");
+        registry.upsertDynamic("translator", "1.0.0", "把中文翻译成英文，保持术语一致。");
+        registry.resolve(List.of("translator"), "no auto ref");
+        assertFalse(registry.searchIndexBuilt());
+
+        // The first auto-select builds the index from the whole catalog before searching.
+        List<SkillProvider> picked = registry.resolve(List.of("translator", "@auto:2"), "Why is this SQL query slow? Export a PDF.");
+        assertEquals(List.of("translator", "sql-tuning", "pdf-report"), picked.stream().map(SkillProvider::skillName).toList());
+        assertTrue(registry.searchIndexBuilt());
+        assertEquals("translator", registry.resolve(List.of("@auto:1"), "请把这段翻译成英文").get(0).skillName());
+
+        registry.upsertDynamic("sql-tuning", "1.0.0", "Tune JVM garbage collection.");
+        registry.upsertDynamic("query-doctor", "2.0.0", "Diagnose slow SQL queries and missing indexes.");
+        registry.awaitSearchIndex();
+        assertEquals("query-doctor", registry.resolve(List.of("@auto:1"), "slow SQL query").get(0).skillName());
+        registry.deleteDynamic("query-doctor", null);
+        registry.awaitSearchIndex();
+        assertEquals(List.of("sql-tuning"),
+                registry.resolve(List.of("@auto"), "slow SQL query").stream().map(SkillProvider::skillName).toList());
+
+        // The version that matched is selected, not the newest one.
+        registry.upsertDynamic("query-doctor", "1.0.0", "Diagnose slow SQL queries and missing indexes.");
+        registry.upsertDynamic("query-doctor", "3.0.0", "Format calendar dates.");
+        registry.awaitSearchIndex();
+        SkillProvider best = registry.resolve(List.of("@auto:1"), "slow SQL query").get(0);
+        assertEquals("query-doctor@1.0.0", best.skillName() + "@" + best.version());
+    }
+
+    /** Run with {@code -Dbenchmark=true}; prints per-reference resolution cost at growing catalog sizes. */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkResolutionAtTenThousandSkills() {
+        for (int size : new int[] {100, 1_000, 10_000}) {
+            List<SkillProvider> providers = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                providers.add(new TestSkill("skill-" + (i / 4), "1." + (i % 4) + ".0", "content"));
+            }
+            SkillRegistry registry = new SkillRegistry(providers, skillDir.resolve("s" + size).toString(), new ObjectMapper());
+            List<String> refs = List.of("skill-0", "skill-" + (size / 8), "skill-" + (size / 4 - 1));
+            int rounds = 200_000;
+            for (int i = 0; i < rounds; i++) {
+                registry.resolve(refs);
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < rounds; i++) {
+                registry.resolve(refs);
+            }
+            long nanosPerRef = (System.nanoTime() - start) / (rounds * (long) refs.size());
+            System.out.printf("[Benchmark] skills=%d resolve=%dns/ref (%dms total)%n", size, nanosPerRef,
+                    TimeUnit.NANOSECONDS.toMillis(nanosPerRef * rounds * refs.size()));
+        }
+    }
+
+    /** Run with {@code -Dbenchmark=true}; prints auto-selection latency over synthetic skill libraries. */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkAutoSelection() {
+        String[] vocabulary = "sql pdf chart report invoice email deploy kafka redis cache latency translate summary review test"
+                .split(" ");
+        for (int size : new int[] {100, 1_000, 10_000}) {
+            List<SkillProvider> providers = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                StringBuilder content = new StringBuilder();
+                for (int w = 0; w < 200; w++) {
+                    content.append(vocabulary[(i * 7 + w * w) % vocabulary.length]).append(i % 97).append(' ');
+                }
+                providers.add(new TestSkill("skill-" + i, "1.0.0", content.toString()));
+            }
+            SkillRegistry registry = new SkillRegistry(providers, skillDir.resolve("a" + size).toString(), new ObjectMapper());
+            List<String> refs = List.of(SkillRegistry.AUTO_SELECT_REF);
+            long buildStart = System.nanoTime();
+            registry.resolve(refs, "build");
+            long buildMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - buildStart);
+            int rounds = 2_000;
+            for (int i = 0; i < rounds; i++) {
+                registry.resolve(refs, "slow sql report42 for the kafka cache");
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < rounds; i++) {
+                registry.resolve(refs, "slow sql report42 for the kafka cache");
+            }
+            System.out.printf("[Benchmark] skills=%d firstBuild=%dms autoSelect=%dus/query%n",
+                    size, buildMs, TimeUnit.NANOSECONDS.toMicros((System.nanoTime() - start) / rounds));
+        }
+    }
+
+    @Test
+    void coldStartUsesTheIndexUntilTheTreeChanges() throws Exception {
+        Path scripts = Files.createDirectories(skillDir.resolve("tool/1.0.0/scripts"));
+        Files.writeString(skillDir.resolve("tool/1.0.0/SKILL.md"), "# Tool");
+        Files.writeString(skillDir.resolve("tool/1.0.0/skill.meta.json"), "{\"skillName\":\"tool\",\"version\":\"1.0.0\"}");
+        Files.writeString(scripts.resolve("run_tool.py"), "print('ok')");
+
+        SkillRegistry scanned = indexed(1);
+        scanned.writeIndexNow();
+        assertTrue(!scanned.loadedFromIndex());
+
+        SkillRegistry fromIndex = indexed(1);
+        assertTrue(fromIndex.loadedFromIndex());
+        assertEquals("# Tool", fromIndex.resolve(List.of("tool")).get(0).content());
+        assertEquals(scripts.resolve("run_tool.py"), fromIndex.findPythonSkillScript("tool", "1.0.0").orElseThrow());
+
+        Files.createDirectories(skillDir.resolve("tool/1.1.0"));
+        Files.writeString(skillDir.resolve("tool/1.1.0/SKILL.md"), "# Tool 1.1");
+        Files.writeString(skillDir.resolve("tool/1.1.0/skill.meta.json"), "{\"skillName\":\"tool\",\"version\":\"1.1.0\"}");
+
+        SkillRegistry rescanned = indexed(1);
+        rescanned.writeIndexNow();
+        assertTrue(!rescanned.loadedFromIndex());
+        assertEquals("1.1.0", rescanned.resolve(List.of("tool")).get(0).version());
+    }
+
+    @Test
+    void indexIsFlushedOnShutdownAndRejectedWhenCorruptOrMissingAnEntry() throws Exception {
+        Files.createDirectories(skillDir.resolve("tool/1.0.0"));
+        Files.writeString(skillDir.resolve("tool/1.0.0/SKILL.md"), "# Tool");
+        Files.writeString(skillDir.resolve("tool/1.0.0/skill.meta.json"), "{\"skillName\":\"tool\",\"version\":\"1.0.0\"}");
+
+        // The scan queues a background write; shutting down waits for it.
+        indexed(1).destroy();
+        Path index = SkillIndexFile.indexDir(skillDir).resolve(SkillIndexFile.FILE_NAME);
+        assertTrue(indexed(1).loadedFromIndex());
+
+        // A new version whose parent mtime did not tick is still caught by the child count.
+        Path toolDir = skillDir.resolve("tool");
+        FileTime mtime = Files.getLastModifiedTime(toolDir);
+        Files.createDirectories(skillDir.resolve("tool/1.1.0"));
+        Files.writeString(skillDir.resolve("tool/1.1.0/SKILL.md"), "# Tool 1.1");
+        Files.writeString(skillDir.resolve("tool/1.1.0/skill.meta.json"), "{\"skillName\":\"tool\",\"version\":\"1.1.0\"}");
+        Files.setLastModifiedTime(toolDir, mtime);
+        SkillRegistry rescanned = indexed(1);
+        assertTrue(!rescanned.loadedFromIndex());
+        assertEquals("1.1.0", rescanned.resolve(List.of("tool")).get(0).version());
+        rescanned.destroy();
+        assertTrue(indexed(1).loadedFromIndex());
+
+        byte[] bytes = Files.readAllBytes(index);
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(index, bytes);
+        assertTrue(!indexed(1).loadedFromIndex());
+    }
+
+    private SkillRegistry indexed(int parallelism) {
+        return new SkillRegistry(List.of(), skillDir.toString(), new ObjectMapper(),
+                64L * 1024 * 1024, 1024L * 1024, parallelism, true);
+    }
+
+    /**
+     * Run with {@code -Dbenchmark=true [-Dbenchmark.skills=5000]}; generates N synthetic skills and
+     * prints boot time and retained heap for sequential and parallel loading.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkStartupLoadingOfLargeSkillLibraries() throws Exception {
+        int count = Integer.getInteger("benchmark.skills", 5_000);
+        for (int i = 0; i < count; i++) {
+            Path dir = Files.createDirectories(skillDir.resolve("lib/skill-" + i).resolve("1.0." + (i % 3)));
+            Files.writeString(dir.resolve("SKILL.md"), "# Skill " + i + "\n" + "Lorem ipsum dolor sit amet. ".repeat(200));
+            Files.writeString(dir.resolve("skill.meta.json"),
+                    "{\"skillName\":\"skill-" + i + "\",\"version\":\"1.0." + (i % 3) + "\"}");
+        }
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        int parallel = Math.max(4, Runtime.getRuntime().availableProcessors());
+        // First pass warms up the JIT and the OS page cache; report the later ones.
+        new SkillRegistry(List.of(), skillDir.toString(), new ObjectMapper());
+        for (int parallelism : new int[] {1, parallel, 1, parallel}) {
+            System.gc();
+            long heapBefore = memory.getHeapMemoryUsage().getUsed();
+            long start = System.nanoTime();
+            SkillRegistry registry = new SkillRegistry(List.of(), skillDir.toString(), new ObjectMapper(),
+                    64L * 1024 * 1024, 1024L * 1024, parallelism, false);
+            long bootMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            System.gc();
+            long heapKb = (memory.getHeapMemoryUsage().getUsed() - heapBefore) / 1024;
+            assertEquals(count, registry.list().size());
+            System.out.printf("[Benchmark] skills=%d threads=%d boot=%dms retainedHeap=%dKiB%n",
+                    count, parallelism, bootMs, heapKb);
+        }
+        indexed(parallel).writeIndexNow();
+        for (int round = 0; round < 2; round++) {
+            long start = System.nanoTime();
+            SkillRegistry registry = indexed(parallel);
+            long bootMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            assertTrue(registry.loadedFromIndex());
+            System.out.printf("[Benchmark] skills=%d index boot=%dms%n", count, bootMs);
+        }
+    }
+}
@@ -0,0 +1,344 @@
+package com.example.aitemplate.app;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SkillSourceImportServiceTest {
+
+    private static final byte[] BINARY = {0, (byte) 0xff, 1, (byte) 0x80, 42};
+
+    @TempDir
+    Path skillDir;
+
+    @TempDir
+    Path archiveDir;
+
+    @Test
+    void importsSkillsAndAssetsFromALocalZip() throws Exception {
+        Path zip = archiveDir.resolve("demo.zip");
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(zip))) {
+            out.putNextEntry(new ZipEntry("demo-abc123/"));
+            for (Map.Entry<String, byte[]> file : repoFiles().entrySet()) {
+                out.putNextEntry(new ZipEntry("demo-abc123/" + file.getKey()));
+                out.write(file.getValue());
+            }
+        }
+        assertImported(zip);
+    }
+
+    @Test
+    void importsSkillsAndAssetsFromALocalTarball() throws Exception {
+        Path tarball = archiveDir.resolve("demo.tar.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tarball))) {
+            for (Map.Entry<String, byte[]> file : repoFiles().entrySet()) {
+                writeTarEntry(out, "demo-abc123/" + file.getKey(), file.getValue());
+            }
+            out.write(new byte[1024]);
+        }
+        assertImported(tarball);
+    }
+
+    @Test
+    void rejectsLocalArchivesOutsideTheConfiguredDirectory() throws Exception {
+        Path outside = Files.createDirectories(skillDir.resolve("elsewhere")).resolve("demo.zip");
+        Files.write(outside, new byte[] {'P', 'K'});
+        Files.createSymbolicLink(archiveDir.resolve("link.zip"), outside);
+        SkillRegistry registry = new SkillRegistry(List.of(), skillDir.toString(), new ObjectMapper());
+
+        SkillSourceImportService restricted = new SkillSourceImportService(registry, new ObjectMapper(), localDir(archiveDir));
+        assertThrows(IllegalArgumentException.class, () -> restricted.importFromSource(outside.toString()));
+        assertThrows(IllegalArgumentException.class, () -> restricted.importFromSource(outside.toUri().toString()));
+        assertThrows(IllegalArgumentException.class, () -> restricted.importFromSource("link.zip"));
+        assertThrows(IllegalArgumentException.class, () -> restricted.importFromSource("../elsewhere/demo.zip"));
+
+        SkillSourceImportService disabled =
+                new SkillSourceImportService(registry, new ObjectMapper(), SkillImportProperties.defaults());
+        assertThrows(IllegalArgumentException.class, () -> disabled.importFromSource(outside.toString()));
+    }
+
+    @Test
+    void rawImportDiscardsDownloadsThatFailTheChecksum() throws Exception {
+        byte[] skillMd = utf8("---\nname: fetched\nversion: 1.0.0\n---\nFetched skill.\n");
+        byte[] script = utf8("print('tampered')");
+        String wrongSha = "0".repeat(40);
+        String tree = new ObjectMapper().writeValueAsString(Map.of("tree", List.of(
+                Map.of("path", "skills/fetched/SKILL.md", "type", "blob", "sha", gitSha(skillMd), "size", skillMd.length),
+                Map.of("path", "skills/fetched/scripts/run.py", "type", "blob", "sha", wrongSha, "size", script.length))));
+        Map<String, byte[]> responses = Map.of(
+                "/api/repos/demo/skills", utf8("{\"default_branch\":\"main\"}"),
+                "/api/repos/demo/skills/git/trees/main", utf8(tree),
+                "/raw/demo/skills/main/skills/fetched/SKILL.md", skillMd,
+                "/raw/demo/skills/main/skills/fetched/scripts/run.py", script);
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            byte[] body = responses.get(exchange.getRequestURI().getPath());
+            exchange.sendResponseHeaders(body == null ? 404 : 200, body == null ? -1 : body.length);
+            if (body != null) {
+                exchange.getResponseBody().write(body);
+            }
+            exchange.close();
+        });
+        server.start();
+        Path cacheDir = archiveDir.resolve("cache");
+        try {
+            String base = "http://127.0.0.1:" + server.getAddress().getPort();
+            SkillRegistry registry = new SkillRegistry(List.of(), skillDir.toString(), new ObjectMapper());
+            SkillSourceImportService service = new SkillSourceImportService(registry, new ObjectMapper(),
+                    new SkillImportProperties(null, null, 1, Duration.ZERO, null, cacheDir.toString(), null, null, null),
+                    new SkillSourceImportService.GitHubHosts(base + "/api", base + "/raw", base + "/codeload"));
+
+            SkillRegistry.SkillImportResult result = service.importFromSource("demo/skills");
+
+            assertEquals(List.of("fetched@1.0.0"), result.skillNames());
+            assertEquals(1, result.errors().size());
+            assertTrue(result.errors().get(0).contains("checksum mismatch"), result.errors().get(0));
+            assertTrue(Files.notExists(registry.skillVersionDir("fetched", "1.0.0").resolve("scripts/run.py")));
+        }
+        finally {
+            server.stop(0);
+        }
+        // The verified SKILL.md was committed; the mismatching download left neither a blob nor a temp file.
+        assertTrue(Files.exists(cacheDir.resolve("blobs/" + gitSha(skillMd).substring(0, 2) + "/" + gitSha(skillMd))));
+        assertTrue(Files.notExists(cacheDir.resolve("blobs/00/" + wrongSha)));
+        try (Stream<Path> temps = Files.list(cacheDir.resolve("tmp"))) {
+            assertEquals(0, temps.count());
+        }
+    }
+
+    @Test
+    void rawImportFetchesDifferentSkillsConcurrently() throws Exception {
+        Map<String, byte[]> files = new LinkedHashMap<>();
+        List<Map<String, Object>> tree = new ArrayList<>();
+        for (String name : List.of("alpha", "beta")) {
+            files.put("skills/" + name + "/SKILL.md", utf8("---\nname: " + name + "\nversion: 1.0.0\n---\n" + name + "\n"));
+            files.put("skills/" + name + "/data.bin", (name + "-").repeat(600).getBytes(StandardCharsets.UTF_8));
+        }
+        files.forEach((path, body) -> tree.add(Map.of("path", path, "type", "blob", "sha", gitSha(body), "size", body.length)));
+        // Each SKILL.md (and each asset) is only answered once the other skill's request has arrived too,
+        // so a one-skill-at-a-time import would wait out the latch.
+        CountDownLatch skillMds = new CountDownLatch(2);
+        CountDownLatch assets = new CountDownLatch(2);
+        AtomicBoolean overlapped = new AtomicBoolean(true);
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            byte[] body;
+            if (path.equals("/api/repos/demo/skills")) {
+                body = utf8("{\"default_branch\":\"main\"}");
+            }
+            else if (path.equals("/api/repos/demo/skills/git/trees/main")) {
+                body = utf8(new ObjectMapper().writeValueAsString(Map.of("tree", tree)));
+            }
+            else {
+                body = files.get(path.substring("/raw/demo/skills/main/".length()));
+                CountDownLatch latch = path.endsWith("SKILL.md") ? skillMds : assets;
+                latch.countDown();
+                try {
+                    if (!latch.await(5, TimeUnit.SECONDS)) {
+                        overlapped.set(false);
+                    }
+                }
+                catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        try {
+            String base = "http://127.0.0.1:" + server.getAddress().getPort();
+            SkillRegistry registry = new SkillRegistry(List.of(), skillDir.toString(), new ObjectMapper());
+            SkillSourceImportService service = new SkillSourceImportService(registry, new ObjectMapper(),
+                    new SkillImportProperties(null, null, 1, Duration.ZERO, null, archiveDir.resolve("cache").toString(),
+                            null, null, null),
+                    new SkillSourceImportService.GitHubHosts(base + "/api", base + "/raw", base + "/codeload"));
+
+            SkillRegistry.SkillImportResult result = service.importFromSource("demo/skills");
+
+            assertEquals(List.of(), result.errors());
+            assertEquals(List.of("alpha@1.0.0", "beta@1.0.0"), result.skillNames());
+            assertTrue(overlapped.get(), "fetches for different skills did not overlap");
+            assertArrayEquals(files.get("skills/beta/data.bin"),
+                    Files.readAllBytes(registry.skillVersionDir("beta", "1.0.0").resolve("data.bin")));
+        }
+        finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void archiveImportSkipsAssetsOverTheSizeCap() throws Exception {
+        Path zip = archiveDir.resolve("big.zip");
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(zip))) {
+            out.putNextEntry(new ZipEntry("big-abc123/skills/big/SKILL.md"));
+            out.write(utf8("---\nname: big\nversion: 1.0.0\n---\nBig assets.\n"));
+            out.putNextEntry(new ZipEntry("big-abc123/skills/big/assets/small.bin"));
+            out.write(new byte[64]);
+            out.putNextEntry(new ZipEntry("big-abc123/skills/big/assets/large.bin"));
+            out.write(new byte[65]);
+        }
+        SkillRegistry registry = new SkillRegistry(List.of(), skillDir.toString(), new ObjectMapper());
+        SkillSourceImportService service = new SkillSourceImportService(registry, new ObjectMapper(),
+                new SkillImportProperties(null, null, null, null, null, null, null, 64L, archiveDir.toString()));
+
+        SkillRegistry.SkillImportResult result = service.importFromSource(zip.toString());
+
+        assertEquals(List.of("big@1.0.0"), result.skillNames());
+        assertEquals(List.of("Skipped asset skills/big/assets/large.bin: exceeds 64 bytes"), result.errors());
+        Path dir = registry.skillVersionDir("big", "1.0.0");
+        assertEquals(64, Files.size(dir.resolve("assets/small.bin")));
+        assertTrue(Files.notExists(dir.resolve("assets/large.bin")));
+    }
+
+    @Test
+    void archiveImportCapsAssetsWhoseHeaderUnderstatesTheirSize() throws Exception {
+        Path zip = archiveDir.resolve("lying.zip");
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(zip))) {
+            out.putNextEntry(new ZipEntry("lying-abc123/skills/lying/SKILL.md"));
+            out.write(utf8("---\nname: lying\nversion: 1.0.0\n---\nLying sizes.\n"));
+            out.putNextEntry(new ZipEntry("lying-abc123/skills/lying/assets/large.bin"));
+            out.write(new byte[4096]);
+        }
+        // Claim 8 bytes in the central directory; the deflated data still holds 4096.
+        understateZipEntrySize(zip, "lying-abc123/skills/lying/assets/large.bin", 8);
+        SkillRegistry registry = new SkillRegistry(List.of(), skillDir.toString(), new ObjectMapper());
+        SkillSourceImportService service = new SkillSourceImportService(registry, new ObjectMapper(),
+                new SkillImportProperties(null, null, null, null, null, null, null, 64L, archiveDir.toString()));
+
+        SkillRegistry.SkillImportResult result = service.importFromSource(zip.toString());
+
+        assertEquals(List.of("lying@1.0.0"), result.skillNames());
+        assertEquals(1, result.errors().size());
+        assertTrue(result.errors().get(0).startsWith("Failed to extract asset skills/lying/assets/large.bin: asset exceeds 64"),
+                result.errors().get(0));
+        Path dir = registry.skillVersionDir("lying", "1.0.0");
+        assertTrue(Files.notExists(dir.resolve("assets/large.bin")));
+        try (Stream<Path> files = Files.list(dir.resolve("assets"))) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    /** Overwrites the uncompressed size in the central directory record of {@code name}. */
+    private static void understateZipEntrySize(Path zip, String name, int size) throws IOException {
+        byte[] bytes = Files.readAllBytes(zip);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        byte[] nameBytes = utf8(name);
+        for (int i = 0; i + 46 + nameBytes.length <= bytes.length; i++) {
+            if (buffer.getInt(i) == 0x02014b50 && buffer.getShort(i + 28) == nameBytes.length
+                    && Arrays.equals(bytes, i + 46, i + 46 + nameBytes.length, nameBytes, 0, nameBytes.length)) {
+                buffer.putInt(i + 24, size);
+                Files.write(zip, bytes);
+                return;
+            }
+        }
+        throw new IllegalStateException("No central directory record for " + name);
+    }
+
+    private static String gitSha(byte[] content) {
+        return HexFormat.of().formatHex(SkillImportCache.gitBlobDigest(content.length).digest(content));
+    }
+
+    private static SkillImportProperties localDir(Path dir) {
+        return new SkillImportProperties(null, null, null, null, null, null, null, null, dir.toString());
+    }
+
+    private void assertImported(Path archive) throws IOException {
+        SkillRegistry registry = new SkillRegistry(List.of(), skillDir.toString(), new ObjectMapper());
+        SkillSourceImportService service =
+                new SkillSourceImportService(registry, new ObjectMapper(), localDir(archiveDir));
+
+        SkillRegistry.SkillImportResult result = service.importFromSource(archive.toString());
+
+        assertEquals(List.of(), result.errors());
+        assertEquals(List.of("pdf-tools@2.0.0", "local/demo/skills-notes@1.0.0"), result.skillNames());
+        assertEquals("Render PDFs.", registry.resolve(List.of("pdf-tools")).get(0).content());
+        Path pdf = registry.skillVersionDir("pdf-tools", "2.0.0");
+        assertEquals("print('pdf')", Files.readString(pdf.resolve("scripts/run_pdf.py")));
+        assertArrayEquals(BINARY, Files.readAllBytes(pdf.resolve("assets/logo.bin")));
+        // The "lib" redirect stub is replaced by the files it points to.
+        assertEquals("VALUE = 1", Files.readString(pdf.resolve("lib/util.py")));
+        assertTrue(Files.notExists(registry.skillVersionDir("local/demo/skills-notes", "1.0.0").resolve("scripts")));
+    }
+
+    private static Map<String, byte[]> repoFiles() {
+        Map<String, byte[]> files = new LinkedHashMap<>();
+        files.put("README.md", utf8("# Demo"));
+        files.put("skills/pdf/scripts/run_pdf.py", utf8("print('pdf')"));
+        files.put("skills/pdf/SKILL.md", utf8("---\nname: pdf-tools\nversion: 2.0.0\n---\nRender PDFs.\n"));
+        files.put("skills/pdf/assets/logo.bin", BINARY);
+        files.put("skills/pdf/lib", utf8("../../shared/lib"));
+        files.put("skills/notes/SKILL.md", utf8("Take notes."));
+        files.put("shared/lib/util.py", utf8("VALUE = 1"));
+        return files;
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /** Minimal ustar header plus data padded to 512-byte blocks. */
+    private static void writeTarEntry(OutputStream out, String name, byte[] data) throws IOException {
+        byte[] header = new byte[512];
+        put(header, 0, name);
+        put(header, 100, "0000644");
+        put(header, 108, "0000000");
+        put(header, 116, "0000000");
+        put(header, 124, String.format("%011o", data.length));
+        put(header, 136, "00000000000");
+        header[156] = '0';
+        put(header, 257, "ustar");
+        put(header, 263, "00");
+        for (int i = 148; i < 156; i++) {
+            header[i] = ' ';
+        }
+        long checksum = 0;
+        for (byte b : header) {
+            checksum += b & 0xff;
+        }
+        put(header, 148, String.format("%06o", checksum));
+        ByteArrayOutputStream entry = new ByteArrayOutputStream();
+        entry.write(header);
+        entry.write(data);
+        entry.write(new byte[(512 - data.length % 512) % 512]);
+        out.write(entry.toByteArray());
+    }
+
+    private static void put(byte[] header, int offset, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(bytes, 0, header, offset, bytes.length);
+    }
+}
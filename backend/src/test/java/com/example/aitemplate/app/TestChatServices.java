@@ -0,0 +1,37 @@
+package com.example.aitemplate.app;
+
+import static org.mockito.Mockito.mock;
+
+import com.example.aitemplate.core.model.ModelAdapter;
+import com.example.aitemplate.infra.db.ModelConfigRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.file.Path;
+import java.util.List;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * A {@link ChatService} over plain model adapters for tests that only drive the direct adapter
+ * path: no tools, skills, stored model configs, chat memory or Spring AI agent model. The mocks'
+ * defaults (empty lists, {@code null} chat model) are all that path needs.
+ */
+final class TestChatServices {
+
+    private TestChatServices() {
+    }
+
+    static ChatService direct(Path skillDir, ModelUsageMetrics usageMetrics, ModelAdapter... adapters) {
+        @SuppressWarnings("unchecked")
+        ObjectProvider<ChatModel> noChatModel = mock(ObjectProvider.class);
+        return new ChatService(
+                new ModelRegistry(List.of(adapters), mock(ModelConfigRepository.class)),
+                new ToolRegistry(List.of()),
+                new SkillRegistry(List.of(), skillDir.toString(), new ObjectMapper()),
+                mock(ChatMemory.class),
+                new ModelRateLimiter(ModelRateLimitProperties.defaults()),
+                usageMetrics,
+                noChatModel,
+                "");
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.aitemplate.app;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+class TokenCoalescerTest {
+
+    @Test
+    void firstTokenPassesThroughAndRestIsMergedUpToThreshold() {
+        Flux<String> items = Flux.just("H", "e", "l", "l", "o", " ", "w", "o", "r", "l", "d");
+
+        List<String> frames = TokenCoalescer.coalesce(items, item -> true, 4, Duration.ofSeconds(10))
+                .collectList().block();
+
+        assertEquals(List.of("H", "ello", " wor", "ld"), frames);
+    }
+
+    @Test
+    void taggedItemsFlushTheBufferAndKeepTheirPosition() {
+        Flux<String> items = Flux.just("a", "b", "c", "TOOL_CALL:{}", "d", "e", "USAGE:{}");
+
+        List<String> frames = TokenCoalescer.coalesce(items, item -> !item.contains(":"), 64, Duration.ofSeconds(10))
+                .collectList().block();
+
+        assertEquals(List.of("a", "bc", "TOOL_CALL:{}", "de", "USAGE:{}"), frames);
+    }
+
+    @Test
+    void flushIntervalBoundsTheDelayOfSlowChunks() {
+        Flux<String> items = Flux.just("a", "b", "c")
+                .concatWith(Flux.just("d").delaySubscription(Duration.ofMillis(300)));
+
+        List<String> frames = TokenCoalescer.coalesce(items, item -> true, 64, Duration.ofMillis(20))
+                .collectList().block();
+
+        assertEquals(List.of("a", "bc", "d"), frames);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.aitemplate.plugins.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+import com.example.aitemplate.app.ModelRegistry;
+import com.example.aitemplate.core.model.CapabilitySet;
+import com.example.aitemplate.core.model.ModelConfig;
+import com.example.aitemplate.infra.db.ModelConfigRepository;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class DynamicModelAdapterTest {
+
+    private static ModelConfig config(String displayName, String baseUrl, String apiKey, String modelName, int rpm) {
+        return new ModelConfig("gw-1", "openai", displayName, baseUrl, apiKey, modelName,
+                true, new CapabilitySet(true, true, true, false), 100, rpm, 0);
+    }
+
+    @Test
+    void classifiesChangesByWhatTheTransportSees() {
+        DynamicModelAdapter adapter = new DynamicModelAdapter(config("GW", "https://gw.example.com", "k1", "qwen-plus", 0));
+
+        assertEquals(DynamicModelAdapter.Change.NONE,
+                adapter.reconfigure(config("GW", "https://gw.example.com", "k1", "qwen-plus", 0)));
+        assertEquals(DynamicModelAdapter.Change.METADATA,
+                adapter.reconfigure(config("Gateway", "https://gw.example.com", "k1", "qwen-plus", 60)));
+        assertEquals(DynamicModelAdapter.Change.OPTIONS,
+                adapter.reconfigure(config("Gateway", "https://gw.example.com", "k1", "qwen-max", 60)));
+        assertEquals(DynamicModelAdapter.Change.TRANSPORT,
+                adapter.reconfigure(config("Gateway", "https://gw.example.com", "k2", "qwen-max", 60)));
+
+        assertEquals("Gateway", adapter.config().displayName());
+        assertEquals(60, adapter.config().requestsPerMinute());
+        assertEquals(0, adapter.inFlight());
+        assertThrows(IllegalArgumentException.class, () -> adapter.reconfigure(new ModelConfig(
+                "other", "openai", "x", "https://gw.example.com", "k2", "m", true, CapabilitySet.chatOnly(), 1)));
+    }
+
+    @Test
+    void registryKeepsTheAdapterInstanceAcrossEditsAndToggles() {
+        ModelConfigRepository repo = Mockito.mock(ModelConfigRepository.class);
+        when(repo.findAll()).thenReturn(List.of());
+        ModelRegistry registry = new ModelRegistry(List.of(), repo);
+
+        DynamicModelAdapter first = registry.upsertDynamic(config("GW", "https://gw.example.com", "k1", "qwen-plus", 0));
+        DynamicModelAdapter second = registry.upsertDynamic(config("Renamed", "https://gw.example.com", "k1", "qwen-plus", 0));
+        registry.toggleEnabled("gw-1");
+
+        assertSame(first, second);
+        assertEquals("Renamed", first.config().displayName());
+        assertFalse(first.config().enabled());
+    }
+}
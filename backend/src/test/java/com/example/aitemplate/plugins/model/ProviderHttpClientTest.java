@@ -0,0 +1,19 @@
+package com.example.aitemplate.plugins.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import org.junit.jupiter.api.Test;
+
+class ProviderHttpClientTest {
+
+    @Test
+    void usesHttp2OnlyForHttpsEndpoints() {
+        ProviderHttpClient clients = new ProviderHttpClient();
+
+        assertEquals(HttpClient.Version.HTTP_2, clients.client(URI.create("https://api.openai.com/v1")).version());
+        assertEquals(HttpClient.Version.HTTP_1_1, clients.client(URI.create("http://localhost:11434")).version());
+        assertEquals(HttpClient.Version.HTTP_1_1, clients.client(null).version());
+    }
+}
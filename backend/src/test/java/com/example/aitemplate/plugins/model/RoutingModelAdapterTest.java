@@ -0,0 +1,124 @@
+package com.example.aitemplate.plugins.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import com.example.aitemplate.app.ModelRegistry;
+import com.example.aitemplate.app.ModelRoutingProperties;
+import com.example.aitemplate.core.chat.ChatCommand;
+import com.example.aitemplate.core.chat.ChatResult;
+import com.example.aitemplate.core.model.CapabilitySet;
+import com.example.aitemplate.core.model.HealthStatus;
+import com.example.aitemplate.core.model.ModelAdapter;
+import com.example.aitemplate.infra.db.ModelConfigRepository;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import reactor.core.publisher.Flux;
+
+class RoutingModelAdapterTest {
+
+    @Test
+    void routesAwayFromFailingMember() {
+        CountingAdapter healthy = new CountingAdapter("member-a", false);
+        CountingAdapter failing = new CountingAdapter("member-b", true);
+        ModelRegistry registry = registryWithRouter(
+                RoutingModelAdapter.Strategy.POWER_OF_TWO_CHOICES, healthy, failing);
+
+        ModelAdapter router = registry.getOrThrow("router-test");
+        int succeeded = 0;
+        for (int i = 0; i < 200; i++) {
+            try {
+                router.invoke(command());
+                succeeded++;
+            }
+            catch (IllegalStateException ignore) {
+                // failing member
+            }
+        }
+
+        assertEquals(succeeded, healthy.calls.get());
+        assertTrue(failing.calls.get() < 40, "failing member should be avoided, got " + failing.calls.get());
+    }
+
+    @Test
+    void leastOutstandingSkipsDisabledMembers() {
+        CountingAdapter a = new CountingAdapter("member-a", false);
+        CountingAdapter b = new CountingAdapter("member-b", false);
+        ModelRegistry registry = registryWithRouter(RoutingModelAdapter.Strategy.LEAST_OUTSTANDING, a, b);
+        registry.toggleEnabled("member-a");
+
+        ModelAdapter router = registry.getOrThrow("router-test");
+        for (int i = 0; i < 10; i++) {
+            router.stream(command()).blockLast();
+        }
+
+        assertEquals(0, a.calls.get());
+        assertEquals(10, b.calls.get());
+
+        registry.toggleEnabled("member-b");
+        assertThrows(IllegalStateException.class, () -> router.invoke(command()));
+    }
+
+    private ModelRegistry registryWithRouter(RoutingModelAdapter.Strategy strategy, ModelAdapter... members) {
+        ModelConfigRepository repo = Mockito.mock(ModelConfigRepository.class);
+        when(repo.findAll()).thenReturn(List.of());
+        ModelRoutingProperties properties = new ModelRoutingProperties(Map.of(
+                "router-test",
+                new ModelRoutingProperties.Pool(List.of(members).stream().map(ModelAdapter::modelId).toList(), strategy)));
+        return new ModelRegistry(List.of(members), repo, properties);
+    }
+
+    private ChatCommand command() {
+        return new ChatCommand("c1", "router-test", "hello", List.of(), List.of());
+    }
+
+    private static final class CountingAdapter implements ModelAdapter {
+        private final String modelId;
+        private final boolean failing;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        CountingAdapter(String modelId, boolean failing) {
+            this.modelId = modelId;
+            this.failing = failing;
+        }
+
+        @Override
+        public String provider() {
+            return "local";
+        }
+
+        @Override
+        public String modelId() {
+            return modelId;
+        }
+
+        @Override
+        public CapabilitySet capabilities() {
+            return CapabilitySet.chatOnly();
+        }
+
+        @Override
+        public HealthStatus health() {
+            return HealthStatus.UP;
+        }
+
+        @Override
+        public ChatResult invoke(ChatCommand command) {
+            calls.incrementAndGet();
+            if (failing) {
+                throw new IllegalStateException("boom");
+            }
+            return new ChatResult(modelId);
+        }
+
+        @Override
+        public Flux<String> stream(ChatCommand command) {
+            return Flux.defer(() -> Flux.just(invoke(command).content()));
+        }
+    }
+}
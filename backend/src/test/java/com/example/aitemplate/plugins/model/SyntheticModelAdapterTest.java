@@ -0,0 +1,73 @@
+package com.example.aitemplate.plugins.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.aitemplate.core.chat.ChatCommand;
+import com.example.aitemplate.core.chat.ChatResult;
+import com.example.aitemplate.core.chat.TokenUsage;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SyntheticModelAdapterTest {
+
+    private static final ChatCommand COMMAND = new ChatCommand("c1", "local-synthetic", "hello there", List.of(), List.of());
+
+    /** Fixed length, no latency, no failures: every call produces the same answer. */
+    private static SyntheticModelAdapter adapter(double errorRate, double toolCallRate) {
+        return new SyntheticModelAdapter(new SyntheticModelProperties(null, SyntheticModelProperties.Distribution.FIXED,
+                0L, 0L, 10_000.0, 5, 5, errorRate, toolCallRate));
+    }
+
+    @Test
+    void invokeIsDeterministicForAFixedConfiguration() {
+        SyntheticModelAdapter adapter = adapter(0, 0);
+
+        ChatResult first = adapter.invoke(COMMAND);
+
+        assertEquals("the model returns a synthetic", first.content());
+        assertEquals(first.content(), adapter.invoke(COMMAND).content());
+        assertEquals(List.of(), first.toolCalls());
+        assertEquals(new TokenUsage(2, 5, 0), first.usage());
+    }
+
+    @Test
+    void streamsTheSameTokensAndReportsUsageOnce() {
+        SyntheticModelAdapter adapter = adapter(0, 0);
+        List<TokenUsage> reported = new ArrayList<>();
+
+        List<String> tokens = adapter.stream(COMMAND, reported::add).collectList().block();
+
+        assertEquals(List.of("the ", "model ", "returns ", "a ", "synthetic "), tokens);
+        assertEquals(adapter.invoke(COMMAND).content(), String.join("", tokens).trim());
+        assertEquals(List.of(new TokenUsage(2, 5, 0)), reported);
+    }
+
+    @Test
+    void jsonModeStreamsOneValidDocument() throws Exception {
+        ChatCommand json = new ChatCommand("c1", "local-synthetic", "hello there", List.of(), List.of(), true);
+
+        String document = String.join("", adapter(0, 0).stream(json).collectList().block());
+
+        JsonNode root = new ObjectMapper().readTree(document);
+        assertEquals(5, root.get("count").asInt());
+        assertEquals("synthetic", root.get("items").get(4).get("word").asText());
+    }
+
+    @Test
+    void failuresAndToolCallsFollowTheirRates() {
+        List<TokenUsage> reported = new ArrayList<>();
+        assertThrows(IllegalStateException.class, () -> adapter(1, 0).stream(COMMAND, reported::add).collectList().block());
+        assertThrows(IllegalStateException.class, () -> adapter(1, 0).invoke(COMMAND));
+        assertEquals(List.of(), reported);
+
+        List<String> items = adapter(0, 1).stream(COMMAND).collectList().block();
+        assertTrue(items.get(0).startsWith("TOOL_CALL:"), items.get(0));
+        assertEquals(6, items.size());
+        assertEquals("synthetic.lookup", adapter(0, 1).invoke(COMMAND).toolCalls().get(0).toolName());
+    }
+}